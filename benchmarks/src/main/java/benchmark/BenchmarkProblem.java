@@ -0,0 +1,76 @@
+package benchmark;
+
+import model.AbstractPopulation;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.Population;
+import model.PrimitivePopulation;
+
+/**
+ * Problems whose generations are benchmarked
+ */
+public enum BenchmarkProblem {
+	/** GeneticFunctions int problem on lists of boxed genes */
+	LIST_INT {
+		@Override
+		public AbstractPopulation<?> newPopulation(int size, boolean contiguous) {
+			return new Population<>(size, CROSSOVER_RATE, NUM_ELITE,
+					GeneticFunctions.makeRandomIntChromo,
+					GeneticFunctions.computeIntFitness,
+					GeneticFunctions.mutateIntGenes);
+		}
+	},
+	/** GeneticFunctions int problem on int arrays */
+	INT {
+		@Override
+		public AbstractPopulation<?> newPopulation(int size, boolean contiguous) {
+			PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(size, CROSSOVER_RATE, NUM_ELITE,
+					GeneticFunctions.makeRandomIntArrayChromo,
+					GeneticFunctions.computeIntArrayFitness,
+					GeneticFunctions.mutateIntArrayGenes);
+			pop.setContiguousStorage(contiguous);
+			return pop;
+		}
+	},
+	MAZE {
+		@Override
+		public AbstractPopulation<?> newPopulation(int size, boolean contiguous) {
+			MazeProblem maze = new MazeProblem("bobsMaze/maze_01_15x10.txt");
+			PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(size, CROSSOVER_RATE, NUM_ELITE,
+					maze.makeRandomChromo, maze.computeFitness, maze.mutateGenes);
+			pop.setContiguousStorage(contiguous);
+			return pop;
+		}
+	},
+	/** MAZE with offspring evaluated from the first gene differing from their parent */
+	MAZE_INCREMENTAL {
+		@Override
+		public AbstractPopulation<?> newPopulation(int size, boolean contiguous) {
+			MazeProblem maze = new MazeProblem("bobsMaze/maze_01_15x10.txt");
+			PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(size, CROSSOVER_RATE, NUM_ELITE,
+					maze.makeRandomChromo, maze.incrementalFitness, maze.mutateGenes);
+			pop.setContiguousStorage(contiguous);
+			return pop;
+		}
+	},
+	CIRCLE_FIT {
+		@Override
+		public AbstractPopulation<?> newPopulation(int size, boolean contiguous) {
+			CircleFitProblem circles = new CircleFitProblem(42);
+			PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(size, CROSSOVER_RATE, NUM_ELITE,
+					circles.makeRandomChromo, circles.computeFitness, circles.mutateGenes);
+			pop.setContiguousStorage(contiguous);
+			return pop;
+		}
+	};
+	
+	private static final double CROSSOVER_RATE = 0.5;
+	private static final int NUM_ELITE = 2;
+	
+	/**
+	 * @param size number of individuals
+	 * @param contiguous whether genes are stored in contiguous matrices, ignored by LIST_INT
+	 * @return a new initialized population
+	 */
+	public abstract AbstractPopulation<?> newPopulation(int size, boolean contiguous);
+}
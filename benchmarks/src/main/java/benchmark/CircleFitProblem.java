@@ -0,0 +1,67 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import model.IntChromo;
+import model.Mutations;
+
+/**
+ * Headless version of the circleFit demo: chromos are circles (center x, center y, radius)
+ * and the fitness is the radius of the circles fitting the panel without intersecting 
+ * the fixed ones. The fixed circles come from a seeded generator, so runs are comparable.
+ */
+public class CircleFitProblem {
+	private static final int PANEL_HEIGHT = 400;
+	private static final int PANEL_WIDTH = 400;
+	private static final int NUM_CIRCLES = 30;
+	private static final int MAX_CIRCLE_RADIUS = 50;
+	private static final int MIN_CIRCLE_RADIUS = 5;
+	private static final double MUTATION_RATE = 0.05;
+	
+	private final int[][] circles = new int[NUM_CIRCLES][];
+	
+	public CircleFitProblem(long seed){
+		Random rand = new Random(seed);
+		for (int i=0; i<NUM_CIRCLES; i++){
+			circles[i] = newRandomCircle(rand);
+		}
+	}
+	
+	public final Function<Random, IntChromo> makeRandomChromo = 
+			new Function<Random, IntChromo>() {
+		
+		@Override
+		public IntChromo apply(Random rand) {
+			return new IntChromo(newRandomCircle(rand));
+		}
+	};
+	public final ToDoubleFunction<IntChromo> computeFitness = 
+			new ToDoubleFunction<IntChromo>() {
+		
+		@Override
+		public double applyAsDouble(IntChromo chromo) {
+			int x = chromo.get(0), y = chromo.get(1), radius = chromo.get(2);
+			if (x <= radius || x >= PANEL_WIDTH - radius || y <= radius || y >= PANEL_HEIGHT - radius)
+				return 0;
+			for (int[] c : circles){
+				double dist = Math.sqrt(Math.pow(x - c[0], 2) + Math.pow(y - c[1], 2));
+				if (dist < radius + c[2] || dist < Math.abs(radius - c[2]))
+					return 0;
+			}
+			return radius;
+		}
+	};
+	public final BiConsumer<Random, IntChromo> mutateGenes = Mutations.uniformReset(() -> MUTATION_RATE,
+			new int[]{MIN_CIRCLE_RADIUS, MIN_CIRCLE_RADIUS, MIN_CIRCLE_RADIUS},
+			new int[]{PANEL_WIDTH - MIN_CIRCLE_RADIUS, PANEL_HEIGHT - MIN_CIRCLE_RADIUS, MIN_CIRCLE_RADIUS + MAX_CIRCLE_RADIUS});
+	
+	private static int[] newRandomCircle(Random rand){
+		int radius = rand.nextInt(MAX_CIRCLE_RADIUS) + MIN_CIRCLE_RADIUS;
+		int x = rand.nextInt(PANEL_WIDTH-(2*radius))+radius;
+		int y = rand.nextInt(PANEL_HEIGHT-(2*radius))+radius;
+		return new int[]{x, y, radius};
+	}
+}
@@ -0,0 +1,67 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.FitnessEvaluator;
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.IntChromo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fitness evaluation of a whole generation of the GeneticFunctions int problem
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EvaluationBenchmark {
+	@Param({"100", "10000", "1000000"})
+	int popSize;
+	
+	@Param({"sequential", "forkJoin"})
+	String evaluatorName;
+	
+	List<IntChromo> individuals;
+	double[] fitness;
+	FitnessEvaluator evaluator;
+	
+	@Setup
+	public void setUp(){
+		Random rand = new Random(42);
+		individuals = new ArrayList<>(popSize);
+		for (int i=0; i<popSize; i++){
+			individuals.add(GeneticFunctions.makeRandomIntArrayChromo.apply(rand));
+		}
+		fitness = new double[popSize];
+		evaluator = evaluatorName.equals("forkJoin") ? FitnessEvaluators.forkJoin() : FitnessEvaluators.sequential();
+	}
+	
+	@TearDown
+	public void tearDown(){
+		evaluator.close();
+	}
+	
+	@Benchmark
+	public double[] evaluate(){
+		evaluator.evaluate(individuals, GeneticFunctions.computeIntArrayFitness, fitness);
+		return fitness;
+	}
+}
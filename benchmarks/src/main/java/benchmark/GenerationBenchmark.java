@@ -0,0 +1,50 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import model.AbstractPopulation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a whole generation: selection, crossover, mutation and fitness evaluation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GenerationBenchmark {
+	@Param({"100", "10000", "1000000"})
+	int popSize;
+	
+	@Param({"LIST_INT", "INT", "MAZE", "MAZE_INCREMENTAL", "CIRCLE_FIT"})
+	BenchmarkProblem problem;
+	
+	@Param({"false", "true"})
+	boolean contiguous;
+	
+	AbstractPopulation<?> pop;
+	
+	@Setup(Level.Trial)
+	public void setUp(){
+		pop = problem.newPopulation(popSize, contiguous);
+	}
+	
+	@Benchmark
+	public void newGeneration(){
+		pop.newGeneration();
+	}
+}
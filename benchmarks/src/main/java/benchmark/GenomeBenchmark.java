@@ -0,0 +1,78 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.Mutations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Operators working on a single genome of the GeneticFunctions int problem
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GenomeBenchmark {
+	@Param({"100", "10000", "1000000"})
+	int genomeLength;
+	
+	static final BiConsumer<Random, IntChromo> SPARSE_MUTATION = Mutations.uniformReset(() -> 0.001, 100);
+	
+	Random rand;
+	IntChromo chromo1, chromo2;
+	
+	@Setup
+	public void setUp(){
+		rand = new Random(42);
+		chromo1 = randomChromo();
+		chromo2 = randomChromo();
+	}
+	
+	private IntChromo randomChromo(){
+		int[] genes = new int[genomeLength];
+		for (int i=0; i<genomeLength; i++){
+			genes[i] = rand.nextInt(100);
+		}
+		return new IntChromo(genes);
+	}
+	
+	@Benchmark
+	public void crossOver(){
+		chromo1.swapTail(chromo2, genomeLength/2);
+	}
+	
+	@Benchmark
+	public void mutate(){
+		GeneticFunctions.mutateIntArrayGenes.accept(rand, chromo1);
+	}
+	
+	/**
+	 * One mutation per thousand genes: the cost follows the mutations, not the genome length
+	 */
+	@Benchmark
+	public void mutateSparse(){
+		SPARSE_MUTATION.accept(rand, chromo1);
+	}
+	
+	@Benchmark
+	public double computeFitness(){
+		return GeneticFunctions.computeIntArrayFitness.applyAsDouble(chromo1);
+	}
+}
@@ -0,0 +1,160 @@
+package benchmark;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import model.IncrementalFitness;
+import model.IntChromo;
+import model.Mutations;
+import model.SequentialFitness;
+
+/**
+ * Headless version of the bobsMaze demo: chromos are sequences of moves
+ * and the fitness is the inverse of the distance from the exit 
+ * of the last valid position, looked up in a breadth-first distance field.
+ */
+public class MazeProblem {
+	private static final int NUM_GENES = 70;
+	private static final int GENE_BOUND = 4;
+	private static final double MUTATION_RATE = 0.05;
+	private static final int START = 5;
+	private static final int BLOCK = 1;
+	private static final int EXIT = 8;
+	private static final int UNREACHABLE = Integer.MAX_VALUE;
+	private static final int CHECKPOINT_INTERVAL = 8;
+	
+	private final int[] map;
+	private final int[] distances;
+	private final int width, height;
+	private int start, exit;
+	
+	/**
+	 * @param resource class path resource of the maze, in the format of the bobsMaze demo
+	 */
+	public MazeProblem(String resource){
+		try (InputStream in = MazeProblem.class.getClassLoader().getResourceAsStream(resource);
+				Scanner scan = new Scanner(in)){
+			width = scan.nextInt();
+			height = scan.nextInt();
+			map = new int[width*height];
+			for (int i=0; i<map.length; i++){
+				map[i] = scan.nextInt();
+				if (map[i] == START)
+					start = i;
+				if (map[i] == EXIT)
+					exit = i;
+			}
+		} catch (Exception e) {
+			throw new IllegalArgumentException("Cannot read maze " + resource, e);
+		}
+		
+		//breadth-first search from the exit
+		distances = new int[map.length];
+		Arrays.fill(distances, UNREACHABLE);
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		distances[exit] = 0;
+		queue.add(exit);
+		while (!queue.isEmpty()){
+			int cell = queue.poll();
+			for (int move=0; move<4; move++){
+				int next = move(cell, move);
+				if (next >= 0 && map[next] != BLOCK && distances[next] == UNREACHABLE){
+					distances[next] = distances[cell] + 1;
+					queue.add(next);
+				}
+			}
+		}
+	}
+	
+	public final Function<Random, IntChromo> makeRandomChromo = 
+			new Function<Random, IntChromo>() {
+		
+		@Override
+		public IntChromo apply(Random rand) {
+			int[] genes = new int[NUM_GENES];
+			for (int i=0; i<NUM_GENES; i++){
+				genes[i] = rand.nextInt(GENE_BOUND);
+			}
+			return new IntChromo(genes);
+		}
+	};
+	/**
+	 * The walk, whose state is the last valid cell
+	 */
+	public final SequentialFitness<int[]> walk = 
+			new SequentialFitness<int[]>() {
+		
+		@Override
+		public int[] start() {
+			return new int[]{start};
+		}
+		
+		@Override
+		public boolean step(int[] last, int gene) {
+			int next = move(last[0], gene);
+			if (!isValidPosition(next))
+				return false;
+			last[0] = next;
+			return true;
+		}
+		
+		@Override
+		public int[] copy(int[] last) {
+			return last.clone();
+		}
+		
+		@Override
+		public double fitness(int[] last) {
+			return (double) 1/distances[last[0]];
+		}
+	};
+	public final ToDoubleFunction<IntChromo> computeFitness = 
+			new ToDoubleFunction<IntChromo>() {
+		
+		@Override
+		public double applyAsDouble(IntChromo chromo) {
+			int last = start;
+			for (int i=0; i<chromo.length(); i++){
+				int next = move(last, chromo.get(i));
+				if (!isValidPosition(next))
+					break;
+				last = next;
+			}
+			return (double) 1/distances[last];
+		}
+	};
+	/**
+	 * Same fitness as computeFitness, resuming offspring from the walk of their parent
+	 */
+	public final ToDoubleFunction<IntChromo> incrementalFitness = new IncrementalFitness<>(walk, CHECKPOINT_INTERVAL);
+	public final BiConsumer<Random, IntChromo> mutateGenes = Mutations.uniformReset(() -> MUTATION_RATE, GENE_BOUND);
+	
+	/**
+	 * @return the cell reached from cell with the given move, -1 if outside of the maze
+	 */
+	private int move(int cell, int move){
+		int x = cell % width, y = cell / width;
+		switch (move) {
+		case 0: y++; break;
+		case 1: y--; break;
+		case 2: x++; break;
+		case 3: x--; break;
+		default: break;
+		}
+		if (x < 0 || x >= width || y < 0 || y >= height)
+			return -1;
+		return y*width + x;
+	}
+	
+	private boolean isValidPosition(int cell){
+		if (cell < 0)
+			return false;
+		return map[cell] != BLOCK && map[cell] != START && map[cell] != EXIT;
+	}
+}
@@ -0,0 +1,71 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.SelectionStrategies;
+import model.SelectionStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Selection strategies: preparation once per generation and sampling once per parent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SelectionBenchmark {
+	@Param({"100", "10000", "1000000"})
+	int popSize;
+	
+	@Param({"roulette", "tournament", "linearRank"})
+	String strategy;
+	
+	Random rand;
+	double[] fitness;
+	SelectionStrategy selection;
+	
+	@Setup
+	public void setUp(){
+		rand = new Random(42);
+		fitness = new double[popSize];
+		for (int i=0; i<popSize; i++){
+			fitness[i] = rand.nextInt(100);
+		}
+		switch (strategy) {
+		case "tournament":
+			selection = SelectionStrategies.tournament(2);
+			break;
+		case "linearRank":
+			selection = SelectionStrategies.linearRank(1.5);
+			break;
+		default:
+			selection = SelectionStrategies.roulette();
+			break;
+		}
+		selection.prepare(fitness, popSize);
+	}
+	
+	@Benchmark
+	public void prepare(){
+		selection.prepare(fitness, popSize);
+	}
+	
+	@Benchmark
+	public int select(){
+		return selection.select(rand);
+	}
+}
@@ -0,0 +1,46 @@
+package model;
+
+/**
+ * State shared by every kind of chromo: the fitness score and whether it is out of date.
+ * Subclasses define how the genes are stored, 
+ * see @see src.main.java.model.Chromo for genes of generic type 
+ * and @see src.main.java.model.PrimitiveChromo for primitive genes.
+ */
+public abstract class AbstractChromo {
+	private double fitness;
+	private boolean dirty = true;
+	
+	/**
+	 * @return the number of genes of the Chromo
+	 */
+	public abstract int length();
+	
+	/**
+	 * Returns an object identifying the genes of the Chromo: keys of chromos with the same genes 
+	 * are equal and have the same hash code, whatever their storage.
+	 * @param copy if false the key can be a view of the genes, valid only until they change
+	 * @return the key of the genes
+	 */
+	public abstract Object genesKey(boolean copy);
+	
+	/**
+	 * A Chromo is dirty when its genes changed after its fitness was computed.
+	 * New chromos are dirty, a population only evaluates dirty chromos.
+	 * @return whether the fitness is out of date
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+	
+	public void setDirty(boolean dirty) {
+		this.dirty = dirty;
+	}
+	
+	public double getFitness() {
+		return fitness;
+	}
+	
+	public void setFitness(double fitness){
+		this.fitness = fitness;
+	}
+}
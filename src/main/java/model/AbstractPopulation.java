@@ -0,0 +1,698 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A genetic population and related behavior. 
+ * The population is a list of chromos, @see src.main.java.model.AbstractChromo.
+ * The population behavior is defined by the subclasses: how a new chromo is generated, 
+ * how single fitness is computed, how chromos are copied and crossed over and how genes mutate.
+ * 
+ * @param <C> the type of the chromos
+ */
+public abstract class AbstractPopulation <C extends AbstractChromo> {
+    private final double CROSSOVER_RATE;
+    private final int NUM_ELITE;
+    private static final int SELECTION = 0, CROSSOVER = 1, MUTATION = 2, EVALUATION = 3;
+    private static final int DIVERSITY_SAMPLE = 64;
+	
+    private KeyedRandom rand; 
+	
+	private int size;
+	private List<C> individuals;
+	private List<C> spareGeneration;
+	private C fittestChromo;
+	private int generation_num = 0;
+	
+	private FitnessEvaluator evaluator;
+	private SelectionStrategy selection = SelectionStrategies.roulette();
+	private double[] fitnessValues;
+	//fitness of the generation being evaluated, ranked only once the evaluation succeeds
+	private double[] stagedValues;
+	private final FitnessRanking ranking = new FitnessRanking();
+	private int[] eliteIndices;
+	private long lastEvaluationTime;
+	private FitnessCache cache;
+	private volatile long numEvaluations;
+	private final List<C> toEvaluate = new ArrayList<C>();
+	private int[] toEvaluateIndices = new int[0];
+	private double[] evaluatedValues = new double[0];
+	private final ToDoubleFunction<C> fitnessFunction = this::computeFitness;
+	private int lastCacheHits;
+	private final List<GenerationListener> listeners = new CopyOnWriteArrayList<GenerationListener>();
+	private final long[] phaseTimes = new long[4];
+	private AdaptiveRates adaptiveRates;
+	private Surrogate<? super C> surrogate;
+	private double evaluatedFraction;
+	private double explorationRate;
+	private final int[] parents;
+	private double[] predictions;
+	private double[] sortedPredictions;
+	private int lastScreenedOut;
+	private double lastSurrogateError = Double.NaN;
+	private long numScreenedOut;
+	
+	/**
+	 * Constructs an empty genetic population with a random seed, 
+	 * subclasses must call {@link #initPopulation()} once their functions are set
+	 * 
+	 * @param size number of chromos in the population
+	 * @param crossoverRate
+	 * @param numElite
+	 * @param evaluator where the fitness function is run, see @see src.main.java.model.FitnessEvaluators
+	 */
+	protected AbstractPopulation (int size, double crossoverRate, int numElite, FitnessEvaluator evaluator){
+		this(size, crossoverRate, numElite, evaluator, new Random().nextLong());
+	}
+	
+	/**
+	 * Constructs an empty genetic population, 
+	 * subclasses must call {@link #initPopulation()} once their functions are set.
+	 * Populations with the same seed, parameters and functions go through the same generations, 
+	 * whatever their evaluator.
+	 * 
+	 * @param size number of chromos in the population
+	 * @param crossoverRate
+	 * @param numElite
+	 * @param evaluator where the fitness function is run, see @see src.main.java.model.FitnessEvaluators
+	 * @param seed seed of the random streams, see @see src.main.java.model.KeyedRandom
+	 */
+	protected AbstractPopulation (int size, double crossoverRate, int numElite, FitnessEvaluator evaluator, long seed){
+		this.rand = new KeyedRandom(seed);
+		this.CROSSOVER_RATE = crossoverRate;
+		this.NUM_ELITE = numElite;
+		this.size = size;
+		individuals = new ArrayList<C>(this.size);
+		spareGeneration = new ArrayList<C>(this.size);
+		this.evaluator = evaluator;
+		this.fitnessValues = new double[size];
+		this.stagedValues = new double[size];
+		this.eliteIndices = new int[numElite];
+		this.parents = new int[size + 1];
+	}
+	
+	/**
+	 * @param rand source of randomness
+	 * @return a new random chromo
+	 */
+	protected abstract C makeChromo(Random rand);
+	
+	/**
+	 * @return the fitness of chromo
+	 */
+	protected abstract double computeFitness(C chromo);
+	
+	/**
+	 * @return a new chromo with the genes and fitness of chromo, 
+	 * 	that crossover and mutation can modify in place
+	 */
+	protected abstract C copy(C chromo);
+	
+	/**
+	 * Creates the chromo that will take position slot in the next generation, 
+	 * starting as a clone of parent. 
+	 * Subclasses can override it to reuse the storage of a previous generation.
+	 * @param parent a chromo of the current generation
+	 * @param slot position in the next generation, either an index or the size of the population 
+	 * 	for an offspring that will be discarded
+	 * @return a copy of parent
+	 */
+	protected C offspring(C parent, int slot){
+		return copy(parent);
+	}
+	
+	/**
+	 * Called once the next generation has replaced the current one
+	 */
+	protected void generationReplaced(){}
+	
+	/**
+	 * Exchanges the genes of the two chromos from position onwards
+	 */
+	protected abstract void crossOver(C offspring1, C offspring2, int position);
+	
+	/**
+	 * @param rand source of randomness
+	 * @param chromo an offspring, owned by the caller
+	 * @return the mutated offspring, either chromo itself or a new chromo
+	 */
+	protected abstract C mutate(Random rand, C chromo);
+	
+	protected void initPopulation(){
+		IntStream.range(0, size)
+			.forEach(i -> individuals.add(makeChromo(rand.at(0, i))));
+		setFitnessValues(individuals);
+	}
+
+	/**
+	 * Run the genetic algorithm steps:
+	 * 1.Maintain {@value #NUM_ELITE} individuals;
+	 * 		define a new population by
+	 * 2.Pick up two offspring with the selection strategy (roulette by default);
+	 * 3.Crossover these two offspring;
+	 * 4.Mutate and add them to the new population;
+	 * 5.Calculate and set the fitness values of the actual population;
+	 * 
+	 * Each pair of offspring draws from its own random stream, keyed by generation and pair.
+	 * Only dirty individuals are evaluated, so elites and offspring whose genes did not change 
+	 * keep the fitness of their parent. With a surrogate model, offspring it deems unpromising 
+	 * are replaced by their parent instead of being evaluated.
+	 * If the fitness evaluation fails the current generation is left untouched.
+	 * The phases are timed only when a @see src.main.java.model.GenerationListener is attached.
+	 * @throws FitnessEvaluationException when the fitness function fails on an individual
+	 */
+	public void newGeneration(){		
+		boolean timed = !listeners.isEmpty();
+		long mark = timed ? startTiming() : 0;
+		List<C> freshPop = spareGeneration;
+		freshPop.clear();
+		
+		selection.prepare(ranking);
+		int numElite = ranking.top(NUM_ELITE, eliteIndices);
+		for (int i=0; i<numElite; i++){
+			freshPop.add(offspring(individuals.get(eliteIndices[i]), freshPop.size()));
+		}
+		
+		for (int pair=0; freshPop.size() < size; pair++){
+			rand.at(generation_num + 1, pair);
+			C offspring1 = select(freshPop.size());
+			C offspring2 = select(freshPop.size() + 1);
+			if (timed)
+				mark = lap(SELECTION, mark);
+	    	
+	    	crossOver(offspring1, offspring2);
+	    	if (timed)
+				mark = lap(CROSSOVER, mark);
+	    	
+	    	C mutant1 = mutate(rand, offspring1);
+	    	C mutant2 = (freshPop.size() + 1 < size) ? mutate(rand, offspring2) : null;
+	    	if (timed)
+				mark = lap(MUTATION, mark);
+	    	freshPop.add(mutant1);
+	    	if (mutant2 != null)
+	    		freshPop.add(mutant2);
+		}
+		
+		if (surrogate != null)
+			screen(freshPop);
+		setFitnessValues(freshPop);
+		if (timed)
+			lap(EVALUATION, mark);
+		this.spareGeneration = this.individuals;
+		this.individuals = freshPop;
+		this.generation_num++;
+		generationReplaced();
+		if (timed)
+			notifyListeners();
+	} 
+	
+	/**
+	 * Runs new generations until one of the conditions is met; 
+	 * the conditions are also checked before the first generation.
+	 * @param conditions when to stop, see @see src.main.java.model.StopConditions
+	 * @return the summary of the run
+	 * @throws FitnessEvaluationException when the fitness function fails on an individual
+	 */
+	public RunSummary<C> evolve(StopCondition... conditions){
+		if (conditions.length == 0)
+			throw new IllegalArgumentException("A run needs at least one stop condition");
+		RunProgress progress = new RunProgress(size, numEvaluations, 
+				(fittestChromo == null) ? Double.NaN : fittestChromo.getFitness());
+		StopCondition met;
+		while ((met = metCondition(conditions, progress)) == null){
+			newGeneration();
+			progress.generationCompleted(numEvaluations, 
+					(fittestChromo == null) ? Double.NaN : fittestChromo.getFitness());
+		}
+		progress.updateElapsedTime();
+		return new RunSummary<C>(met, progress, getFittestChromo(), rand.getSeed());
+	}
+	
+	static StopCondition metCondition(StopCondition[] conditions, RunProgress progress){
+		progress.updateElapsedTime();
+		for (StopCondition condition : conditions){
+			if (condition.isMet(progress))
+				return condition;
+		}
+		return null;
+	}
+	
+	private long startTiming(){
+		for (int i=0; i<phaseTimes.length; i++){
+			phaseTimes[i] = 0;
+		}
+		return System.nanoTime();
+	}
+	
+	private long lap(int phase, long mark){
+		long now = System.nanoTime();
+		phaseTimes[phase] += now - mark;
+		return now;
+	}
+	
+	private void notifyListeners(){
+		double sum = 0;
+		for (int i=0; i<individuals.size(); i++){
+			sum += fitnessValues[i];
+		}
+		double mean = individuals.isEmpty() ? 0 : sum / individuals.size();
+		double squares = 0;
+		for (int i=0; i<individuals.size(); i++){
+			squares += (fitnessValues[i] - mean) * (fitnessValues[i] - mean);
+		}
+		double stdDev = individuals.isEmpty() ? 0 : Math.sqrt(squares / individuals.size());
+		double best = (fittestChromo == null) ? 0 : fittestChromo.getFitness();
+		
+		GenerationStats stats = new GenerationStats(generation_num, phaseTimes, toEvaluate.size(), lastCacheHits,
+				best, mean, stdDev, sampleDiversity(), lastScreenedOut, lastSurrogateError);
+		for (GenerationListener listener : listeners){
+			listener.generationCompleted(stats);
+		}
+	}
+	
+	/**
+	 * @return the fraction of distinct genomes among at most {@value #DIVERSITY_SAMPLE} evenly spaced individuals
+	 */
+	private double sampleDiversity(){
+		return sampleDiversity(individuals::get, individuals.size());
+	}
+	
+	/**
+	 * @param individual the individual in each position
+	 * @param size number of individuals
+	 * @return the fraction of distinct genomes among at most {@value #DIVERSITY_SAMPLE} evenly spaced individuals
+	 */
+	static double sampleDiversity(IntFunction<? extends AbstractChromo> individual, int size){
+		if (size == 0)
+			return 0;
+		int sampleSize = Math.min(DIVERSITY_SAMPLE, size);
+		Set<Object> genomes = new HashSet<Object>();
+		for (int i=0; i<sampleSize; i++){
+			genomes.add(individual.apply((int) ((long) i * size / sampleSize)).genesKey(false));
+		}
+		return (double) genomes.size() / sampleSize;
+	}
+	
+	/**
+	 * Computes the fitness of the dirty individuals of pop that are not in the cache, 
+	 * then sets the fitness of every individual of pop.
+	 */
+	private void setFitnessValues(List<C> pop) {
+		if (stagedValues.length < pop.size())
+			stagedValues = new double[pop.size()];
+		if (toEvaluateIndices.length < pop.size()){
+			toEvaluateIndices = new int[pop.size()];
+			evaluatedValues = new double[pop.size()];
+		}
+		
+		toEvaluate.clear();
+		lastCacheHits = 0;
+		for (int i=0; i<pop.size(); i++){
+			C chromo = pop.get(i);
+			Double cached = null;
+			if (!chromo.isDirty())
+				stagedValues[i] = chromo.getFitness();
+			else if (cache != null && (cached = cache.get(chromo)) != null){
+				stagedValues[i] = cached;
+				lastCacheHits++;
+			}
+			else {
+				toEvaluateIndices[toEvaluate.size()] = i;
+				toEvaluate.add(chromo);
+			}
+		}
+		
+		long start = System.nanoTime();
+		try {
+			evaluator.evaluate(toEvaluate, fitnessFunction, evaluatedValues);
+		} catch (FitnessEvaluationException e) {
+			throw new FitnessEvaluationException(toEvaluateIndices[e.getIndex()], e.getCause());
+		}
+		lastEvaluationTime = System.nanoTime() - start;
+		numEvaluations += toEvaluate.size();
+		
+		for (int k=0; k<toEvaluate.size(); k++){
+			stagedValues[toEvaluateIndices[k]] = evaluatedValues[k];
+			if (cache != null)
+				cache.put(toEvaluate.get(k), evaluatedValues[k]);
+		}
+		if (surrogate != null)
+			trainSurrogate();
+		if (cache != null)
+			cache.addMissTime(lastEvaluationTime);
+		
+		for (int i=0; i<pop.size(); i++){
+			pop.get(i).setFitness(stagedValues[i]);
+			pop.get(i).setDirty(false);
+		}
+		double[] ranked = fitnessValues;
+		fitnessValues = stagedValues;
+		stagedValues = ranked;
+		ranking.update(fitnessValues, pop.size());
+		fittestChromo = pop.isEmpty() ? null : pop.get(ranking.best());
+	}
+	
+	/**
+	 * Lets the surrogate pick the offspring of pop worth a true evaluation: the most promising fraction 
+	 * and, with the exploration rate, some of the others; the remaining ones are replaced by their parent.
+	 */
+	private void screen(List<C> pop){
+		Arrays.fill(predictions, Double.NaN);
+		lastScreenedOut = 0;
+		if (!surrogate.isReady())
+			return;
+		int candidates = 0;
+		for (int i=0; i<pop.size(); i++){
+			if (pop.get(i).isDirty()){
+				predictions[i] = surrogate.predict(pop.get(i));
+				sortedPredictions[candidates++] = predictions[i];
+			}
+		}
+		int evaluated = (int) Math.ceil(candidates * evaluatedFraction);
+		if (evaluated == candidates)
+			return;
+		Arrays.sort(sortedPredictions, 0, candidates);
+		double threshold = (evaluated == 0) ? Double.POSITIVE_INFINITY : sortedPredictions[candidates - evaluated];
+		//offspring predicted as the threshold are kept until the fraction is reached
+		int ties = 0;
+		for (int c=candidates - evaluated; c<candidates && sortedPredictions[c] == threshold; c++){
+			ties++;
+		}
+		
+		rand.at(generation_num + 1, size);
+		for (int i=0; i<pop.size(); i++){
+			if (!pop.get(i).isDirty() || predictions[i] > threshold)
+				continue;
+			if (predictions[i] == threshold && ties > 0){
+				ties--;
+				continue;
+			}
+			if (rand.nextDouble() >= explorationRate){
+				pop.set(i, offspring(individuals.get(parents[i]), i));
+				predictions[i] = Double.NaN;
+				lastScreenedOut++;
+			}
+		}
+		numScreenedOut += lastScreenedOut;
+	}
+	
+	/**
+	 * Trains the surrogate on the individuals just evaluated, 
+	 * measuring its error on the ones it predicted
+	 */
+	private void trainSurrogate(){
+		double error = 0;
+		int predicted = 0;
+		for (int k=0; k<toEvaluate.size(); k++){
+			double prediction = predictions[toEvaluateIndices[k]];
+			if (!Double.isNaN(prediction)){
+				error += Math.abs(prediction - evaluatedValues[k]);
+				predicted++;
+			}
+			surrogate.train(toEvaluate.get(k), evaluatedValues[k]);
+		}
+		lastSurrogateError = (predicted == 0) ? Double.NaN : error / predicted;
+		Arrays.fill(predictions, Double.NaN);
+	}
+	
+	/**
+	 * Ranks the individuals again after they have been replaced without evaluation
+	 */
+	private void rerank(){
+		if (fitnessValues.length < individuals.size())
+			fitnessValues = new double[individuals.size()];
+		for (int i=0; i<individuals.size(); i++){
+			fitnessValues[i] = individuals.get(i).getFitness();
+		}
+		ranking.update(fitnessValues, individuals.size());
+		fittestChromo = individuals.isEmpty() ? null : individuals.get(ranking.best());
+	}
+	
+	private C select(int slot){
+		int parent = selection.select(rand);
+		parents[slot] = parent;
+		return offspring(individuals.get(parent), slot);
+	}
+	
+	private void crossOver(C offspring1, C offspring2){
+	    if (rand.nextDouble() < getCrossoverRate()){
+	    	int position = (rand.nextInt(offspring1.length()));
+	    	crossOver(offspring1, offspring2, position);
+	    }
+	}
+	
+	public C getRandomChromoFromPopulation(){
+		return copy(individuals.get(rand.nextInt(size)));
+	}	
+
+	/**
+	 * @param count number of individuals
+	 * @return copies of the count fittest individuals, fittest first
+	 */
+	public List<C> getFittest(int count) {
+		int[] indices = new int[count];
+		int found = ranking.top(count, indices);
+		List<C> fittest = new ArrayList<C>(found);
+		for (int i=0; i<found; i++){
+			fittest.add(copy(individuals.get(indices[i])));
+		}
+		return fittest;
+	}
+	
+	/**
+	 * Replaces the least fit individuals with copies of the migrants, 
+	 * whose fitness is assumed to be up to date.
+	 * @param migrants chromos coming from another population of the same problem
+	 */
+	public void immigrate(List<? extends C> migrants) {
+		int[] indices = new int[migrants.size()];
+		int found = ranking.bottom(migrants.size(), indices);
+		for (int i=0; i<found; i++){
+			individuals.set(indices[i], copy(migrants.get(i)));
+		}
+		rerank();
+	}
+	
+	/**
+	 * @return a snapshot of the individuals, the generation number, the seed, the adaptive rates and the surrogate
+	 */
+	public Checkpoint<C> checkpoint() {
+		List<C> snapshot = new ArrayList<C>(individuals.size());
+		for (C chromo : individuals){
+			snapshot.add(copy(chromo));
+		}
+		return new Checkpoint<C>(generation_num, snapshot, rand.getSeed(), 
+				(adaptiveRates == null) ? null : adaptiveRates.getState(), 
+				(surrogate == null) ? null : surrogate.getState());
+	}
+	
+	/**
+	 * Brings the population back to the state of checkpoint: 
+	 * the next generations are the same the checkpointed population went through
+	 * @param checkpoint a snapshot of a population of the same problem, size and parameters; 
+	 * 	adaptive rates and surrogate, when checkpointed, must be set before restoring; 
+	 * 	a population with a surrogate whose state cannot be saved cannot be restored
+	 */
+	public void restore(Checkpoint<C> checkpoint) {
+		List<C> restored = checkpoint.getIndividuals();
+		if (restored.size() != size)
+			throw new IllegalArgumentException("Checkpoint of " + restored.size() 
+					+ " individuals for a population of " + size);
+		if ((checkpoint.getAdaptiveRates() == null) != (adaptiveRates == null))
+			throw new IllegalArgumentException((adaptiveRates == null) 
+					? "Checkpoint of a population with adaptive rates for one without" 
+					: "Checkpoint of a population without adaptive rates for one with");
+		if ((checkpoint.getSurrogate() == null) != (surrogate == null))
+			throw new IllegalArgumentException((surrogate == null) 
+					? "Checkpoint of a population with a surrogate for one without" 
+					: "Checkpoint without the state of the surrogate of the population");
+		if (adaptiveRates != null)
+			adaptiveRates.setState(checkpoint.getAdaptiveRates());
+		if (surrogate != null)
+			surrogate.setState(checkpoint.getSurrogate());
+		individuals = new ArrayList<C>(size);
+		for (C chromo : restored){
+			individuals.add(copy(chromo));
+		}
+		spareGeneration = new ArrayList<C>(size);
+		rand = new KeyedRandom(checkpoint.getSeed());
+		generation_num = checkpoint.getGeneration();
+		rerank();
+	}
+	
+	public List<C> getIndividuals() {
+		return individuals.stream()
+				.map(this::copy)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Zero-copy view of the current generation, for reading only: 
+	 * the chromos are the ones of the population and must not be modified, 
+	 * and are valid until the next generation, which may reuse their storage.
+	 * @return the individuals of the current generation
+	 */
+	public List<C> getIndividualsView() {
+		return Collections.unmodifiableList(individuals);
+	}
+	
+	public void setIndividuals(List<C> individuals) {
+		this.individuals = individuals.stream()
+				.map(this::copy)
+				.collect(Collectors.toList());
+		rerank();
+	}
+	
+	/**
+	 * @return the ranking of the current generation by fitness, valid until the next generation
+	 */
+	public FitnessRanking getRanking() {
+		return this.ranking;
+	}
+	
+	/**
+	 * @param selection how parents are picked starting from the next generation, 
+	 * 	see @see src.main.java.model.SelectionStrategies
+	 */
+	public void setSelectionStrategy(SelectionStrategy selection) {
+		this.selection = selection;
+	}
+	
+	/**
+	 * @param cache memo of fitness values consulted before computing the fitness of a dirty individual, 
+	 * 	null to disable caching
+	 */
+	public void setFitnessCache(FitnessCache cache) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * @param listener notified at the end of every generation
+	 */
+	public void addGenerationListener(GenerationListener listener) {
+		listeners.add(listener);
+	}
+	
+	public void removeGenerationListener(GenerationListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * @param rates crossover rate of the next generations, also fed with their measures, 
+	 * 	null to go back to the rate given at construction
+	 */
+	public void setAdaptiveRates(AdaptiveRates rates) {
+		if (adaptiveRates != null)
+			removeGenerationListener(adaptiveRates);
+		this.adaptiveRates = rates;
+		//updated before the other listeners, so that their checkpoints hold the rates of the next generation
+		if (rates != null)
+			listeners.add(0, rates);
+	}
+	
+	/**
+	 * Pre-screens the offspring of the next generations with a surrogate model of the fitness function. 
+	 * Only the evaluatedFraction of the changed offspring with the best predicted fitness is evaluated, 
+	 * along with the others picked with probability explorationRate to keep the model honest; 
+	 * the rest are replaced by a copy of their parent, saving their evaluation. 
+	 * The model is trained on the current individuals and on every evaluated one; 
+	 * the savings and the error of the model are reported by @see src.main.java.model.GenerationStats.
+	 * @param surrogate model of the fitness function, null to evaluate every offspring
+	 * @param evaluatedFraction fraction of the changed offspring evaluated by prediction
+	 * @param explorationRate probability of evaluating an offspring the model would discard
+	 */
+	public void setSurrogate(Surrogate<? super C> surrogate, double evaluatedFraction, double explorationRate) {
+		this.surrogate = surrogate;
+		this.evaluatedFraction = evaluatedFraction;
+		this.explorationRate = explorationRate;
+		lastScreenedOut = 0;
+		lastSurrogateError = Double.NaN;
+		if (surrogate == null)
+			return;
+		predictions = new double[size + 1];
+		sortedPredictions = new double[size + 1];
+		Arrays.fill(predictions, Double.NaN);
+		for (C chromo : individuals){
+			surrogate.train(chromo, chromo.getFitness());
+		}
+	}
+	
+	/**
+	 * @return how many offspring the surrogate replaced by their parent, saving their evaluation
+	 */
+	public long getNumberOfScreenedOut() {
+		return this.numScreenedOut;
+	}
+	
+	public AdaptiveRates getAdaptiveRates() {
+		return this.adaptiveRates;
+	}
+	
+	public FitnessCache getFitnessCache() {
+		return this.cache;
+	}
+	
+	/**
+	 * @return how many times the fitness function has been called
+	 */
+	public long getNumberOfEvaluations() {
+		return this.numEvaluations;
+	}
+	
+	/**
+	 * @return crossover rate of the next generation
+	 */
+	public double getCrossoverRate() {
+		AdaptiveRates rates = this.adaptiveRates;
+		return (rates == null) ? this.CROSSOVER_RATE : rates.getCrossoverRate();
+	}
+	
+	void addEvaluations(long evaluations) {
+		this.numEvaluations += evaluations;
+	}
+	
+	/**
+	 * @return the seed of the random streams of the population
+	 */
+	public long getSeed() {
+		return rand.getSeed();
+	}
+	
+	public int getSize() {
+		return this.size;
+	}
+	
+	public int getNumberOfGenerations() {
+		return this.generation_num;
+	}
+	
+	/**
+	 * @return wall time in nanoseconds spent computing the fitness of the current generation
+	 */
+	public long getLastEvaluationTime() {
+		return this.lastEvaluationTime;
+	}
+
+	public C getFittestChromo() {
+		return (fittestChromo == null) ? null : copy(fittestChromo);
+	}
+	
+	/**
+	 * @return the fittest individual itself, valid until the next generation and not to be modified, 
+	 * 	see {@link #getIndividualsView()}
+	 */
+	public C getFittestChromoView() {
+		return fittestChromo;
+	}
+}
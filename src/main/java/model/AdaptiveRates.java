@@ -0,0 +1,118 @@
+package model;
+
+/**
+ * Crossover and mutation rates tuned after every generation from its diversity and improvement,
+ * see @see src.main.java.model.AbstractPopulation#setAdaptiveRates(AdaptiveRates).
+ * The crossover rate follows the diversity: recombining a population of clones only wastes evaluations.
+ * The mutation rate shrinks while the best fitness improves, to refine the good individuals,
+ * and grows when the diversity falls below its target or the best fitness stagnates,
+ * to escape premature convergence.
+ * Mutation functions read {@link #getMutationRate()},
+ * as the ones built by @see src.main.java.model.GeneticFunctions#mutateIntGenes(java.util.function.DoubleSupplier).
+ * The state of the controller is part of the population checkpoints, so adaptive runs resume exactly.
+ */
+public class AdaptiveRates implements GenerationListener {
+	private static final double FACTOR = 1.5;
+
+	private volatile double crossoverRate;
+	private volatile double mutationRate;
+	private double minCrossoverRate = 0.3, maxCrossoverRate = 0.95;
+	private double minMutationRate = 0.001, maxMutationRate = 0.5;
+	private double targetDiversity = 0.5;
+	private int patience = 10;
+
+	private double bestFitness = Double.NEGATIVE_INFINITY;
+	private int stagnantGenerations;
+	private boolean escaping = true;
+
+	/**
+	 * @param crossoverRate rate of the first generation
+	 * @param mutationRate rate of the first generation
+	 */
+	public AdaptiveRates(double crossoverRate, double mutationRate){
+		this.crossoverRate = crossoverRate;
+		this.mutationRate = mutationRate;
+	}
+
+	@Override
+	public void generationCompleted(GenerationStats stats) {
+		double mutation = mutationRate;
+		if (stats.getBestFitness() > bestFitness){
+			bestFitness = stats.getBestFitness();
+			stagnantGenerations = 0;
+			mutation /= FACTOR;
+		}
+		else if (++stagnantGenerations >= patience){
+			//try larger steps first, then smaller ones once the largest did not help
+			stagnantGenerations = 0;
+			if (mutation * FACTOR > maxMutationRate)
+				escaping = false;
+			else if (mutation / FACTOR < minMutationRate)
+				escaping = true;
+			mutation = escaping ? mutation * FACTOR : mutation / FACTOR;
+		}
+		if (stats.getDiversity() < targetDiversity)
+			mutation *= FACTOR;
+		mutationRate = Math.max(minMutationRate, Math.min(maxMutationRate, mutation));
+		crossoverRate = minCrossoverRate + (maxCrossoverRate - minCrossoverRate) * stats.getDiversity();
+	}
+
+	/**
+	 * @return rates, best fitness and stagnation of the controller, as stored in a checkpoint
+	 */
+	double[] getState() {
+		return new double[]{crossoverRate, mutationRate, bestFitness, stagnantGenerations, escaping ? 1 : 0};
+	}
+
+	/**
+	 * @param state as returned by {@link #getState()}
+	 */
+	void setState(double[] state) {
+		crossoverRate = state[0];
+		mutationRate = state[1];
+		bestFitness = state[2];
+		stagnantGenerations = (int) state[3];
+		escaping = state[4] != 0;
+	}
+
+	public double getCrossoverRate() {
+		return crossoverRate;
+	}
+
+	/**
+	 * @return probability of mutating each gene in the next generation
+	 */
+	public double getMutationRate() {
+		return mutationRate;
+	}
+
+	public void setCrossoverBounds(double min, double max) {
+		this.minCrossoverRate = min;
+		this.maxCrossoverRate = max;
+	}
+
+	public void setMutationBounds(double min, double max) {
+		this.minMutationRate = min;
+		this.maxMutationRate = max;
+	}
+
+	/**
+	 * @param targetDiversity fraction of distinct genomes under which mutation grows,
+	 * 	see @see src.main.java.model.GenerationStats#getDiversity()
+	 */
+	public void setTargetDiversity(double targetDiversity) {
+		this.targetDiversity = targetDiversity;
+	}
+
+	/**
+	 * @param patience number of generations without improvement after which mutation grows
+	 */
+	public void setPatience(int patience) {
+		this.patience = patience;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("crossover %.3f, mutation %.4f", crossoverRate, mutationRate);
+	}
+}
@@ -0,0 +1,161 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Island model: a set of populations of the same problem evolving concurrently, one thread each.
+ * Every migrationInterval generations an island sends copies of its fittest individuals 
+ * to the islands chosen by the @see src.main.java.model.MigrationTopology, 
+ * where they replace the least fit individuals.
+ * Islands evolve independently between migrations, which are epoch boundaries: 
+ * every island waits for the others to send their migrants, then receives them in the order of the senders. 
+ * The targets of the RANDOM topology are drawn from a @see src.main.java.model.KeyedRandom 
+ * keyed by the seed of the sending island and the epoch, so an archipelago of seeded islands is reproducible.
+ * 
+ * Islands should use a sequential evaluator, since each of them already has its own thread.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class Archipelago <C extends AbstractChromo> {
+	private final List<AbstractPopulation<C>> islands;
+	//migrants and targets of each island, by parity of the epoch
+	private final List<List<List<C>>> migrants;
+	private final int[][][] targets;
+	private final int migrationInterval;
+	private final int numMigrants;
+	private final MigrationTopology topology;
+	
+	private final AtomicLong numMigrations = new AtomicLong();
+	
+	/**
+	 * @param islands the populations to evolve, at least one
+	 * @param migrationInterval number of generations between two migrations of an island
+	 * @param numMigrants number of individuals sent at each migration
+	 * @param topology where the migrants go
+	 */
+	public Archipelago(List<? extends AbstractPopulation<C>> islands, 
+			int migrationInterval, int numMigrants, MigrationTopology topology){
+		if (islands.isEmpty())
+			throw new IllegalArgumentException("An archipelago needs at least one island");
+		if (migrationInterval < 1)
+			throw new IllegalArgumentException("Migration interval must be at least 1, was " + migrationInterval);
+		this.islands = new ArrayList<>(islands);
+		this.migrationInterval = migrationInterval;
+		this.numMigrants = numMigrants;
+		this.topology = topology;
+		this.migrants = new ArrayList<>(2);
+		for (int parity=0; parity<2; parity++){
+			migrants.add(new ArrayList<>(Collections.nCopies(islands.size(), null)));
+		}
+		this.targets = new int[2][islands.size()][];
+	}
+	
+	/**
+	 * Evolves every island for the given number of generations, each on its own thread, 
+	 * and waits for all of them to finish.
+	 * If an island fails the other ones are stopped and the exception is rethrown.
+	 * @param generations number of new generations of each island
+	 * @throws IllegalStateException if the islands are not at the same generation
+	 */
+	public void evolve(int generations){
+		int generation = islands.get(0).getNumberOfGenerations();
+		for (AbstractPopulation<C> island : islands){
+			if (island.getNumberOfGenerations() != generation)
+				throw new IllegalStateException("The islands must be at the same generation to migrate together");
+		}
+		CyclicBarrier epochEnd = new CyclicBarrier(islands.size());
+		ExecutorService executor = Executors.newFixedThreadPool(islands.size());
+		CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+		List<Future<?>> futures = new ArrayList<>(islands.size());
+		try {
+			for (int i=0; i<islands.size(); i++){
+				int island = i;
+				futures.add(completion.submit(() -> evolveIsland(island, generations, epochEnd), null));
+			}
+			//the first failure stops the islands waiting for the failed one
+			for (int i=0; i<islands.size(); i++){
+				completion.take().get();
+			}
+		} catch (ExecutionException e) {
+			futures.forEach(future -> future.cancel(true));
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException("Island evolution failed", e.getCause());
+		} catch (InterruptedException e) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Archipelago evolution interrupted");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	private void evolveIsland(int island, int generations, CyclicBarrier epochEnd){
+		AbstractPopulation<C> pop = islands.get(island);
+		KeyedRandom rand = new KeyedRandom(pop.getSeed());
+		
+		for (int g=0; g<generations && !Thread.currentThread().isInterrupted(); g++){
+			pop.newGeneration();
+			
+			if (islands.size() > 1 && pop.getNumberOfGenerations() % migrationInterval == 0){
+				int epoch = pop.getNumberOfGenerations() / migrationInterval;
+				//an island can be one epoch ahead of the others, never two
+				int parity = epoch % 2;
+				migrants.get(parity).set(island, Collections.unmodifiableList(pop.getFittest(numMigrants)));
+				targets[parity][island] = topology.targets(island, islands.size(), rand.split(epoch));
+				numMigrations.incrementAndGet();
+				try {
+					epochEnd.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (BrokenBarrierException e) {
+					return;
+				}
+				
+				for (int sender=0; sender<islands.size(); sender++){
+					for (int target : targets[parity][sender]){
+						if (target == island)
+							pop.immigrate(migrants.get(parity).get(sender));
+					}
+				}
+			}
+		}
+	}
+	
+	public List<AbstractPopulation<C>> getIslands() {
+		return Collections.unmodifiableList(islands);
+	}
+	
+	/**
+	 * @return the fittest individual of all the islands, must not be called during evolve
+	 */
+	public C getFittestChromo() {
+		C fittest = null;
+		for (AbstractPopulation<C> island : islands){
+			C candidate = island.getFittestChromo();
+			if (fittest == null || (candidate != null && candidate.getFitness() > fittest.getFitness()))
+				fittest = candidate;
+		}
+		return fittest;
+	}
+	
+	/**
+	 * @return how many times an island sent its migrants
+	 */
+	public long getNumberOfMigrations() {
+		return numMigrations.get();
+	}
+}
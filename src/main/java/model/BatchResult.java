@@ -0,0 +1,45 @@
+package model;
+
+/**
+ * Outcome of one run of a @see src.main.java.model.BatchRunner
+ */
+public class BatchResult {
+	private final Configuration configuration;
+	private final long seed;
+	private final RunSummary<?> summary;
+	private final Throwable error;
+	
+	BatchResult(Configuration configuration, long seed, RunSummary<?> summary, Throwable error){
+		this.configuration = configuration;
+		this.seed = seed;
+		this.summary = summary;
+		this.error = error;
+	}
+	
+	public Configuration getConfiguration() {
+		return configuration;
+	}
+	
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * @return the summary of the run, null if the run failed
+	 */
+	public RunSummary<?> getSummary() {
+		return summary;
+	}
+	
+	/**
+	 * @return what made the run fail, null if it completed
+	 */
+	public Throwable getError() {
+		return error;
+	}
+	
+	@Override
+	public String toString() {
+		return configuration + " seed " + seed + ": " + (error == null ? summary : error);
+	}
+}
@@ -0,0 +1,173 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a population for every configuration of a @see src.main.java.model.ParameterGrid 
+ * and every seed, writing one CSV row per run as soon as the run ends.
+ * Populations built with the given seed make every row reproducible.
+ * Runs are tasks of a work-stealing pool with one thread per processor by default.
+ * Populations should evaluate with the evaluator given to their factory: it forks the 
+ * evaluations into the same pool, so that a parallel population never adds threads 
+ * and its evaluations are shared by the workers which have no run left.
+ */
+public class BatchRunner {
+	
+	/**
+	 * Creates the population of a run
+	 */
+	public interface RunFactory {
+		
+		/**
+		 * @param configuration the parameters of the run
+		 * @param seed the seed of the run, to give to the population
+		 * @param evaluator evaluator sharing the threads of the batch
+		 * @return a new initialized population
+		 */
+		AbstractPopulation<?> create(Configuration configuration, long seed, FitnessEvaluator evaluator);
+	}
+	
+	private static final List<String> COLUMNS = Arrays.asList("seed", "generations", "evaluations", 
+			"best_fitness", "elapsed_ms", "stopped_by", "error");
+	
+	private final RunFactory factory;
+	private final StopCondition[] conditions;
+	private int numSeeds = 1;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * @param factory creates the population of each run
+	 * @param conditions when each run ends, see @see src.main.java.model.StopConditions
+	 */
+	public BatchRunner(RunFactory factory, StopCondition... conditions){
+		if (conditions.length == 0)
+			throw new IllegalArgumentException("Runs need at least one stop condition");
+		this.factory = factory;
+		this.conditions = conditions.clone();
+	}
+	
+	/**
+	 * @param numSeeds number of runs of each configuration, with seeds from 0 to numSeeds - 1
+	 */
+	public void setNumberOfSeeds(int numSeeds) {
+		if (numSeeds < 1)
+			throw new IllegalArgumentException("Number of seeds " + numSeeds);
+		this.numSeeds = numSeeds;
+	}
+	
+	/**
+	 * @param parallelism number of threads of the pool
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("Parallelism " + parallelism);
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Runs the whole grid, writing the results to a new CSV file
+	 * @see #run(ParameterGrid, Appendable)
+	 */
+	public List<BatchResult> run(ParameterGrid grid, Path csv) throws IOException {
+		try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)){
+			return run(grid, out);
+		}
+	}
+	
+	/**
+	 * Runs the whole grid. 
+	 * A run whose population fails is reported with its error and does not stop the others.
+	 * @param grid the configurations to run
+	 * @param out where the CSV header and then a row per run, in the order the runs end, are written;
+	 * 	a Writer is flushed after every row
+	 * @return the results, in the order of the configurations and then of the seeds
+	 */
+	public List<BatchResult> run(ParameterGrid grid, Appendable out) throws IOException {
+		List<String> header = new ArrayList<>(grid.getNames());
+		header.addAll(COLUMNS);
+		writeRow(out, header);
+		
+		List<Configuration> configurations = grid.getConfigurations();
+		BatchResult[] results = new BatchResult[configurations.size() * numSeeds];
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			FitnessEvaluator evaluator = FitnessEvaluators.forkJoin(pool);
+			List<ForkJoinTask<?>> runs = new ArrayList<>(results.length);
+			for (int c=0; c<configurations.size(); c++){
+				for (int seed=0; seed<numSeeds; seed++){
+					Configuration configuration = configurations.get(c);
+					int index = c * numSeeds + seed;
+					long runSeed = seed;
+					runs.add(pool.submit(() -> {
+						results[index] = run(configuration, runSeed, evaluator);
+						writeResult(out, results[index]);
+					}));
+				}
+			}
+			for (ForkJoinTask<?> run : runs){
+				run.join();
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			pool.shutdownNow();
+		}
+		return Arrays.asList(results);
+	}
+	
+	private BatchResult run(Configuration configuration, long seed, FitnessEvaluator evaluator){
+		try {
+			RunSummary<?> summary = factory.create(configuration, seed, evaluator).evolve(conditions);
+			return new BatchResult(configuration, seed, summary, null);
+		} catch (RuntimeException e) {
+			return new BatchResult(configuration, seed, null, e);
+		}
+	}
+	
+	private static void writeResult(Appendable out, BatchResult result){
+		List<Object> row = new ArrayList<Object>(result.getConfiguration().getValues().values());
+		row.add(result.getSeed());
+		RunSummary<?> summary = result.getSummary();
+		if (summary != null){
+			row.addAll(Arrays.asList(summary.getGenerations(), summary.getEvaluations(), summary.getBestFitness(),
+					TimeUnit.NANOSECONDS.toMillis(summary.getElapsedTime()), summary.getStopCondition(), ""));
+		}
+		else
+			row.addAll(Arrays.asList("", "", "", "", "", result.getError()));
+		try {
+			synchronized (out) {
+				writeRow(out, row);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static void writeRow(Appendable out, List<?> values) throws IOException {
+		for (int i=0; i<values.size(); i++){
+			if (i > 0)
+				out.append(',');
+			out.append(csvField(String.valueOf(values.get(i))));
+		}
+		out.append('\n');
+		if (out instanceof Writer)
+			((Writer) out).flush();
+	}
+	
+	private static String csvField(String value){
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0)
+			return value;
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
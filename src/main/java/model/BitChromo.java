@@ -0,0 +1,214 @@
+package model;
+
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A Chromo with boolean genes, packed 64 per long.
+ * The words are either owned by the Chromo or are a row of a matrix shared by a whole generation,
+ * see {@link #allocateRows(int)}.
+ */
+public class BitChromo extends PrimitiveChromo<BitChromo> {
+	private static final int WORD_BITS = 64;
+	
+	private long[] words;
+	private final int offset;
+	private int length;
+	private final boolean row;
+	
+	/**
+	 * Constructs a Chromo with length false genes and zero fitness
+	 * @param length number of genes
+	 */
+	public BitChromo(int length){
+		this(new long[wordsFor(length)], length, 0);
+	}
+	
+	/**
+	 * Constructs a Chromo described by the specified genes and fitness
+	 * @param words the packed genes, gene i is bit (i % 64) of words[i / 64]; the array is not copied, 
+	 * 	and its bits past the last gene are cleared
+	 * @param length number of genes
+	 * @param fitness the current fitness of the Chromo
+	 */
+	public BitChromo(long[] words, int length, double fitness){
+		this(words, 0, length, false);
+		if (words.length < wordsFor(length))
+			throw new IllegalArgumentException(words.length + " words cannot hold " + length + " genes");
+		clearUnusedBits();
+		setFitness(fitness);
+	}
+	
+	private BitChromo(long[] words, int offset, int length, boolean row){
+		this.words = words;
+		this.offset = offset;
+		this.length = length;
+		this.row = row;
+	}
+	
+	static int wordsFor(int length){
+		return (length + WORD_BITS - 1) / WORD_BITS;
+	}
+	
+	public boolean get(int index){
+		checkIndex(index);
+		return (words[offset + index / WORD_BITS] & (1L << index)) != 0;
+	}
+	
+	public void set(int index, boolean gene){
+		if (get(index) != gene)
+			flip(index);
+	}
+	
+	public void flip(int index){
+		checkIndex(index);
+		words[offset + index / WORD_BITS] ^= (1L << index);
+		setDirty(true);
+	}
+	
+	/**
+	 * @return the number of true genes
+	 */
+	public int cardinality(){
+		return GenomeKernels.get().bitCount(words, offset, wordsFor(length));
+	}
+	
+	/**
+	 * @return the number of positions whose genes differ, the genes of the longer Chromo
+	 * 	past the length of the other one are not compared
+	 */
+	public int hammingDistance(BitChromo other){
+		int end = Math.min(length, other.length);
+		int full = end / WORD_BITS;
+		int distance = GenomeKernels.get().hammingDistance(words, offset, other.words, other.offset, full);
+		if (end % WORD_BITS != 0)
+			distance += Long.bitCount((words[offset + full] ^ other.words[other.offset + full]) 
+					& ((1L << end) - 1));
+		return distance;
+	}
+	
+	@Override
+	public int length() {
+		return length;
+	}
+	
+	/**
+	 * @return a copy of the packed genes
+	 */
+	public long[] toArray(){
+		return Arrays.copyOfRange(words, offset, offset + wordsFor(length));
+	}
+	
+	@Override
+	public BitChromo copy() {
+		BitChromo copy = new BitChromo(toArray(), length, getFitness());
+		copy.setDirty(isDirty());
+		return copy;
+	}
+	
+	@Override
+	public void copyFrom(BitChromo other) {
+		if (length == other.length)
+			System.arraycopy(other.words, other.offset, words, offset, wordsFor(length));
+		else if (!row){
+			words = other.toArray();
+			length = other.length;
+		}
+		else
+			throw new IllegalArgumentException("Cannot copy " + other.length + " genes into a row of " + length);
+		setFitness(other.getFitness());
+		setDirty(other.isDirty());
+	}
+	
+	@Override
+	public void swapTail(BitChromo other, int position) {
+		int end = Math.min(wordsFor(length), wordsFor(other.length));
+		int first = position / WORD_BITS;
+		if (first >= end)
+			return;
+		
+		//the first word is exchanged only from position onwards
+		long diff = (words[offset + first] ^ other.words[other.offset + first]) & (-1L << position);
+		words[offset + first] ^= diff;
+		other.words[other.offset + first] ^= diff;
+		
+		boolean changed = GenomeKernels.get().swap(words, offset + first + 1, 
+				other.words, other.offset + first + 1, end - first - 1);
+		//a longer other hands over genes past the length of this Chromo, and vice versa
+		clearUnusedBits();
+		other.clearUnusedBits();
+		if (changed || diff != 0){
+			setDirty(true);
+			other.setDirty(true);
+		}
+	}
+	
+	/**
+	 * Uniform crossover: exchanges with other the genes selected by mask
+	 * @param other the Chromo to exchange genes with
+	 * @param mask selected genes, see @see src.main.java.model.GenomeKernels#randomMask
+	 */
+	public void uniformCrossover(BitChromo other, long[] mask) {
+		if (length != other.length)
+			throw new IllegalArgumentException("Cannot cross " + length + " genes with " + other.length);
+		if (GenomeKernels.get().swapMasked(words, offset, other.words, other.offset, mask, wordsFor(length))){
+			clearUnusedBits();
+			other.clearUnusedBits();
+			setDirty(true);
+			other.setDirty(true);
+		}
+	}
+	
+	/**
+	 * Masked mutation: flips the genes selected by mask
+	 * @param mask selected genes, bits past the length of this Chromo are ignored
+	 */
+	public void mutate(long[] mask) {
+		if (GenomeKernels.get().flipMasked(words, offset, mask, wordsFor(length))){
+			clearUnusedBits();
+			setDirty(true);
+		}
+	}
+	
+	@Override
+	public Object genesKey(boolean copy) {
+		return copy ? LongBuffer.wrap(toArray()) : LongBuffer.wrap(words, offset, wordsFor(length));
+	}
+	
+	@Override
+	public List<BitChromo> allocateRows(int rows) {
+		int rowWords = wordsFor(length);
+		long[] matrix = new long[PrimitiveChromo.matrixSize(rows, rowWords)];
+		List<BitChromo> views = new ArrayList<>(rows);
+		for (int r=0; r<rows; r++){
+			views.add(new BitChromo(matrix, r * rowWords, length, true));
+		}
+		return Collections.unmodifiableList(views);
+	}
+	
+	/**
+	 * Clears the bits of the last word past the last gene, 
+	 * which cardinality and genesKey count as genes
+	 */
+	private void clearUnusedBits(){
+		if (length % WORD_BITS != 0)
+			words[offset + length / WORD_BITS] &= (1L << length) - 1;
+	}
+	
+	private void checkIndex(int index){
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Gene " + index + " of " + length);
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i=0; i<length; i++){
+			sb.append(get(i) ? '1' : '0');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,164 @@
+package model;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of the state of a population: genomes and fitness of the individuals, 
+ * generation number, seed of the random streams, state of the @see src.main.java.model.AdaptiveRates 
+ * and of the @see src.main.java.model.Surrogate, if any.
+ * A population restored from a checkpoint evolves exactly as the original did after the snapshot,
+ * see @see src.main.java.model.AbstractPopulation#restore(Checkpoint); 
+ * populations pre-screened by a surrogate whose state cannot be saved cannot be restored.
+ * 
+ * Checkpoints are written to a compact binary file through memory mapping; 
+ * the file is replaced atomically, so a crash while writing leaves the previous checkpoint intact.
+ * See @see src.main.java.model.Checkpointer for periodic checkpoints.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class Checkpoint <C extends AbstractChromo> {
+	private static final int MAGIC = 0x47414350;
+	private static final int VERSION = 4;
+	//checkpoints without surrogate
+	private static final int VERSION_3 = 3;
+	//checkpoints without adaptive rates and surrogate
+	private static final int VERSION_2 = 2;
+	
+	private final int generation;
+	private final List<C> individuals;
+	private final long seed;
+	private final double[] adaptiveRates;
+	private final double[] surrogate;
+	
+	Checkpoint(int generation, List<C> individuals, long seed, double[] adaptiveRates, double[] surrogate){
+		this.generation = generation;
+		this.individuals = individuals;
+		this.seed = seed;
+		this.adaptiveRates = adaptiveRates;
+		this.surrogate = surrogate;
+	}
+	
+	/**
+	 * Writes the checkpoint to file, replacing it atomically
+	 * @param file destination
+	 * @param codec encoding of the genes
+	 */
+	public void write(Path file, GenomeCodec<C> codec) throws IOException {
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+			MappedDataOutput out = new MappedDataOutput(channel);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(generation);
+			out.writeInt(individuals.size());
+			out.writeLong(seed);
+			writeState(adaptiveRates, out);
+			writeState(surrogate, out);
+			for (C chromo : individuals){
+				out.writeDouble(chromo.getFitness());
+				codec.write(chromo, out);
+			}
+			out.finish();
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * Writes the length of state, 0 if null, followed by its values
+	 */
+	private static void writeState(double[] state, MappedDataOutput out) throws IOException {
+		out.writeInt((state == null) ? 0 : state.length);
+		if (state != null){
+			for (double value : state){
+				out.writeDouble(value);
+			}
+		}
+	}
+	
+	/**
+	 * @return a state written by {@link #writeState(double[], MappedDataOutput)}
+	 */
+	private static double[] readState(MappedDataInput in) throws IOException {
+		int length = in.readInt();
+		if (length == 0)
+			return null;
+		double[] state = new double[length];
+		for (int i=0; i<length; i++){
+			state[i] = in.readDouble();
+		}
+		return state;
+	}
+	
+	/**
+	 * @param file a file written by {@link #write(Path, GenomeCodec)}
+	 * @param codec encoding of the genes, the same used to write the file
+	 * @return the checkpoint in file
+	 * @throws IOException if file cannot be read or is not a checkpoint
+	 */
+	public static <C extends AbstractChromo> Checkpoint<C> read(Path file, GenomeCodec<C> codec) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+			MappedDataInput in = new MappedDataInput(channel);
+			if (in.readInt() != MAGIC)
+				throw new IOException(file + " is not a population checkpoint");
+			int version = in.readInt();
+			if (version != VERSION && version != VERSION_3 && version != VERSION_2)
+				throw new IOException("Unsupported checkpoint version " + version);
+			
+			int generation = in.readInt();
+			int size = in.readInt();
+			long seed = in.readLong();
+			double[] adaptiveRates = (version == VERSION_2) ? null : readState(in);
+			double[] surrogate = (version == VERSION) ? readState(in) : null;
+			List<C> individuals = new ArrayList<C>(size);
+			for (int i=0; i<size; i++){
+				double fitness = in.readDouble();
+				C chromo = codec.read(in);
+				chromo.setFitness(fitness);
+				chromo.setDirty(false);
+				individuals.add(chromo);
+			}
+			return new Checkpoint<C>(generation, individuals, seed, adaptiveRates, surrogate);
+		}
+	}
+	
+	public int getGeneration() {
+		return generation;
+	}
+	
+	/**
+	 * @return the individuals of the checkpoint, which must not be modified
+	 */
+	public List<C> getIndividuals() {
+		return Collections.unmodifiableList(individuals);
+	}
+	
+	/**
+	 * @return the seed of the checkpointed population
+	 */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * @return the state of the adaptive rates of the population, null if it had none
+	 */
+	double[] getAdaptiveRates() {
+		return adaptiveRates;
+	}
+	
+	/**
+	 * @return the state of the surrogate of the population, null if it had none or its state cannot be saved
+	 */
+	double[] getSurrogate() {
+		return surrogate;
+	}
+}
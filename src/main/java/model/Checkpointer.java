@@ -0,0 +1,101 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes a checkpoint of a population every given number of generations.
+ * The generation loop only takes the snapshot, which copies the individuals; 
+ * the file is written by a background thread. When snapshots come faster than the disk, 
+ * the pending one is replaced by the newest, so the loop never waits for the disk.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class Checkpointer <C extends AbstractChromo> implements GenerationListener, Closeable {
+	private final AbstractPopulation<C> population;
+	private final GenomeCodec<C> codec;
+	private final Path file;
+	private final int interval;
+	private final ExecutorService writer;
+	private final AtomicReference<Checkpoint<C>> pending = new AtomicReference<Checkpoint<C>>();
+	private volatile int lastWrittenGeneration = -1;
+	private volatile IOException lastFailure;
+	
+	/**
+	 * Starts checkpointing population
+	 * @param population the population to checkpoint
+	 * @param codec encoding of the genes
+	 * @param file destination of the checkpoints, overwritten every time
+	 * @param interval number of generations between checkpoints
+	 */
+	public Checkpointer(AbstractPopulation<C> population, GenomeCodec<C> codec, Path file, int interval){
+		if (interval < 1)
+			throw new IllegalArgumentException("Checkpoint interval must be at least 1, was " + interval);
+		this.population = population;
+		this.codec = codec;
+		this.file = file;
+		this.interval = interval;
+		this.writer = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "checkpoint-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		population.addGenerationListener(this);
+	}
+
+	@Override
+	public void generationCompleted(GenerationStats stats) {
+		if (stats.getGeneration() % interval != 0)
+			return;
+		if (pending.getAndSet(population.checkpoint()) == null)
+			writer.execute(this::writePending);
+	}
+	
+	private void writePending(){
+		Checkpoint<C> checkpoint = pending.getAndSet(null);
+		if (checkpoint == null)
+			return;
+		try {
+			checkpoint.write(file, codec);
+			lastWrittenGeneration = checkpoint.getGeneration();
+		} catch (IOException e) {
+			lastFailure = e;
+		}
+	}
+	
+	/**
+	 * @return generation of the last checkpoint on disk, -1 if none has been written yet
+	 */
+	public int getLastWrittenGeneration() {
+		return lastWrittenGeneration;
+	}
+	
+	/**
+	 * @return the error of the last failed write, null if no write failed
+	 */
+	public IOException getLastFailure() {
+		return lastFailure;
+	}
+	
+	/**
+	 * Stops checkpointing, waiting for the pending checkpoint to be written
+	 * @throws IOException the error of the last failed write
+	 */
+	@Override
+	public void close() throws IOException {
+		population.removeGenerationListener(this);
+		writer.shutdown();
+		try {
+			writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (lastFailure != null)
+			throw lastFailure;
+	}
+}
@@ -5,14 +5,15 @@ import java.util.List;
 /**
  * Basic unit of a genetic population. 
  * Each Chromo consists of a list of genes and a fitness score.
+ * Genes are kept in an immutable @see src.main.java.model.GeneSequence, 
+ * so chromos can share them without copies: changing the genes of a Chromo means setting new ones.
  */
-public class Chromo<T> {
-	private List<T> genes;
-	private double fitness;
+public class Chromo<T> extends AbstractChromo {
+	private GeneSequence<T> genes;
 	
 	/**
 	 * Constructs a Chromo described by the specified genes and fitness
-	 * @param genes the list of genes that will describe the Chromo
+	 * @param genes the list of genes that will describe the Chromo, copied unless it is a GeneSequence
 	 * @param fitness the current fitness of the Chromo
 	 */
 	public Chromo(List<T> genes, double fitness){
@@ -20,21 +21,25 @@ public class Chromo<T> {
 		setFitness(fitness);
 	}
 	
-	//TODO: What about implementing a deep copy mechanism for the genes??
-	
-	public List<T> getGenes (){
+	/**
+	 * @return the genes, which cannot be modified
+	 */
+	public GeneSequence<T> getGenes (){
 		return genes;
 	} 
 	
 	public void setGenes(List<T> genes) {
-		this.genes = genes;
+		this.genes = GeneSequence.of(genes);
+		setDirty(true);
 	}
 	
-	public double getFitness() {
-		return fitness;
+	@Override
+	public int length() {
+		return genes.size();
 	}
 	
-	public void setFitness(double fitness){
-		this.fitness = fitness;
-	}	
+	@Override
+	public Object genesKey(boolean copy) {
+		return genes;
+	}
 }
@@ -0,0 +1,46 @@
+package model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One value for each parameter of a @see src.main.java.model.ParameterGrid
+ */
+public class Configuration {
+	private final Map<String, Object> values;
+	
+	Configuration(Map<String, Object> values){
+		this.values = Collections.unmodifiableMap(values);
+	}
+	
+	/**
+	 * @return the value of the parameter
+	 * @throws IllegalArgumentException if the grid has no such parameter
+	 */
+	public Object get(String name){
+		Object value = values.get(name);
+		if (value == null)
+			throw new IllegalArgumentException("No parameter " + name + " in " + this);
+		return value;
+	}
+	
+	public int getInt(String name){
+		return ((Number) get(name)).intValue();
+	}
+	
+	public double getDouble(String name){
+		return ((Number) get(name)).doubleValue();
+	}
+	
+	/**
+	 * @return the values by parameter name, in the order of the grid
+	 */
+	public Map<String, Object> getValues(){
+		return values;
+	}
+	
+	@Override
+	public String toString() {
+		return values.toString();
+	}
+}
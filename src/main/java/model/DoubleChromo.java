@@ -0,0 +1,152 @@
+package model;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A Chromo with double genes.
+ * The genes are either owned by the Chromo or are a row of a matrix shared by a whole generation,
+ * see {@link #allocateRows(int)}.
+ */
+public class DoubleChromo extends PrimitiveChromo<DoubleChromo> {
+	private double[] genes;
+	private final int offset;
+	private int length;
+	private final boolean row;
+	
+	/**
+	 * Constructs a Chromo with the given genes and zero fitness
+	 * @param genes the genes, the array is not copied
+	 */
+	public DoubleChromo(double[] genes){
+		this(genes, 0);
+	}
+	
+	/**
+	 * Constructs a Chromo described by the specified genes and fitness
+	 * @param genes the genes, the array is not copied
+	 * @param fitness the current fitness of the Chromo
+	 */
+	public DoubleChromo(double[] genes, double fitness){
+		this(genes, 0, genes.length, false);
+		setFitness(fitness);
+	}
+	
+	private DoubleChromo(double[] genes, int offset, int length, boolean row){
+		this.genes = genes;
+		this.offset = offset;
+		this.length = length;
+		this.row = row;
+	}
+	
+	public double get(int index){
+		return genes[offset + index];
+	}
+	
+	public void set(int index, double gene){
+		if (genes[offset + index] != gene){
+			genes[offset + index] = gene;
+			setDirty(true);
+		}
+	}
+	
+	@Override
+	public int length() {
+		return length;
+	}
+	
+	/**
+	 * @return a copy of the genes
+	 */
+	public double[] toArray(){
+		return Arrays.copyOfRange(genes, offset, offset + length);
+	}
+	
+	@Override
+	public DoubleChromo copy() {
+		DoubleChromo copy = new DoubleChromo(toArray(), getFitness());
+		copy.setDirty(isDirty());
+		return copy;
+	}
+	
+	@Override
+	public void copyFrom(DoubleChromo other) {
+		if (length == other.length)
+			System.arraycopy(other.genes, other.offset, genes, offset, length);
+		else if (!row){
+			genes = other.toArray();
+			length = other.length;
+		}
+		else
+			throw new IllegalArgumentException("Cannot copy " + other.length + " genes into a row of " + length);
+		setFitness(other.getFitness());
+		setDirty(other.isDirty());
+	}
+	
+	@Override
+	public void swapTail(DoubleChromo other, int position) {
+		int end = Math.min(length, other.length);
+		if (position < end && GenomeKernels.get().swap(genes, offset + position, 
+				other.genes, other.offset + position, end - position)){
+			setDirty(true);
+			other.setDirty(true);
+		}
+	}
+	
+	/**
+	 * Uniform crossover: exchanges with other the genes selected by mask
+	 * @param other the Chromo to exchange genes with
+	 * @param mask selected genes, see @see src.main.java.model.GenomeKernels#randomMask
+	 */
+	public void uniformCrossover(DoubleChromo other, long[] mask) {
+		if (GenomeKernels.get().swapMasked(genes, offset, other.genes, other.offset, mask, 
+				Math.min(length, other.length))){
+			setDirty(true);
+			other.setDirty(true);
+		}
+	}
+	
+	/**
+	 * Masked mutation: replaces the genes selected by mask with the values in the same position
+	 * @param mask selected genes
+	 * @param values new genes, at least as many as the genes of this Chromo
+	 */
+	public void mutate(long[] mask, double[] values) {
+		if (GenomeKernels.get().replaceMasked(genes, offset, values, mask, length))
+			setDirty(true);
+	}
+	
+	/**
+	 * @return the number of genes greater than threshold
+	 */
+	public int countAbove(double threshold){
+		return GenomeKernels.get().countAbove(genes, offset, length, threshold);
+	}
+	
+	public double sum(){
+		return GenomeKernels.get().sum(genes, offset, length);
+	}
+	
+	@Override
+	public Object genesKey(boolean copy) {
+		return copy ? DoubleBuffer.wrap(toArray()) : DoubleBuffer.wrap(genes, offset, length);
+	}
+	
+	@Override
+	public List<DoubleChromo> allocateRows(int rows) {
+		double[] matrix = new double[PrimitiveChromo.matrixSize(rows, length)];
+		List<DoubleChromo> views = new ArrayList<>(rows);
+		for (int r=0; r<rows; r++){
+			views.add(new DoubleChromo(matrix, r * length, length, true));
+		}
+		return Collections.unmodifiableList(views);
+	}
+	
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
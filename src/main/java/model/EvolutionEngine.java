@@ -0,0 +1,187 @@
+package model;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evolves a population at full speed on a background thread, decoupled from the threads observing it,
+ * such as the render loop of a UI.
+ * After every generation the engine replaces a single-slot @see src.main.java.model.GenerationSnapshot,
+ * which readers take with {@link #getLatest()} without locks and without ever slowing the evolution;
+ * snapshots a reader did not take are simply overwritten.
+ * The run can be paused, resumed and advanced one generation at a time.
+ *
+ * @param <C> the type of the chromos
+ */
+public class EvolutionEngine <C extends AbstractChromo> implements GenerationListener, Closeable {
+	private final AbstractPopulation<C> population;
+	private final StopCondition[] conditions;
+	private final AtomicReference<GenerationSnapshot<C>> latest = new AtomicReference<GenerationSnapshot<C>>();
+	private final Object lock = new Object();
+	private final Thread thread;
+	private boolean paused;
+	private int pendingSteps;
+	private boolean closed;
+	private volatile StopCondition metCondition;
+	private volatile RuntimeException failure;
+
+	/**
+	 * Prepares the run of population, which starts with {@link #start()}.
+	 * The population must not be used by other threads while the engine runs.
+	 * @param population the population to evolve
+	 * @param conditions when to stop, see @see src.main.java.model.StopConditions
+	 */
+	public EvolutionEngine(AbstractPopulation<C> population, StopCondition... conditions){
+		if (conditions.length == 0)
+			throw new IllegalArgumentException("A run needs at least one stop condition");
+		this.population = population;
+		this.conditions = conditions;
+		this.thread = new Thread(this::run, "evolution-engine");
+		this.thread.setDaemon(true);
+		population.addGenerationListener(this);
+	}
+
+	/**
+	 * Starts evolving, or starts paused when paused before
+	 */
+	public void start() {
+		thread.start();
+	}
+
+	private void run(){
+		C fittest = population.getFittestChromoView();
+		RunProgress progress = new RunProgress(population.getSize(), population.getNumberOfEvaluations(),
+				(fittest == null) ? Double.NaN : fittest.getFitness());
+		try {
+			while (awaitGeneration()){
+				StopCondition met = AbstractPopulation.metCondition(conditions, progress);
+				if (met != null){
+					metCondition = met;
+					return;
+				}
+				population.newGeneration();
+				fittest = population.getFittestChromoView();
+				progress.generationCompleted(population.getNumberOfEvaluations(),
+						(fittest == null) ? Double.NaN : fittest.getFitness());
+			}
+		} catch (InterruptedException e) {
+			//closed while paused
+		} catch (RuntimeException e) {
+			failure = e;
+		}
+	}
+
+	/**
+	 * @return whether to run the next generation, false once closed
+	 */
+	private boolean awaitGeneration() throws InterruptedException {
+		synchronized (lock) {
+			while (paused && pendingSteps == 0 && !closed){
+				lock.wait();
+			}
+			if (closed)
+				return false;
+			if (paused)
+				pendingSteps--;
+			return true;
+		}
+	}
+
+	@Override
+	public void generationCompleted(GenerationStats stats) {
+		latest.set(new GenerationSnapshot<C>(stats, population.getFittestChromo()));
+	}
+
+	/**
+	 * @return the snapshot of the last generation, null before the first one
+	 */
+	public GenerationSnapshot<C> getLatest() {
+		return latest.get();
+	}
+
+	/**
+	 * Stops after the generation in progress, until {@link #resume()} or {@link #step()}
+	 */
+	public void pause() {
+		synchronized (lock) {
+			paused = true;
+			pendingSteps = 0;
+		}
+	}
+
+	public void resume() {
+		synchronized (lock) {
+			paused = false;
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Runs one more generation while paused; pauses the engine if it was running
+	 */
+	public void step() {
+		synchronized (lock) {
+			if (!paused)
+				paused = true;
+			else
+				pendingSteps++;
+			lock.notifyAll();
+		}
+	}
+
+	public boolean isPaused() {
+		synchronized (lock) {
+			return paused;
+		}
+	}
+
+	/**
+	 * @return whether the run ended, because of a stop condition, a failure or {@link #close()}
+	 */
+	public boolean isFinished() {
+		return thread.getState() == Thread.State.TERMINATED;
+	}
+
+	/**
+	 * @return the stop condition that ended the run, null while running or when closed before
+	 */
+	public StopCondition getMetCondition() {
+		return metCondition;
+	}
+
+	/**
+	 * @return the exception that ended the run, as a @see src.main.java.model.FitnessEvaluationException,
+	 * 	null if there was none
+	 */
+	public RuntimeException getFailure() {
+		return failure;
+	}
+
+	/**
+	 * Waits until the run ends
+	 * @param millis maximum time to wait, 0 to wait forever
+	 * @return whether the run ended
+	 */
+	public boolean await(long millis) throws InterruptedException {
+		thread.join(millis);
+		return isFinished();
+	}
+
+	/**
+	 * Stops the run after the generation in progress and waits for it
+	 */
+	@Override
+	public void close() {
+		synchronized (lock) {
+			closed = true;
+			lock.notifyAll();
+		}
+		try {
+			if (thread.isAlive())
+				thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		population.removeGenerationListener(this);
+	}
+}
@@ -0,0 +1,135 @@
+package model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bounded memo of fitness values, keyed by the content of the genes 
+ * (@see src.main.java.model.AbstractChromo#genesKey(boolean)).
+ * When full, the least recently used entry is evicted.
+ * The cache is thread safe, so it can be used together with a parallel evaluator,
+ * and it can be shared by populations evolving the same problem.
+ */
+public class FitnessCache {
+	private final Map<Object, Double> entries;
+	
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong missTime = new AtomicLong();
+	
+	/**
+	 * @param maxSize maximum number of cached fitness values
+	 */
+	public FitnessCache(int maxSize){
+		if (maxSize < 1)
+			throw new IllegalArgumentException("Cache size must be at least 1, was " + maxSize);
+		this.entries = new LinkedHashMap<Object, Double>(16, 0.75f, true){
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Double> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+	
+	/**
+	 * Returns the cached fitness of chromo, computing and caching it on a miss
+	 * @param chromo the chromo to evaluate
+	 * @param computeFitness function
+	 * @return the fitness of chromo
+	 */
+	public <C extends AbstractChromo> double fitness(C chromo, ToDoubleFunction<? super C> computeFitness){
+		Double cached = get(chromo);
+		if (cached != null)
+			return cached;
+		
+		long start = System.nanoTime();
+		double fitness = computeFitness.applyAsDouble(chromo);
+		addMissTime(System.nanoTime() - start);
+		put(chromo, fitness);
+		return fitness;
+	}
+	
+	/**
+	 * Looks up the fitness of the genes of chromo, counting a hit or a miss
+	 * @param chromo the chromo to look up
+	 * @return the cached fitness, null on a miss
+	 */
+	public Double get(AbstractChromo chromo){
+		Double cached;
+		synchronized (entries) {
+			cached = entries.get(chromo.genesKey(false));
+		}
+		if (cached != null)
+			hits.incrementAndGet();
+		else
+			misses.incrementAndGet();
+		return cached;
+	}
+	
+	/**
+	 * Caches the fitness of the genes of chromo
+	 * @param chromo the evaluated chromo
+	 * @param fitness its fitness
+	 */
+	public void put(AbstractChromo chromo, double fitness){
+		synchronized (entries) {
+			entries.put(chromo.genesKey(true), fitness);
+		}
+	}
+	
+	/**
+	 * Records time spent computing the fitness of missed chromos, used to estimate the saved time
+	 * @param nanos elapsed nanoseconds
+	 */
+	public void addMissTime(long nanos){
+		missTime.addAndGet(nanos);
+	}
+	
+	public int size(){
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+	
+	public void clear(){
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+	
+	public long getHits(){
+		return hits.get();
+	}
+	
+	public long getMisses(){
+		return misses.get();
+	}
+	
+	/**
+	 * @return fraction of lookups answered by the cache, 0 before the first lookup
+	 */
+	public double getHitRate(){
+		long lookups = getHits() + getMisses();
+		return (lookups == 0) ? 0 : getHits() / (double) lookups;
+	}
+	
+	/**
+	 * @return nanoseconds spent computing the fitness of cache misses
+	 */
+	public long getMissTime(){
+		return missTime.get();
+	}
+	
+	/**
+	 * @return estimate of the nanoseconds saved by the cache, 
+	 * 	assuming every hit would have cost the average miss
+	 */
+	public long getSavedTime(){
+		long numMisses = getMisses();
+		return (numMisses == 0) ? 0 : (long) (getHits() * (getMissTime() / (double) numMisses));
+	}
+}
@@ -0,0 +1,23 @@
+package model;
+
+/**
+ * Thrown when the fitness function fails on one of the individuals of a population.
+ */
+public class FitnessEvaluationException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+	
+	private final int index;
+
+	/**
+	 * @param index position of the failing individual in the evaluated generation
+	 * @param cause the exception thrown by the fitness function
+	 */
+	public FitnessEvaluationException(int index, Throwable cause) {
+		super("Fitness evaluation failed for individual " + index, cause);
+		this.index = index;
+	}
+	
+	public int getIndex() {
+		return index;
+	}
+}
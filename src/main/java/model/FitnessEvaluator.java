@@ -0,0 +1,29 @@
+package model;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Strategy used by a population to compute the fitness of a whole generation.
+ * Implementations decide where the single evaluations run (calling thread, thread pool, ...),
+ * see @see src.main.java.model.FitnessEvaluators for the built-in ones.
+ */
+public interface FitnessEvaluator extends AutoCloseable {
+	
+	/**
+	 * Computes the fitness of every individual, storing the i-th value in fitness[i].
+	 * If one of the evaluations fails a @see src.main.java.model.FitnessEvaluationException 
+	 * is thrown, and the content of fitness is undefined.
+	 * 
+	 * @param individuals the chromos to evaluate
+	 * @param computeFitness function
+	 * @param fitness destination array, at least as long as individuals
+	 */
+	<C> void evaluate(List<? extends C> individuals, ToDoubleFunction<? super C> computeFitness, double[] fitness);
+	
+	/**
+	 * Releases the resources (e.g. threads) owned by the evaluator.
+	 */
+	@Override
+	default void close() {}
+}
@@ -0,0 +1,257 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Built-in implementations of @see src.main.java.model.FitnessEvaluator.
+ * Every evaluator computes exactly the same values, they differ only in the threads
+ * running the fitness function, so switching evaluator never changes the evolution of a population.
+ * When an evaluation fails, the parallel evaluators stop starting new ones and return only after
+ * the ones in progress have finished, so nothing is written to the fitness array after evaluate returns.
+ */
+public class FitnessEvaluators {
+	private static final int TASKS_PER_THREAD = 4;
+	
+	private FitnessEvaluators() {};
+	
+	/**
+	 * @return an evaluator running the fitness function on the calling thread
+	 */
+	public static FitnessEvaluator sequential(){
+		return SEQUENTIAL;
+	}
+	
+	/**
+	 * @return an evaluator sharing the common fork-join pool
+	 */
+	public static FitnessEvaluator forkJoin(){
+		return forkJoin(ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * @param parallelism number of worker threads
+	 * @return an evaluator owning a dedicated fork-join pool
+	 */
+	public static FitnessEvaluator forkJoin(int parallelism){
+		return new ForkJoinEvaluator(new ForkJoinPool(parallelism), true);
+	}
+	
+	/**
+	 * Evaluates in the given pool. When the population itself runs in a task of the same pool, 
+	 * as in a @see src.main.java.model.BatchRunner, the evaluations are forked from that task 
+	 * and stolen by the idle workers, so nested runs never use more threads than the pool has.
+	 * @param pool the pool running the evaluations, it is not shut down by close()
+	 * @return an evaluator sharing the given fork-join pool
+	 */
+	public static FitnessEvaluator forkJoin(ForkJoinPool pool){
+		return new ForkJoinEvaluator(pool, false);
+	}
+	
+	/**
+	 * @param numThreads number of worker threads
+	 * @return an evaluator owning a fixed thread pool
+	 */
+	public static FitnessEvaluator fixedPool(int numThreads){
+		return new ExecutorEvaluator(Executors.newFixedThreadPool(numThreads, daemonThreads()), 
+				numThreads * TASKS_PER_THREAD, true);
+	}
+	
+	/**
+	 * Evaluates each individual on its own virtual thread. 
+	 * Virtual threads are only available from Java 21, on older runtimes a cached pool 
+	 * of platform threads is used instead.
+	 * @return an evaluator submitting one task per individual
+	 */
+	public static FitnessEvaluator virtualThreads(){
+		ExecutorService executor;
+		try {
+			executor = (ExecutorService) Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			executor = Executors.newCachedThreadPool(daemonThreads());
+		}
+		return new ExecutorEvaluator(executor, 0, true);
+	}
+	
+	/**
+	 * @param executor the executor running the evaluations, it is not shut down by close()
+	 * @param numTasks number of tasks the generation is split into, 0 for one task per individual
+	 * @return an evaluator submitting its work to the given executor
+	 */
+	public static FitnessEvaluator of(ExecutorService executor, int numTasks){
+		return new ExecutorEvaluator(executor, numTasks, false);
+	}
+	
+	private static final FitnessEvaluator SEQUENTIAL = new FitnessEvaluator() {
+		
+		@Override
+		public <C> void evaluate(List<? extends C> individuals, ToDoubleFunction<? super C> computeFitness,
+				double[] fitness) {
+			for (int i=0; i<individuals.size(); i++){
+				fitness[i] = evaluateOne(individuals, computeFitness, i);
+			}
+		}
+	};
+	
+	private static <C> double evaluateOne(List<? extends C> individuals, 
+			ToDoubleFunction<? super C> computeFitness, int index){
+		try {
+			return computeFitness.applyAsDouble(individuals.get(index));
+		} catch (RuntimeException e) {
+			throw new FitnessEvaluationException(index, e);
+		}
+	}
+	
+	private static ThreadFactory daemonThreads(){
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "fitness-evaluator-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+	
+	private static class ForkJoinEvaluator implements FitnessEvaluator {
+		private final ForkJoinPool pool;
+		private final boolean ownsPool;
+		
+		ForkJoinEvaluator(ForkJoinPool pool, boolean ownsPool){
+			this.pool = pool;
+			this.ownsPool = ownsPool;
+		}
+		
+		@Override
+		public <C> void evaluate(List<? extends C> individuals, ToDoubleFunction<? super C> computeFitness,
+				double[] fitness) {
+			int size = individuals.size();
+			int tasks = Math.min(size, pool.getParallelism() * TASKS_PER_THREAD);
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			RecursiveAction generation = new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					List<RecursiveAction> parts = new ArrayList<>(tasks);
+					for (int t=0; t<tasks; t++){
+						int from = (int) ((long) size * t / tasks);
+						int to = (int) ((long) size * (t + 1) / tasks);
+						parts.add(new RecursiveAction() {
+							private static final long serialVersionUID = 1L;
+
+							@Override
+							protected void compute() {
+								try {
+									for (int i=from; i<to && failure.get() == null; i++){
+										fitness[i] = evaluateOne(individuals, computeFitness, i);
+									}
+								} catch (Throwable e) {
+									failure.compareAndSet(null, e);
+								}
+							}
+						});
+					}
+					//the parts never throw, so invokeAll joins all of them
+					invokeAll(parts);
+				}
+			};
+			
+			if (ForkJoinTask.getPool() == pool)
+				generation.invoke();
+			else
+				pool.invoke(generation);
+			Throwable cause = failure.get();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+		}
+		
+		@Override
+		public void close() {
+			if (ownsPool)
+				pool.shutdownNow();
+		}
+	}
+	
+	private static class ExecutorEvaluator implements FitnessEvaluator {
+		private final ExecutorService executor;
+		private final int numTasks;
+		private final boolean ownsExecutor;
+		
+		ExecutorEvaluator(ExecutorService executor, int numTasks, boolean ownsExecutor){
+			this.executor = executor;
+			this.numTasks = numTasks;
+			this.ownsExecutor = ownsExecutor;
+		}
+
+		@Override
+		public <C> void evaluate(List<? extends C> individuals, ToDoubleFunction<? super C> computeFitness,
+				double[] fitness) {
+			int size = individuals.size();
+			int tasks = (numTasks <= 0) ? size : Math.min(size, numTasks);
+			CountDownLatch finished = new CountDownLatch(tasks);
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			
+			for (int t=0; t<tasks; t++){
+				int from = (int) ((long) size * t / tasks);
+				int to = (int) ((long) size * (t + 1) / tasks);
+				executor.execute(() -> {
+					try {
+						for (int i=from; i<to && failure.get() == null; i++){
+							fitness[i] = evaluateOne(individuals, computeFitness, i);
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					} finally {
+						finished.countDown();
+					}
+				});
+			}
+			
+			try {
+				finished.await();
+			} catch (InterruptedException e) {
+				failure.compareAndSet(null, new CancellationException("Fitness evaluation interrupted"));
+				awaitUninterruptibly(finished);
+				Thread.currentThread().interrupt();
+			}
+			Throwable cause = failure.get();
+			if (cause instanceof FitnessEvaluationException || cause instanceof CancellationException)
+				throw (RuntimeException) cause;
+			if (cause != null)
+				throw new IllegalStateException("Fitness evaluation failed", cause);
+		}
+		
+		/**
+		 * Waits for the evaluations in progress, which stop at the next individual
+		 */
+		private static void awaitUninterruptibly(CountDownLatch finished){
+			while (true){
+				try {
+					finished.await();
+					return;
+				} catch (InterruptedException e) {
+					//interrupt status restored by the caller
+				}
+			}
+		}
+		
+		@Override
+		public void close() {
+			if (ownsExecutor)
+				executor.shutdownNow();
+		}
+	}
+}
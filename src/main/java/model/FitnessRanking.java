@@ -0,0 +1,296 @@
+package model;
+
+/**
+ * Ranking of the individuals of a generation by fitness, rebuilt in O(n) whenever 
+ * the population assigns fitness values. It answers the fittest and least fit individuals in O(1),
+ * the k fittest or least fit in O(n log k) and fitness percentiles in O(n);
+ * the full order, needed for the rank of an individual and by rank-based selection, 
+ * is sorted at most once per generation and only when asked for.
+ * 
+ * Individuals with the same fitness are ranked by position, the lower position first;
+ * NaN fitness ranks last. Positions are those of the individuals in the population.
+ * The ranking is valid until the next generation.
+ */
+public class FitnessRanking {
+	private double[] fitness = new double[0];
+	private int size;
+	private int best = -1;
+	private int worst = -1;
+	private int[] order = new int[0];
+	private int[] ranks = new int[0];
+	private boolean ordered;
+	private boolean ranked;
+	private int[] heap = new int[0];
+	private double[] scratch = new double[0];
+	
+	/**
+	 * Ranks the first size values of fitness, which is kept by reference
+	 * @param fitness fitness[i] belongs to the individual in position i
+	 * @param size number of individuals
+	 */
+	public void update(double[] fitness, int size){
+		this.fitness = fitness;
+		this.size = size;
+		this.ordered = false;
+		this.ranked = false;
+		best = worst = (size > 0) ? 0 : -1;
+		for (int i=1; i<size; i++){
+			if (before(i, best))
+				best = i;
+			if (before(worst, i))
+				worst = i;
+		}
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return the fitness of the individual in position index
+	 */
+	public double getFitness(int index){
+		return fitness[index];
+	}
+	
+	double[] getFitnessValues(){
+		return fitness;
+	}
+	
+	/**
+	 * @return the position of the fittest individual, -1 if there are no individuals
+	 */
+	public int best(){
+		return best;
+	}
+	
+	/**
+	 * @return the position of the least fit individual, -1 if there are no individuals
+	 */
+	public int worst(){
+		return worst;
+	}
+	
+	/**
+	 * @param count number of wanted positions
+	 * @param indices destination, at least count long
+	 * @return the number of positions written in indices, fittest first
+	 */
+	public int top(int count, int[] indices){
+		return select(count, indices, true);
+	}
+	
+	/**
+	 * @param count number of wanted positions
+	 * @param indices destination, at least count long
+	 * @return the number of positions written in indices, least fit first
+	 */
+	public int bottom(int count, int[] indices){
+		return select(count, indices, false);
+	}
+	
+	/**
+	 * @return the rank of the individual in position index, 0 for the fittest
+	 */
+	public int rankOf(int index){
+		if (!ranked){
+			int[] order = order();
+			if (ranks.length < size)
+				ranks = new int[size];
+			for (int rank=0; rank<size; rank++){
+				ranks[order[rank]] = rank;
+			}
+			ranked = true;
+		}
+		return ranks[index];
+	}
+	
+	/**
+	 * @param rank from 0 for the fittest to size-1 for the least fit
+	 * @return the position of the individual with the given rank
+	 */
+	public int atRank(int rank){
+		return order()[rank];
+	}
+	
+	/**
+	 * Nearest-rank percentile: the lowest fitness greater or equal than 
+	 * the fitness of percentile per cent of the individuals
+	 * @param percentile between 0 and 100
+	 * @return the fitness at the given percentile, NaN if there are no individuals; 
+	 * 	NaN fitness values count as negative infinity
+	 */
+	public double percentile(double percentile){
+		if (percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException("Percentile must be in [0, 100], was " + percentile);
+		if (size == 0)
+			return Double.NaN;
+		//position in ascending order
+		int position = Math.max(0, (int) Math.ceil(percentile / 100 * size) - 1);
+		if (ordered)
+			return key(fitness[order[size - 1 - position]]);
+		
+		if (scratch.length < size)
+			scratch = new double[size];
+		for (int i=0; i<size; i++){
+			scratch[i] = key(fitness[i]);
+		}
+		return quickSelect(scratch, size, position);
+	}
+	
+	/**
+	 * @return positions of the individuals from the fittest to the least fit, 
+	 * 	sorted on the first call after an update
+	 */
+	int[] order(){
+		if (!ordered){
+			if (order.length < size)
+				order = new int[size];
+			for (int i=0; i<size; i++){
+				order[i] = i;
+			}
+			sort(0, size - 1);
+			ordered = true;
+		}
+		return order;
+	}
+	
+	private int select(int count, int[] indices, boolean fittest){
+		int wanted = Math.min(count, size);
+		if (ordered){
+			for (int i=0; i<wanted; i++){
+				indices[i] = order[fittest ? i : size - 1 - i];
+			}
+			return wanted;
+		}
+		if (wanted == 1){
+			indices[0] = fittest ? best : worst;
+			return 1;
+		}
+		
+		//heap of the wanted positions found so far, the one that would be dropped first at the root
+		if (heap.length < wanted)
+			heap = new int[wanted];
+		int found = 0;
+		for (int i=0; i<size; i++){
+			if (found < wanted){
+				heap[found] = i;
+				siftUp(found++, fittest);
+			}
+			else if (fittest ? before(i, heap[0]) : before(heap[0], i)){
+				heap[0] = i;
+				siftDown(0, wanted, fittest);
+			}
+		}
+		
+		for (int last=found-1; last>=0; last--){
+			indices[last] = heap[0];
+			heap[0] = heap[last];
+			siftDown(0, last, fittest);
+		}
+		return found;
+	}
+	
+	/**
+	 * @return whether a is dropped from the heap before b
+	 */
+	private boolean dropsFirst(int a, int b, boolean fittest){
+		return fittest ? before(b, a) : before(a, b);
+	}
+	
+	private void siftUp(int pos, boolean fittest){
+		int item = heap[pos];
+		while (pos > 0){
+			int parent = (pos - 1) >>> 1;
+			if (!dropsFirst(item, heap[parent], fittest))
+				break;
+			heap[pos] = heap[parent];
+			pos = parent;
+		}
+		heap[pos] = item;
+	}
+	
+	private void siftDown(int pos, int heapSize, boolean fittest){
+		int item = heap[pos];
+		while (true){
+			int child = 2 * pos + 1;
+			if (child >= heapSize)
+				break;
+			if (child + 1 < heapSize && dropsFirst(heap[child + 1], heap[child], fittest))
+				child++;
+			if (!dropsFirst(heap[child], item, fittest))
+				break;
+			heap[pos] = heap[child];
+			pos = child;
+		}
+		heap[pos] = item;
+	}
+	
+	/**
+	 * @return whether the individual in position a ranks before the one in position b
+	 */
+	private boolean before(int a, int b){
+		double fa = key(fitness[a]);
+		double fb = key(fitness[b]);
+		return fa > fb || (fa == fb && a < b);
+	}
+	
+	private static double key(double fitness){
+		return (fitness != fitness) ? Double.NEGATIVE_INFINITY : fitness;
+	}
+	
+	private void sort(int low, int high){
+		while (low < high){
+			int pivot = order[(low + high) >>> 1];
+			int i = low;
+			int j = high;
+			while (i <= j){
+				while (before(order[i], pivot)) i++;
+				while (before(pivot, order[j])) j--;
+				if (i <= j){
+					int tmp = order[i];
+					order[i++] = order[j];
+					order[j--] = tmp;
+				}
+			}
+			//recurse on the smaller half to bound the stack depth
+			if (j - low < high - i){
+				sort(low, j);
+				low = i;
+			}
+			else {
+				sort(i, high);
+				high = j;
+			}
+		}
+	}
+	
+	/**
+	 * @return the value that would be in position k if values[0, size) were sorted ascending
+	 */
+	private static double quickSelect(double[] values, int size, int k){
+		int low = 0;
+		int high = size - 1;
+		while (low < high){
+			double pivot = values[(low + high) >>> 1];
+			int i = low;
+			int j = high;
+			while (i <= j){
+				while (values[i] < pivot) i++;
+				while (values[j] > pivot) j--;
+				if (i <= j){
+					double tmp = values[i];
+					values[i++] = values[j];
+					values[j--] = tmp;
+				}
+			}
+			if (k <= j)
+				high = j;
+			else if (k >= i)
+				low = i;
+			else
+				return values[k];
+		}
+		return values[k];
+	}
+}
@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * Listener committing a @see src.main.java.model.GenerationEvent for every generation.
+ * It is the only class using the Flight Recorder API, loaded by @see src.main.java.model.GenerationListeners#flightRecorder()
+ * only on runtimes that have it.
+ */
+class FlightRecorderListener implements GenerationListener {
+	
+	@Override
+	public void generationCompleted(GenerationStats stats) {
+		GenerationEvent event = new GenerationEvent();
+		if (!event.shouldCommit())
+			return;
+		event.generation = stats.getGeneration();
+		event.selectionTime = stats.getSelectionTime();
+		event.crossoverTime = stats.getCrossoverTime();
+		event.mutationTime = stats.getMutationTime();
+		event.evaluationTime = stats.getEvaluationTime();
+		event.numEvaluations = stats.getNumberOfEvaluations();
+		event.numCacheHits = stats.getNumberOfCacheHits();
+		event.bestFitness = stats.getBestFitness();
+		event.meanFitness = stats.getMeanFitness();
+		event.fitnessStdDev = stats.getFitnessStdDev();
+		event.diversity = stats.getDiversity();
+		event.numScreenedOut = stats.getNumberOfScreenedOut();
+		event.surrogateError = stats.getSurrogateError();
+		event.commit();
+	}
+}
@@ -0,0 +1,176 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of genes stored in fixed-size chunks shared between sequences.
+ * Deriving a sequence never changes the original: a crossover point shares every chunk but the one
+ * containing the point, and an @see src.main.java.model.GeneSequence.Editor copies only the chunks it changes.
+ * Many chromos can therefore share the genes of a common ancestor safely, 
+ * paying memory only for their differences.
+ * 
+ * @param <T> the type of the genes
+ */
+public final class GeneSequence <T> extends AbstractList<T> implements RandomAccess {
+	static final int CHUNK_SIZE = 32;
+	private static final int CHUNK_SHIFT = 5;
+	private static final GeneSequence<Object> EMPTY = new GeneSequence<>(new Object[0][], 0);
+	
+	private final Object[][] chunks;
+	private final int size;
+	
+	private GeneSequence(Object[][] chunks, int size){
+		this.chunks = chunks;
+		this.size = size;
+	}
+	
+	/**
+	 * @param genes the genes, copied
+	 * @return a sequence of the given genes, genes itself if it is already a sequence
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> GeneSequence<T> of(List<? extends T> genes){
+		if (genes instanceof GeneSequence)
+			return (GeneSequence<T>) genes;
+		if (genes.isEmpty())
+			return (GeneSequence<T>) EMPTY;
+		
+		Object[][] chunks = new Object[numChunks(genes.size())][];
+		int i = 0;
+		for (int c=0; c<chunks.length; c++){
+			chunks[c] = new Object[Math.min(CHUNK_SIZE, genes.size() - i)];
+			for (int k=0; k<chunks[c].length; k++){
+				chunks[c][k] = genes.get(i++);
+			}
+		}
+		return new GeneSequence<>(chunks, genes.size());
+	}
+	
+	/**
+	 * Crossover point: head genes up to position, tail genes from position on
+	 * @param head sequence giving the genes before position
+	 * @param tail sequence giving the genes from position on, and the length of the result
+	 * @param position crossover point, not greater than the length of either sequence
+	 * @return the spliced sequence, sharing all the chunks of head and tail but at most one
+	 */
+	public static <T> GeneSequence<T> splice(GeneSequence<T> head, GeneSequence<T> tail, int position){
+		if (position < 0 || position > head.size || position > tail.size)
+			throw new IndexOutOfBoundsException("Crossover point " + position 
+					+ " for sequences of length " + head.size + " and " + tail.size);
+		if (position == 0)
+			return tail;
+		if (position == tail.size && head.size == tail.size)
+			return head;
+		
+		Object[][] chunks = tail.chunks.clone();
+		int boundary = position >>> CHUNK_SHIFT;
+		System.arraycopy(head.chunks, 0, chunks, 0, boundary);
+		int offset = position & (CHUNK_SIZE - 1);
+		if (offset != 0){
+			Object[] mixed = tail.chunks[boundary].clone();
+			System.arraycopy(head.chunks[boundary], 0, mixed, 0, offset);
+			chunks[boundary] = mixed;
+		}
+		return new GeneSequence<>(chunks, tail.size);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " of a sequence of length " + size);
+		return (T) chunks[index >>> CHUNK_SHIFT][index & (CHUNK_SIZE - 1)];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return a sequence equal to this one but for the gene in position index
+	 */
+	public GeneSequence<T> with(int index, T gene){
+		Editor<T> editor = edit();
+		editor.set(index, gene);
+		return editor.build();
+	}
+	
+	/**
+	 * @return an editor starting from the genes of this sequence, which is left unchanged
+	 */
+	public Editor<T> edit(){
+		return new Editor<>(this);
+	}
+	
+	/**
+	 * Builds a new sequence by changing some genes of a source sequence; 
+	 * each chunk is copied the first time one of its genes changes.
+	 * An editor must not be used after {@link #build()}.
+	 * 
+	 * @param <T> the type of the genes
+	 */
+	public static final class Editor <T> {
+		private Object[][] chunks;
+		private boolean[] copied;
+		private final int size;
+		
+		private Editor(GeneSequence<T> source){
+			this.chunks = source.chunks.clone();
+			this.copied = new boolean[chunks.length];
+			this.size = source.size;
+		}
+		
+		@SuppressWarnings("unchecked")
+		public T get(int index){
+			checkIndex(index);
+			return (T) chunks[index >>> CHUNK_SHIFT][index & (CHUNK_SIZE - 1)];
+		}
+		
+		/**
+		 * @return this editor
+		 */
+		public Editor<T> set(int index, T gene){
+			checkIndex(index);
+			int c = index >>> CHUNK_SHIFT;
+			if (Objects.equals(chunks[c][index & (CHUNK_SIZE - 1)], gene))
+				return this;
+			if (!copied[c]){
+				chunks[c] = chunks[c].clone();
+				copied[c] = true;
+			}
+			chunks[c][index & (CHUNK_SIZE - 1)] = gene;
+			return this;
+		}
+		
+		public int size(){
+			return size;
+		}
+		
+		/**
+		 * @return the edited sequence
+		 */
+		public GeneSequence<T> build(){
+			if (chunks == null)
+				throw new IllegalStateException("Sequence already built");
+			GeneSequence<T> sequence = new GeneSequence<>(chunks, size);
+			chunks = null;
+			copied = null;
+			return sequence;
+		}
+		
+		private void checkIndex(int index){
+			if (chunks == null)
+				throw new IllegalStateException("Sequence already built");
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException("Index " + index + " of a sequence of length " + size);
+		}
+	}
+	
+	private static int numChunks(int size){
+		return (size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+	}
+}
@@ -0,0 +1,62 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event committed by @see src.main.java.model.GenerationListeners#flightRecorder()
+ */
+@Name("model.Generation")
+@Label("Generation")
+@Category("Genetic Algorithms")
+@Description("Phase timings and fitness distribution of a generation")
+@StackTrace(false)
+class GenerationEvent extends Event {
+	@Label("Generation")
+	int generation;
+	
+	@Label("Selection Time")
+	@Timespan
+	long selectionTime;
+	
+	@Label("Crossover Time")
+	@Timespan
+	long crossoverTime;
+	
+	@Label("Mutation Time")
+	@Timespan
+	long mutationTime;
+	
+	@Label("Evaluation Time")
+	@Timespan
+	long evaluationTime;
+	
+	@Label("Evaluations")
+	int numEvaluations;
+	
+	@Label("Cache Hits")
+	int numCacheHits;
+	
+	@Label("Best Fitness")
+	double bestFitness;
+	
+	@Label("Mean Fitness")
+	double meanFitness;
+	
+	@Label("Fitness Standard Deviation")
+	double fitnessStdDev;
+	
+	@Label("Diversity")
+	double diversity;
+	
+	@Label("Screened Out")
+	int numScreenedOut;
+	
+	@Label("Surrogate Error")
+	double surrogateError;
+}
@@ -0,0 +1,15 @@
+package model;
+
+/**
+ * Notified at the end of every generation of the populations it is added to, 
+ * see @see src.main.java.model.AbstractPopulation#addGenerationListener(GenerationListener).
+ * Listeners run on the thread evolving the population, so they should return quickly.
+ * See @see src.main.java.model.GenerationListeners for the built-in ones.
+ */
+public interface GenerationListener {
+	
+	/**
+	 * @param stats measures of the generation just completed
+	 */
+	void generationCompleted(GenerationStats stats);
+}
@@ -0,0 +1,47 @@
+package model;
+
+import java.io.PrintStream;
+
+/**
+ * Built-in implementations of @see src.main.java.model.GenerationListener.
+ */
+public class GenerationListeners {
+	
+	private GenerationListeners() {};
+	
+	/**
+	 * @return a listener committing a model.Generation event to the Flight Recorder
+	 * 	for every generation, when the event is enabled in a running recording; 
+	 * 	on runtimes without the Flight Recorder, before Java 8 update 262, a listener doing nothing
+	 */
+	public static GenerationListener flightRecorder(){
+		return FLIGHT_RECORDER;
+	}
+	
+	/**
+	 * @param out where to print
+	 * @return a listener printing the stats of every generation on a line
+	 */
+	public static GenerationListener printing(PrintStream out){
+		return stats -> out.println(stats);
+	}
+	
+	/**
+	 * Loads the listener only if the Flight Recorder API exists, 
+	 * so that this class also links on older Java 8 runtimes
+	 */
+	private static GenerationListener loadFlightRecorder(){
+		try {
+			Class.forName("jdk.jfr.Event");
+		} catch (ClassNotFoundException e) {
+			return stats -> {};
+		}
+		try {
+			return (GenerationListener) Class.forName("model.FlightRecorderListener").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot load the Flight Recorder listener", e);
+		}
+	}
+	
+	private static final GenerationListener FLIGHT_RECORDER = loadFlightRecorder();
+}
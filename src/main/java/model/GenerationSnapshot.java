@@ -0,0 +1,37 @@
+package model;
+
+/**
+ * What a @see src.main.java.model.GenerationStream publishes after a generation: 
+ * its statistics and a copy of its fittest individual.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class GenerationSnapshot <C extends AbstractChromo> {
+	private final GenerationStats stats;
+	private final C fittestChromo;
+	
+	GenerationSnapshot(GenerationStats stats, C fittestChromo){
+		this.stats = stats;
+		this.fittestChromo = fittestChromo;
+	}
+	
+	public int getGeneration() {
+		return stats.getGeneration();
+	}
+	
+	public GenerationStats getStats() {
+		return stats;
+	}
+	
+	/**
+	 * @return a copy of the fittest individual of the generation, owned by the snapshot
+	 */
+	public C getFittestChromo() {
+		return fittestChromo;
+	}
+	
+	@Override
+	public String toString() {
+		return stats + ", fittest " + fittestChromo;
+	}
+}
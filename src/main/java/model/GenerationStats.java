@@ -0,0 +1,127 @@
+package model;
+
+/**
+ * Measures of a single generation: wall time of each phase in nanoseconds, 
+ * fitness evaluations, fitness distribution, a diversity estimate and the work of the surrogate model, if any.
+ * Selection time includes the elites, evaluation time includes the fitness cache lookups.
+ */
+public class GenerationStats {
+	private final int generation;
+	private final long selectionTime;
+	private final long crossoverTime;
+	private final long mutationTime;
+	private final long evaluationTime;
+	private final int numEvaluations;
+	private final int numCacheHits;
+	private final double bestFitness;
+	private final double meanFitness;
+	private final double fitnessStdDev;
+	private final double diversity;
+	private final int numScreenedOut;
+	private final double surrogateError;
+	
+	GenerationStats(int generation, long[] phaseTimes, int numEvaluations, int numCacheHits, 
+			double bestFitness, double meanFitness, double fitnessStdDev, double diversity, 
+			int numScreenedOut, double surrogateError){
+		this.generation = generation;
+		this.selectionTime = phaseTimes[0];
+		this.crossoverTime = phaseTimes[1];
+		this.mutationTime = phaseTimes[2];
+		this.evaluationTime = phaseTimes[3];
+		this.numEvaluations = numEvaluations;
+		this.numCacheHits = numCacheHits;
+		this.bestFitness = bestFitness;
+		this.meanFitness = meanFitness;
+		this.fitnessStdDev = fitnessStdDev;
+		this.diversity = diversity;
+		this.numScreenedOut = numScreenedOut;
+		this.surrogateError = surrogateError;
+	}
+	
+	/**
+	 * @return number of the generation, 1 for the first generation after the initial population
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+	
+	public long getSelectionTime() {
+		return selectionTime;
+	}
+	
+	public long getCrossoverTime() {
+		return crossoverTime;
+	}
+	
+	public long getMutationTime() {
+		return mutationTime;
+	}
+	
+	public long getEvaluationTime() {
+		return evaluationTime;
+	}
+	
+	public long getTotalTime() {
+		return selectionTime + crossoverTime + mutationTime + evaluationTime;
+	}
+	
+	/**
+	 * @return how many times the fitness function has been called in this generation
+	 */
+	public int getNumberOfEvaluations() {
+		return numEvaluations;
+	}
+	
+	/**
+	 * @return how many changed individuals took their fitness from the cache
+	 */
+	public int getNumberOfCacheHits() {
+		return numCacheHits;
+	}
+	
+	public double getBestFitness() {
+		return bestFitness;
+	}
+	
+	public double getMeanFitness() {
+		return meanFitness;
+	}
+	
+	public double getFitnessStdDev() {
+		return fitnessStdDev;
+	}
+	
+	/**
+	 * @return fraction of distinct genomes in a sample of the individuals, 
+	 * 	1 when they all differ, close to 0 when the population has converged
+	 */
+	public double getDiversity() {
+		return diversity;
+	}
+
+	/**
+	 * @return how many offspring the surrogate model replaced by their parent, 
+	 * 	each one a true evaluation saved
+	 */
+	public int getNumberOfScreenedOut() {
+		return numScreenedOut;
+	}
+	
+	/**
+	 * @return mean absolute difference between the fitness predicted by the surrogate model 
+	 * 	and the true fitness of the evaluated offspring, NaN without predictions
+	 */
+	public double getSurrogateError() {
+		return surrogateError;
+	}
+
+	@Override
+	public String toString() {
+		String surrogate = Double.isNaN(surrogateError) ? "" 
+				: String.format(", %d screened out, surrogate error %.4f", numScreenedOut, surrogateError);
+		return String.format("generation %d: best %.4f, mean %.4f, std dev %.4f, diversity %.2f, "
+				+ "%d evaluations, %d cache hits, selection %d us, crossover %d us, mutation %d us, evaluation %d us", 
+				generation, bestFitness, meanFitness, fitnessStdDev, diversity, numEvaluations, numCacheHits,
+				selectionTime/1000, crossoverTime/1000, mutationTime/1000, evaluationTime/1000) + surrogate;
+	}
+}
@@ -0,0 +1,115 @@
+package model;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Publishes a @see src.main.java.model.GenerationSnapshot of a population after every generation, 
+ * to be consumed lazily from other threads through {@link #iterator()} or {@link #stream()}.
+ * The generation loop only copies the fittest individual and never waits for the consumers: 
+ * a consumer slower than the evolution skips to the latest snapshot, so backpressure 
+ * drops intermediate generations instead of queuing them.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class GenerationStream <C extends AbstractChromo> implements GenerationListener, Closeable {
+	private final AbstractPopulation<C> population;
+	private final Object lock = new Object();
+	private GenerationSnapshot<C> latest;
+	private boolean closed;
+	
+	/**
+	 * Starts publishing the generations of population
+	 * @param population the observed population
+	 */
+	public GenerationStream(AbstractPopulation<C> population){
+		this.population = population;
+		population.addGenerationListener(this);
+	}
+	
+	@Override
+	public void generationCompleted(GenerationStats stats) {
+		GenerationSnapshot<C> snapshot = new GenerationSnapshot<C>(stats, population.getFittestChromo());
+		synchronized (lock) {
+			latest = snapshot;
+			lock.notifyAll();
+		}
+	}
+	
+	/**
+	 * @return the snapshot of the last generation, null if none has completed yet
+	 */
+	public GenerationSnapshot<C> getLatest() {
+		synchronized (lock) {
+			return latest;
+		}
+	}
+	
+	/**
+	 * Each iterator returns the latest snapshot newer than the one it returned before, 
+	 * waiting for the next generation when there is none; it ends once the stream is closed 
+	 * and the last snapshot has been returned.
+	 * Interrupting a waiting consumer ends its iterator.
+	 * @return a new iterator starting from the next generation
+	 */
+	public Iterator<GenerationSnapshot<C>> iterator() {
+		return new Iterator<GenerationSnapshot<C>>() {
+			private GenerationSnapshot<C> last = getLatest();
+			private GenerationSnapshot<C> next;
+			
+			@Override
+			public boolean hasNext() {
+				if (next != null)
+					return true;
+				synchronized (lock) {
+					try {
+						while (latest == last && !closed){
+							lock.wait();
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return false;
+					}
+					if (latest == last)
+						return false;
+					next = last = latest;
+					return true;
+				}
+			}
+			
+			@Override
+			public GenerationSnapshot<C> next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				GenerationSnapshot<C> snapshot = next;
+				next = null;
+				return snapshot;
+			}
+		};
+	}
+	
+	/**
+	 * @return a sequential stream over a new {@link #iterator()}
+	 */
+	public Stream<GenerationSnapshot<C>> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), 
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+	
+	/**
+	 * Stops publishing: the iterators end after the last snapshot
+	 */
+	@Override
+	public void close() {
+		population.removeGenerationListener(this);
+		synchronized (lock) {
+			closed = true;
+			lock.notifyAll();
+		}
+	}
+}
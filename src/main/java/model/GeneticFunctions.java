@@ -2,14 +2,18 @@ package model;
 
 import java.util.List;
 import java.util.Random;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.DoubleSupplier;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class GeneticFunctions {
 	final static int GENE_LEN = 100;
 	final static int GENE_BOUND = 100;
+	final static double MUTATION_RATE = 0.2;
 	
 	private GeneticFunctions() {};
 	
@@ -35,19 +39,62 @@ public class GeneticFunctions {
 		}
 	};
 	public static BiFunction<Random, Chromo<Integer>, Chromo<Integer>> mutateIntGenes = 
-			new BiFunction<Random, Chromo<Integer>, Chromo<Integer>>() {
+			mutateIntGenes(() -> MUTATION_RATE);
+	
+	/**
+	 * @param mutationRate probability of mutating each gene, read once per chromo, 
+	 * 	for example @see src.main.java.model.AdaptiveRates#getMutationRate()
+	 */
+	public static BiFunction<Random, Chromo<Integer>, Chromo<Integer>> mutateIntGenes(DoubleSupplier mutationRate){
+		return new BiFunction<Random, Chromo<Integer>, Chromo<Integer>>() {
 				
 				@Override
 				public Chromo<Integer> apply(Random rand, Chromo<Integer> chromo) {
-					List<Integer> genes = chromo.getGenes().stream()
-						.map(gene -> {
-							if (rand.nextDouble() > 0.2)
-								return gene;
-							else
-								return rand.nextInt(GeneticFunctions.GENE_BOUND);
-						})
-						.collect(Collectors.toList());
-					return new Chromo<Integer>(genes, 0);
+					double rate = mutationRate.getAsDouble();
+					GeneSequence.Editor<Integer> genes = chromo.getGenes().edit();
+					if (rate > 0){
+						//only the chunks holding a mutated gene are copied
+						double logKeep = Mutations.logKeep(rate);
+						int length = genes.size();
+						for (int i=Mutations.nextLocus(rand, 0, length, logKeep); i<length; 
+								i=Mutations.nextLocus(rand, i + 1, length, logKeep)){
+							genes.set(i, rand.nextInt(GeneticFunctions.GENE_BOUND));
+						}
+					}
+					return new Chromo<Integer>(genes.build(), 0);
 				}
+		};
+	}
+	
+	public static Function<Random, IntChromo> makeRandomIntArrayChromo = 
+			new Function<Random, IntChromo>() {
+		
+		@Override
+		public IntChromo apply(Random rand) {
+			int[] genes = new int[GENE_LEN];
+			for (int i=0; i<GENE_LEN; i++){
+				genes[i] = rand.nextInt(GENE_BOUND);
+			}
+			return new IntChromo(genes);
+		}
 	};
+	public static ToDoubleFunction<IntChromo> computeIntArrayFitness = 
+			new ToDoubleFunction<IntChromo>() {
+		
+		@Override
+		public double applyAsDouble(IntChromo chromo) {
+			return chromo.countAbove(50);
+		}
+	};
+	public static BiConsumer<Random, IntChromo> mutateIntArrayGenes = 
+			mutateIntArrayGenes(() -> MUTATION_RATE);
+	
+	/**
+	 * @param mutationRate probability of mutating each gene, read once per chromo, 
+	 * 	for example @see src.main.java.model.AdaptiveRates#getMutationRate()
+	 * @see src.main.java.model.Mutations#uniformReset(DoubleSupplier, int)
+	 */
+	public static BiConsumer<Random, IntChromo> mutateIntArrayGenes(DoubleSupplier mutationRate){
+		return Mutations.uniformReset(mutationRate, GENE_BOUND);
+	}
 }
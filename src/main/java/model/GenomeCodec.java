@@ -0,0 +1,19 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary encoding of the genes of a chromo, used to ship chromos to fitness workers 
+ * and to write checkpoints. Only the genes are encoded.
+ * See @see src.main.java.model.GenomeCodecs for the primitive chromos.
+ * 
+ * @param <C> the type of the chromos
+ */
+public interface GenomeCodec<C extends AbstractChromo> {
+	
+	void write(C chromo, DataOutput out) throws IOException;
+	
+	C read(DataInput in) throws IOException;
+}
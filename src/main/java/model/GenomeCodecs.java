@@ -0,0 +1,96 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Compact codecs for the primitive chromos.
+ * Int genes are written as zig-zag variable length integers, 
+ * so that the small genes of most problems take a single byte.
+ */
+public class GenomeCodecs {
+	
+	private GenomeCodecs() {};
+	
+	public static final GenomeCodec<IntChromo> INT = new GenomeCodec<IntChromo>() {
+		
+		@Override
+		public void write(IntChromo chromo, DataOutput out) throws IOException {
+			writeVarInt(out, chromo.length());
+			for (int i=0; i<chromo.length(); i++){
+				writeVarInt(out, (chromo.get(i) << 1) ^ (chromo.get(i) >> 31));
+			}
+		}
+		
+		@Override
+		public IntChromo read(DataInput in) throws IOException {
+			int[] genes = new int[readVarInt(in)];
+			for (int i=0; i<genes.length; i++){
+				int zigZag = readVarInt(in);
+				genes[i] = (zigZag >>> 1) ^ -(zigZag & 1);
+			}
+			return new IntChromo(genes);
+		}
+	};
+	
+	public static final GenomeCodec<DoubleChromo> DOUBLE = new GenomeCodec<DoubleChromo>() {
+		
+		@Override
+		public void write(DoubleChromo chromo, DataOutput out) throws IOException {
+			writeVarInt(out, chromo.length());
+			for (int i=0; i<chromo.length(); i++){
+				out.writeDouble(chromo.get(i));
+			}
+		}
+		
+		@Override
+		public DoubleChromo read(DataInput in) throws IOException {
+			double[] genes = new double[readVarInt(in)];
+			for (int i=0; i<genes.length; i++){
+				genes[i] = in.readDouble();
+			}
+			return new DoubleChromo(genes);
+		}
+	};
+	
+	public static final GenomeCodec<BitChromo> BIT = new GenomeCodec<BitChromo>() {
+		
+		@Override
+		public void write(BitChromo chromo, DataOutput out) throws IOException {
+			writeVarInt(out, chromo.length());
+			for (long word : chromo.toArray()){
+				out.writeLong(word);
+			}
+		}
+		
+		@Override
+		public BitChromo read(DataInput in) throws IOException {
+			int length = readVarInt(in);
+			long[] words = new long[(length + 63) / 64];
+			for (int i=0; i<words.length; i++){
+				words[i] = in.readLong();
+			}
+			return new BitChromo(words, length, 0);
+		}
+	};
+	
+	static void writeVarInt(DataOutput out, int value) throws IOException {
+		while ((value & ~0x7F) != 0){
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+	
+	static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+		for (int shift=0; shift<35; shift+=7){
+			byte b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+}
@@ -0,0 +1,69 @@
+package model;
+
+/**
+ * The array loops behind the operators of the primitive chromos.
+ * Genes are given as an array and the offset of the first gene, since chromos may be rows of a matrix.
+ * Masks are packed as the genes of a @see src.main.java.model.BitChromo:
+ * gene i is selected by bit (i % 64) of mask[i / 64].
+ * Methods returning a boolean tell whether any gene changed.
+ *
+ * See @see src.main.java.model.GenomeKernels for the available implementations.
+ */
+public interface GenomeKernel {
+
+	/**
+	 * Exchanges length genes of a and b
+	 */
+	boolean swap(int[] a, int aOffset, int[] b, int bOffset, int length);
+
+	boolean swap(double[] a, int aOffset, double[] b, int bOffset, int length);
+
+	boolean swap(long[] a, int aOffset, long[] b, int bOffset, int words);
+
+	/**
+	 * Exchanges the genes of a and b selected by mask
+	 */
+	boolean swapMasked(int[] a, int aOffset, int[] b, int bOffset, long[] mask, int length);
+
+	boolean swapMasked(double[] a, int aOffset, double[] b, int bOffset, long[] mask, int length);
+
+	boolean swapMasked(long[] a, int aOffset, long[] b, int bOffset, long[] mask, int words);
+
+	/**
+	 * Replaces the genes selected by mask with the values in the same positions
+	 */
+	boolean replaceMasked(int[] genes, int offset, int[] values, long[] mask, int length);
+
+	boolean replaceMasked(double[] genes, int offset, double[] values, long[] mask, int length);
+
+	/**
+	 * Flips the bits selected by mask
+	 */
+	boolean flipMasked(long[] bits, int offset, long[] mask, int words);
+
+	/**
+	 * @return the number of genes greater than threshold
+	 */
+	int countAbove(int[] genes, int offset, int length, int threshold);
+
+	int countAbove(double[] genes, int offset, int length, double threshold);
+
+	long sum(int[] genes, int offset, int length);
+
+	/**
+	 * @return the sum of the genes, possibly added in a different order than the genes
+	 */
+	double sum(double[] genes, int offset, int length);
+
+	/**
+	 * @return the number of positions whose genes differ
+	 */
+	int hammingDistance(int[] a, int aOffset, int[] b, int bOffset, int length);
+
+	int hammingDistance(long[] a, int aOffset, long[] b, int bOffset, int words);
+
+	/**
+	 * @return the number of set bits in the given words
+	 */
+	int bitCount(long[] bits, int offset, int words);
+}
@@ -0,0 +1,266 @@
+package model;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Implementations of @see src.main.java.model.GenomeKernel.
+ * The primitive chromos use {@link #get()}: the first kernel registered as a
+ * {@link ServiceLoader} provider that can be loaded by the running JVM,
+ * the plain loops of {@link #SCALAR} otherwise.
+ * The vector module of this project registers a kernel built on the JDK vector API,
+ * which is loaded only by a recent JVM started with {@code --add-modules jdk.incubator.vector}.
+ */
+public class GenomeKernels {
+
+	private GenomeKernels() {};
+
+	private static class Loaded {
+		static final GenomeKernel KERNEL = load();
+	}
+
+	/**
+	 * @return the kernel used by the primitive chromos
+	 */
+	public static GenomeKernel get(){
+		return Loaded.KERNEL;
+	}
+
+	private static GenomeKernel load(){
+		Iterator<GenomeKernel> providers = ServiceLoader.load(GenomeKernel.class).iterator();
+		while (true){
+			try {
+				if (!providers.hasNext())
+					return SCALAR;
+				return providers.next();
+			} catch (ServiceConfigurationError | LinkageError e) {
+				//built for a newer JVM or missing its modules, try the next one
+			}
+		}
+	}
+
+	/**
+	 * @param rand
+	 * @param length number of genes
+	 * @param rate probability of selecting each gene
+	 * @return a mask selecting each of the length genes with the given probability
+	 */
+	public static long[] randomMask(Random rand, int length, double rate){
+		long[] mask = new long[BitChromo.wordsFor(length)];
+		for (int w=0; w<mask.length; w++){
+			if (rate == 0.5)
+				mask[w] = rand.nextLong();
+			else {
+				for (int b=0; b<64; b++){
+					if (rand.nextDouble() < rate)
+						mask[w] |= 1L << b;
+				}
+			}
+		}
+		if (length % 64 != 0)
+			mask[mask.length - 1] &= (1L << length) - 1;
+		return mask;
+	}
+
+	private static boolean selected(long[] mask, int i){
+		return (mask[i >>> 6] & (1L << i)) != 0;
+	}
+
+	public static final GenomeKernel SCALAR = new GenomeKernel() {
+
+		@Override
+		public boolean swap(int[] a, int aOffset, int[] b, int bOffset, int length) {
+			boolean changed = false;
+			int tmp;
+			for (int i=0; i<length; i++){
+				tmp = a[aOffset + i];
+				if (tmp != b[bOffset + i]){
+					a[aOffset + i] = b[bOffset + i];
+					b[bOffset + i] = tmp;
+					changed = true;
+				}
+			}
+			return changed;
+		}
+
+		@Override
+		public boolean swap(double[] a, int aOffset, double[] b, int bOffset, int length) {
+			boolean changed = false;
+			double tmp;
+			for (int i=0; i<length; i++){
+				tmp = a[aOffset + i];
+				if (tmp != b[bOffset + i]){
+					a[aOffset + i] = b[bOffset + i];
+					b[bOffset + i] = tmp;
+					changed = true;
+				}
+			}
+			return changed;
+		}
+
+		@Override
+		public boolean swap(long[] a, int aOffset, long[] b, int bOffset, int words) {
+			boolean changed = false;
+			long tmp;
+			for (int i=0; i<words; i++){
+				tmp = a[aOffset + i];
+				if (tmp != b[bOffset + i]){
+					a[aOffset + i] = b[bOffset + i];
+					b[bOffset + i] = tmp;
+					changed = true;
+				}
+			}
+			return changed;
+		}
+
+		@Override
+		public boolean swapMasked(int[] a, int aOffset, int[] b, int bOffset, long[] mask, int length) {
+			boolean changed = false;
+			int tmp;
+			for (int i=0; i<length; i++){
+				tmp = a[aOffset + i];
+				if (selected(mask, i) && tmp != b[bOffset + i]){
+					a[aOffset + i] = b[bOffset + i];
+					b[bOffset + i] = tmp;
+					changed = true;
+				}
+			}
+			return changed;
+		}
+
+		@Override
+		public boolean swapMasked(double[] a, int aOffset, double[] b, int bOffset, long[] mask, int length) {
+			boolean changed = false;
+			double tmp;
+			for (int i=0; i<length; i++){
+				tmp = a[aOffset + i];
+				if (selected(mask, i) && tmp != b[bOffset + i]){
+					a[aOffset + i] = b[bOffset + i];
+					b[bOffset + i] = tmp;
+					changed = true;
+				}
+			}
+			return changed;
+		}
+
+		@Override
+		public boolean swapMasked(long[] a, int aOffset, long[] b, int bOffset, long[] mask, int words) {
+			long changed = 0;
+			long diff;
+			for (int i=0; i<words; i++){
+				diff = (a[aOffset + i] ^ b[bOffset + i]) & mask[i];
+				a[aOffset + i] ^= diff;
+				b[bOffset + i] ^= diff;
+				changed |= diff;
+			}
+			return changed != 0;
+		}
+
+		@Override
+		public boolean replaceMasked(int[] genes, int offset, int[] values, long[] mask, int length) {
+			boolean changed = false;
+			for (int i=0; i<length; i++){
+				if (selected(mask, i) && genes[offset + i] != values[i]){
+					genes[offset + i] = values[i];
+					changed = true;
+				}
+			}
+			return changed;
+		}
+
+		@Override
+		public boolean replaceMasked(double[] genes, int offset, double[] values, long[] mask, int length) {
+			boolean changed = false;
+			for (int i=0; i<length; i++){
+				if (selected(mask, i) && genes[offset + i] != values[i]){
+					genes[offset + i] = values[i];
+					changed = true;
+				}
+			}
+			return changed;
+		}
+
+		@Override
+		public boolean flipMasked(long[] bits, int offset, long[] mask, int words) {
+			long changed = 0;
+			for (int i=0; i<words; i++){
+				bits[offset + i] ^= mask[i];
+				changed |= mask[i];
+			}
+			return changed != 0;
+		}
+
+		@Override
+		public int countAbove(int[] genes, int offset, int length, int threshold) {
+			int count = 0;
+			for (int i=offset; i<offset + length; i++){
+				if (genes[i] > threshold)
+					count++;
+			}
+			return count;
+		}
+
+		@Override
+		public int countAbove(double[] genes, int offset, int length, double threshold) {
+			int count = 0;
+			for (int i=offset; i<offset + length; i++){
+				if (genes[i] > threshold)
+					count++;
+			}
+			return count;
+		}
+
+		@Override
+		public long sum(int[] genes, int offset, int length) {
+			long sum = 0;
+			for (int i=offset; i<offset + length; i++){
+				sum += genes[i];
+			}
+			return sum;
+		}
+
+		@Override
+		public double sum(double[] genes, int offset, int length) {
+			double sum = 0;
+			for (int i=offset; i<offset + length; i++){
+				sum += genes[i];
+			}
+			return sum;
+		}
+
+		@Override
+		public int hammingDistance(int[] a, int aOffset, int[] b, int bOffset, int length) {
+			int distance = 0;
+			for (int i=0; i<length; i++){
+				if (a[aOffset + i] != b[bOffset + i])
+					distance++;
+			}
+			return distance;
+		}
+
+		@Override
+		public int hammingDistance(long[] a, int aOffset, long[] b, int bOffset, int words) {
+			int distance = 0;
+			for (int i=0; i<words; i++){
+				distance += Long.bitCount(a[aOffset + i] ^ b[bOffset + i]);
+			}
+			return distance;
+		}
+
+		@Override
+		public int bitCount(long[] bits, int offset, int words) {
+			int count = 0;
+			for (int i=offset; i<offset + words; i++){
+				count += Long.bitCount(bits[i]);
+			}
+			return count;
+		}
+
+		@Override
+		public String toString() {
+			return "scalar";
+		}
+	};
+}
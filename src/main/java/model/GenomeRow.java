@@ -0,0 +1,64 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A cursor on a genome of a @see src.main.java.model.GenomeStore,
+ * through which the functions of a @see src.main.java.model.OffHeapPopulation read and change the genes in place.
+ * The population moves the same few cursors from row to row, so a cursor must not be kept
+ * after the call it was given to; use {@link #toArray()} to keep the genes.
+ */
+public class GenomeRow {
+	private GenomeStore store;
+	private int row;
+
+	GenomeRow(){}
+
+	GenomeRow(GenomeStore store, int row){
+		moveTo(store, row);
+	}
+
+	GenomeRow moveTo(GenomeStore store, int row){
+		this.store = store;
+		this.row = row;
+		return this;
+	}
+
+	public int get(int index){
+		return store.get(row, index);
+	}
+
+	public void set(int index, int gene){
+		store.set(row, index, gene);
+	}
+
+	/**
+	 * @return number of genes
+	 */
+	public int length(){
+		return store.getLength();
+	}
+
+	public double getFitness(){
+		return store.getFitness(row);
+	}
+
+	/**
+	 * @return index of the genome in its store
+	 */
+	public int getRow(){
+		return row;
+	}
+
+	/**
+	 * @return a copy of the genes
+	 */
+	public int[] toArray(){
+		return store.toArray(row);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray()) + " " + getFitness();
+	}
+}
@@ -0,0 +1,205 @@
+package model;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-width int genomes and their fitness stored outside of the heap, one row per genome,
+ * in direct buffers or in a memory-mapped file.
+ * The heap only holds a few buffer objects, whatever the number of rows,
+ * and the rows are split into segments of at most {@value #SEGMENT_BYTES} bytes,
+ * so a store can exceed the 2 GB limit of a single buffer.
+ * Reads and writes of different rows can run on different threads;
+ * the bulk operations (copy, swap) must run on a single thread at a time.
+ * See @see src.main.java.model.OffHeapPopulation.
+ */
+public class GenomeStore {
+	private static final int SEGMENT_BYTES = 1 << 30;
+	private static final int FITNESS_BYTES = Double.BYTES;
+
+	private final int rows;
+	private final int length;
+	private final int rowBytes;
+	private final int rowsPerSegment;
+	private final ByteBuffer[] segments;
+	//positioned views of the segments, for the bulk operations
+	private final ByteBuffer[] views;
+	private final byte[] scratch;
+
+	private GenomeStore(int rows, int length, ByteBuffer[] segments, int rowsPerSegment){
+		this.rows = rows;
+		this.length = length;
+		this.rowBytes = rowBytes(length);
+		this.rowsPerSegment = rowsPerSegment;
+		this.segments = segments;
+		this.views = new ByteBuffer[segments.length];
+		for (int s=0; s<segments.length; s++){
+			segments[s].order(ByteOrder.nativeOrder());
+			views[s] = segments[s].duplicate();
+		}
+		this.scratch = new byte[2 * rowBytes];
+	}
+
+	private static int rowBytes(int length){
+		return FITNESS_BYTES + length * Integer.BYTES;
+	}
+
+	private static int rowsPerSegment(int length){
+		if (rowBytes(length) > SEGMENT_BYTES)
+			throw new IllegalArgumentException("Genomes of " + length + " genes do not fit a segment");
+		return SEGMENT_BYTES / rowBytes(length);
+	}
+
+	private static int segmentsFor(int rows, int rowsPerSegment){
+		return (rows + rowsPerSegment - 1) / rowsPerSegment;
+	}
+
+	/**
+	 * @param rows number of genomes
+	 * @param length number of genes of each genome
+	 * @return a store in direct buffers, with every gene and fitness 0
+	 */
+	public static GenomeStore allocate(int rows, int length){
+		int rowsPerSegment = rowsPerSegment(length);
+		ByteBuffer[] segments = new ByteBuffer[segmentsFor(rows, rowsPerSegment)];
+		for (int s=0; s<segments.length; s++){
+			int segmentRows = Math.min(rowsPerSegment, rows - s * rowsPerSegment);
+			segments[s] = ByteBuffer.allocateDirect(segmentRows * rowBytes(length));
+		}
+		return new GenomeStore(rows, length, segments, rowsPerSegment);
+	}
+
+	/**
+	 * Maps a file as a store, so that the operating system pages the genomes in and out of memory.
+	 * The file is created or extended as needed and keeps the genomes after the store is discarded,
+	 * in the native byte order.
+	 * @param file the file holding the rows
+	 * @param rows number of genomes
+	 * @param length number of genes of each genome
+	 * @return a store backed by file
+	 */
+	public static GenomeStore map(Path file, int rows, int length) throws IOException {
+		int rowsPerSegment = rowsPerSegment(length);
+		ByteBuffer[] segments = new ByteBuffer[segmentsFor(rows, rowsPerSegment)];
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)){
+			for (int s=0; s<segments.length; s++){
+				int segmentRows = Math.min(rowsPerSegment, rows - s * rowsPerSegment);
+				segments[s] = channel.map(MapMode.READ_WRITE, (long) s * rowsPerSegment * rowBytes(length),
+						(long) segmentRows * rowBytes(length));
+			}
+		}
+		return new GenomeStore(rows, length, segments, rowsPerSegment);
+	}
+
+	private ByteBuffer segment(int row){
+		return segments[row / rowsPerSegment];
+	}
+
+	private int offset(int row){
+		return (row % rowsPerSegment) * rowBytes;
+	}
+
+	/**
+	 * @return the position in the segment of row of the gene at index, 
+	 * 	which must be checked since the genes of a row are followed by the fitness of the next one
+	 */
+	private int geneOffset(int row, int index){
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Gene " + index + " of a genome of " + length + " genes");
+		return offset(row) + FITNESS_BYTES + index * Integer.BYTES;
+	}
+
+	public int get(int row, int index){
+		return segment(row).getInt(geneOffset(row, index));
+	}
+
+	public void set(int row, int index, int gene){
+		segment(row).putInt(geneOffset(row, index), gene);
+	}
+
+	public double getFitness(int row){
+		return segment(row).getDouble(offset(row));
+	}
+
+	public void setFitness(int row, double fitness){
+		segment(row).putDouble(offset(row), fitness);
+	}
+
+	/**
+	 * Copies genes and fitness of a row of source into a row of this store, in bulk
+	 * @param source a store with genomes of the same length, possibly this one
+	 * @param sourceRow the row to copy
+	 * @param row the row overwritten
+	 */
+	public void copyRow(GenomeStore source, int sourceRow, int row){
+		ByteBuffer from = source.view(sourceRow, 0, rowBytes);
+		if (source == this){
+			from.get(scratch, 0, rowBytes);
+			view(row, 0, rowBytes).put(scratch, 0, rowBytes);
+		}
+		else
+			view(row, 0, rowBytes).put(from);
+	}
+
+	/**
+	 * Exchanges the genes of two rows from position onwards, in bulk
+	 */
+	public void swapTail(int row1, int row2, int position){
+		int start = FITNESS_BYTES + position * Integer.BYTES;
+		int bytes = rowBytes - start;
+		view(row1, start, bytes).get(scratch, 0, bytes);
+		view(row2, start, bytes).get(scratch, bytes, bytes);
+		view(row1, start, bytes).put(scratch, bytes, bytes);
+		view(row2, start, bytes).put(scratch, 0, bytes);
+	}
+
+	/**
+	 * @return the view of the segment holding row, positioned on bytes bytes of the row from start
+	 */
+	private ByteBuffer view(int row, int start, int bytes){
+		ByteBuffer view = views[row / rowsPerSegment];
+		//through Buffer, whose limit and position also exist on Java 8
+		((Buffer) view).limit(offset(row) + start + bytes).position(offset(row) + start);
+		return view;
+	}
+
+	/**
+	 * @return a copy of the genes of row
+	 */
+	public int[] toArray(int row){
+		int[] genes = new int[length];
+		for (int i=0; i<length; i++){
+			genes[i] = get(row, i);
+		}
+		return genes;
+	}
+
+	/**
+	 * Writes the changes of a mapped store to its file
+	 */
+	public void flush(){
+		for (ByteBuffer segment : segments){
+			if (segment instanceof MappedByteBuffer)
+				((MappedByteBuffer) segment).force();
+		}
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return number of genes of each genome
+	 */
+	public int getLength() {
+		return length;
+	}
+}
@@ -0,0 +1,113 @@
+package model;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Fitness function of @see src.main.java.model.IntChromo evaluating a @see src.main.java.model.SequentialFitness
+ * incrementally.
+ * Every interval genes the state of an evaluation is kept as a checkpoint in the chromo, 
+ * and copies of the chromo carry it on. 
+ * Crossover and mutation record the first gene they change, so that an offspring 
+ * resumes from the last checkpoint of its parent before that gene, 
+ * and is not evaluated at all when its parent stopped before it.
+ * Can be used concurrently by the parallel evaluators: checkpoints are never modified.
+ */
+public class IncrementalFitness<S> implements ToDoubleFunction<IntChromo> {
+	private final SequentialFitness<S> fitness;
+	private final int interval;
+	private final LongAdder steps = new LongAdder();
+	private final LongAdder evaluations = new LongAdder();
+	
+	/**
+	 * @param fitness the sequential fitness function
+	 * @param interval number of genes between checkpoints: 
+	 * 	shorter intervals replay fewer genes but copy more states
+	 */
+	public IncrementalFitness(SequentialFitness<S> fitness, int interval){
+		if (interval < 1)
+			throw new IllegalArgumentException("Checkpoint interval " + interval);
+		this.fitness = fitness;
+		this.interval = interval;
+	}
+	
+	/**
+	 * The states reached by an evaluation
+	 */
+	private static final class Trace {
+		final Object[] checkpoints;
+		final int length;
+		final int end;
+		final double fitness;
+		
+		Trace(Object[] checkpoints, int length, int end, double fitness){
+			this.checkpoints = checkpoints;
+			this.length = length;
+			this.end = end;
+			this.fitness = fitness;
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public double applyAsDouble(IntChromo chromo) {
+		evaluations.increment();
+		Object previous = chromo.getTrace();
+		int first = chromo.getFirstChanged();
+		Trace trace = previous instanceof Trace && ((Trace) previous).length == chromo.length() ? (Trace) previous : null;
+		
+		//the evaluation stopped before the changed genes
+		if (trace != null && trace.end <= first){
+			chromo.setTrace(trace);
+			return trace.fitness;
+		}
+		
+		int resumed = trace == null ? 0 : Math.min(first / interval, trace.checkpoints.length - 1);
+		Object[] checkpoints = new Object[chromo.length() / interval + 1];
+		S state;
+		if (resumed == 0){
+			state = fitness.start();
+			checkpoints[0] = fitness.copy(state);
+		}
+		else {
+			System.arraycopy(trace.checkpoints, 0, checkpoints, 0, resumed + 1);
+			state = fitness.copy((S) checkpoints[resumed]);
+		}
+		
+		int i = resumed * interval;
+		boolean going = true;
+		while (going && i < chromo.length()){
+			going = fitness.step(state, chromo.get(i));
+			i++;
+			if (going && i % interval == 0)
+				checkpoints[i / interval] = fitness.copy(state);
+		}
+		steps.add(i - resumed * interval);
+		
+		//only the checkpoints before the end of the evaluation are kept
+		int kept = going ? checkpoints.length : (i - 1) / interval + 1;
+		if (kept < checkpoints.length){
+			Object[] reached = new Object[kept];
+			System.arraycopy(checkpoints, 0, reached, 0, kept);
+			checkpoints = reached;
+		}
+		double value = fitness.fitness(state);
+		chromo.setTrace(new Trace(checkpoints, chromo.length(), going ? chromo.length() : i, value));
+		return value;
+	}
+	
+	/**
+	 * @return number of evaluated chromos
+	 */
+	public long getNumberOfEvaluations(){
+		return evaluations.sum();
+	}
+	
+	/**
+	 * @return number of genes read by the sequential fitness, 
+	 * 	compared with the number of evaluations times the length it measures the work saved
+	 */
+	public long getNumberOfSteps(){
+		return steps.sum();
+	}
+}
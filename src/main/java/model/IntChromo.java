@@ -0,0 +1,205 @@
+package model;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A Chromo with int genes.
+ * The genes are either owned by the Chromo or are a row of a matrix shared by a whole generation,
+ * see {@link #allocateRows(int)}.
+ * A Chromo evaluated by an @see src.main.java.model.IncrementalFitness keeps the evaluation trace of its genes,
+ * passed on to its copies together with the position of the first gene changed since.
+ */
+public class IntChromo extends PrimitiveChromo<IntChromo> {
+	private int[] genes;
+	private final int offset;
+	private int length;
+	private final boolean row;
+	private Object trace;
+	private int firstChanged;
+	
+	/**
+	 * Constructs a Chromo with the given genes and zero fitness
+	 * @param genes the genes, the array is not copied
+	 */
+	public IntChromo(int[] genes){
+		this(genes, 0);
+	}
+	
+	/**
+	 * Constructs a Chromo described by the specified genes and fitness
+	 * @param genes the genes, the array is not copied
+	 * @param fitness the current fitness of the Chromo
+	 */
+	public IntChromo(int[] genes, double fitness){
+		this(genes, 0, genes.length, false);
+		setFitness(fitness);
+	}
+	
+	private IntChromo(int[] genes, int offset, int length, boolean row){
+		this.genes = genes;
+		this.offset = offset;
+		this.length = length;
+		this.row = row;
+	}
+	
+	public int get(int index){
+		return genes[offset + index];
+	}
+	
+	public void set(int index, int gene){
+		if (genes[offset + index] != gene){
+			genes[offset + index] = gene;
+			changedFrom(index);
+		}
+	}
+	
+	@Override
+	public int length() {
+		return length;
+	}
+	
+	/**
+	 * @return a copy of the genes
+	 */
+	public int[] toArray(){
+		return Arrays.copyOfRange(genes, offset, offset + length);
+	}
+	
+	@Override
+	public IntChromo copy() {
+		IntChromo copy = new IntChromo(toArray(), getFitness());
+		copy.setDirty(isDirty());
+		copy.trace = trace;
+		copy.firstChanged = firstChanged;
+		return copy;
+	}
+	
+	@Override
+	public void copyFrom(IntChromo other) {
+		if (length == other.length)
+			System.arraycopy(other.genes, other.offset, genes, offset, length);
+		else if (!row){
+			genes = other.toArray();
+			length = other.length;
+		}
+		else
+			throw new IllegalArgumentException("Cannot copy " + other.length + " genes into a row of " + length);
+		setFitness(other.getFitness());
+		setDirty(other.isDirty());
+		trace = other.trace;
+		firstChanged = other.firstChanged;
+	}
+	
+	@Override
+	public void swapTail(IntChromo other, int position) {
+		int end = Math.min(length, other.length);
+		if (position < end && GenomeKernels.get().swap(genes, offset + position, 
+				other.genes, other.offset + position, end - position)){
+			changedFrom(position);
+			other.changedFrom(position);
+		}
+	}
+	
+	/**
+	 * Uniform crossover: exchanges with other the genes selected by mask
+	 * @param other the Chromo to exchange genes with
+	 * @param mask selected genes, see @see src.main.java.model.GenomeKernels#randomMask
+	 */
+	public void uniformCrossover(IntChromo other, long[] mask) {
+		if (GenomeKernels.get().swapMasked(genes, offset, other.genes, other.offset, mask, 
+				Math.min(length, other.length))){
+			changedFrom(firstSelected(mask));
+			other.changedFrom(firstSelected(mask));
+		}
+	}
+	
+	/**
+	 * Masked mutation: replaces the genes selected by mask with the values in the same position
+	 * @param mask selected genes
+	 * @param values new genes, at least as many as the genes of this Chromo
+	 */
+	public void mutate(long[] mask, int[] values) {
+		if (GenomeKernels.get().replaceMasked(genes, offset, values, mask, length))
+			changedFrom(firstSelected(mask));
+	}
+	
+	private static int firstSelected(long[] mask){
+		int w = 0;
+		while (mask[w] == 0){
+			w++;
+		}
+		return w * 64 + Long.numberOfTrailingZeros(mask[w]);
+	}
+	
+	private void changedFrom(int index){
+		setDirty(true);
+		firstChanged = Math.min(firstChanged, index);
+	}
+	
+	/**
+	 * @return the trace of the last incremental evaluation of these genes or of the genes they were copied from, 
+	 * 	null if none
+	 */
+	Object getTrace(){
+		return trace;
+	}
+	
+	/**
+	 * @return the first gene that may differ from the ones of the trace
+	 */
+	int getFirstChanged(){
+		return firstChanged;
+	}
+	
+	/**
+	 * Sets the trace of the current genes
+	 */
+	void setTrace(Object trace){
+		this.trace = trace;
+		this.firstChanged = length;
+	}
+	
+	/**
+	 * @return the number of genes greater than threshold
+	 */
+	public int countAbove(int threshold){
+		return GenomeKernels.get().countAbove(genes, offset, length, threshold);
+	}
+	
+	public long sum(){
+		return GenomeKernels.get().sum(genes, offset, length);
+	}
+	
+	/**
+	 * @return the number of positions whose genes differ, the genes of the longer Chromo
+	 * 	past the length of the other one are not compared
+	 */
+	public int hammingDistance(IntChromo other){
+		return GenomeKernels.get().hammingDistance(genes, offset, other.genes, other.offset, 
+				Math.min(length, other.length));
+	}
+	
+	@Override
+	public Object genesKey(boolean copy) {
+		return copy ? IntBuffer.wrap(toArray()) : IntBuffer.wrap(genes, offset, length);
+	}
+	
+	@Override
+	public List<IntChromo> allocateRows(int rows) {
+		int[] matrix = new int[PrimitiveChromo.matrixSize(rows, length)];
+		List<IntChromo> views = new ArrayList<>(rows);
+		for (int r=0; r<rows; r++){
+			views.add(new IntChromo(matrix, r * length, length, true));
+		}
+		return Collections.unmodifiableList(views);
+	}
+	
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
@@ -0,0 +1,97 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * A random generator whose numbers are a function of a seed and of a key, 
+ * so that every piece of work of a run can draw from its own stream: 
+ * the population moves it to the key (generation, pair) before breeding each pair of offspring, 
+ * hence the offspring do not depend on the order nor on the thread in which pairs are bred.
+ * Streams are SplitMix64 sequences started from a mix of seed and key; 
+ * unlike {@link Random} the state is a plain field, never shared between threads.
+ * An instance must be used by one thread at a time.
+ */
+public class KeyedRandom extends Random {
+	private static final long serialVersionUID = 1L;
+	private static final long GAMMA = 0x9e3779b97f4a7c15L;
+	
+	private final long seed;
+	private long state;
+	
+	/**
+	 * @param seed the seed of all the streams
+	 */
+	public KeyedRandom(long seed){
+		super(seed);
+		this.seed = seed;
+		this.state = seed;
+	}
+	
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * Moves to the beginning of the stream of the given key
+	 * @param generation first part of the key
+	 * @param index second part of the key
+	 * @return this generator
+	 */
+	public KeyedRandom at(long generation, long index){
+		state = mix(mix(seed + generation * GAMMA) + index * GAMMA);
+		return this;
+	}
+	
+	/**
+	 * @param key identifies the new generator among the ones split from this one
+	 * @return a new generator with a seed derived from the seed of this one and key
+	 */
+	public KeyedRandom split(long key){
+		return new KeyedRandom(mix(seed ^ mix(key * GAMMA + GAMMA)));
+	}
+	
+	/**
+	 * Moves to the beginning of the stream of the given seed, without changing the seed of the keys
+	 */
+	@Override
+	public void setSeed(long seed) {
+		this.state = seed;
+	}
+	
+	@Override
+	protected int next(int bits) {
+		return (int) (nextLong() >>> (64 - bits));
+	}
+	
+	@Override
+	public long nextLong() {
+		state += GAMMA;
+		return mix(state);
+	}
+	
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+	
+	/**
+	 * Polar method as in {@link Random}, without keeping the second value for the next call, 
+	 * so that the gaussian numbers depend only on the position in the stream
+	 */
+	@Override
+	public double nextGaussian() {
+		double v1, v2, s;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+	}
+	
+	private static long mix(long z){
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
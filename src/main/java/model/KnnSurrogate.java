@@ -0,0 +1,143 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * @see src.main.java.model.Surrogate predicting the mean fitness of the k nearest individuals seen, 
+ * by Euclidean distance between feature vectors. 
+ * It remembers the last capacity individuals, so it follows the population as it moves.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class KnnSurrogate <C> implements Surrogate<C> {
+	private final int k;
+	private final Function<? super C, double[]> features;
+	private final double[][] samples;
+	private final double[] fitness;
+	private int count;
+	private int next;
+	private final int[] nearest;
+	private final double[] nearestDistances;
+	
+	/**
+	 * @param k number of neighbours
+	 * @param capacity number of individuals remembered
+	 * @param features function describing a chromo as a vector, of the same length for every chromo
+	 */
+	public KnnSurrogate(int k, int capacity, Function<? super C, double[]> features){
+		if (k < 1 || capacity < k)
+			throw new IllegalArgumentException("Need 1 <= k <= capacity, were " + k + " and " + capacity);
+		this.k = k;
+		this.features = features;
+		this.samples = new double[capacity][];
+		this.fitness = new double[capacity];
+		this.nearest = new int[k];
+		this.nearestDistances = new double[k];
+	}
+	
+	/**
+	 * @return the genes of an @see src.main.java.model.IntChromo as features
+	 */
+	public static Function<IntChromo, double[]> intGenes(){
+		return chromo -> {
+			double[] genes = new double[chromo.length()];
+			for (int i=0; i<genes.length; i++){
+				genes[i] = chromo.get(i);
+			}
+			return genes;
+		};
+	}
+	
+	@Override
+	public double predict(C chromo) {
+		double[] point = features.apply(chromo);
+		int found = 0;
+		for (int s=0; s<count; s++){
+			double distance = squaredDistance(point, samples[s]);
+			if (found == k && distance >= nearestDistances[k - 1])
+				continue;
+			//insertion into the neighbours sorted by distance
+			int i = (found < k) ? found++ : k - 1;
+			while (i > 0 && nearestDistances[i - 1] > distance){
+				nearestDistances[i] = nearestDistances[i - 1];
+				nearest[i] = nearest[i - 1];
+				i--;
+			}
+			nearestDistances[i] = distance;
+			nearest[i] = s;
+		}
+		if (found == 0)
+			return Double.NaN;
+		double sum = 0;
+		for (int i=0; i<found; i++){
+			sum += fitness[nearest[i]];
+		}
+		return sum / found;
+	}
+	
+	private static double squaredDistance(double[] a, double[] b){
+		double distance = 0;
+		for (int i=0; i<a.length; i++){
+			distance += (a[i] - b[i]) * (a[i] - b[i]);
+		}
+		return distance;
+	}
+	
+	@Override
+	public void train(C chromo, double fitness) {
+		samples[next] = features.apply(chromo);
+		this.fitness[next] = fitness;
+		next = (next + 1) % samples.length;
+		if (count < samples.length)
+			count++;
+	}
+	
+	@Override
+	public boolean isReady() {
+		return count >= k;
+	}
+	
+	/**
+	 * @return capacity, number of individuals remembered, position of the next one and length of the features, 
+	 * 	followed by fitness and features of each individual remembered
+	 */
+	@Override
+	public double[] getState() {
+		int dimension = (count == 0) ? 0 : samples[0].length;
+		double[] state = new double[4 + count * (1 + dimension)];
+		state[0] = samples.length;
+		state[1] = count;
+		state[2] = next;
+		state[3] = dimension;
+		for (int s=0, i=4; s<count; s++){
+			state[i++] = fitness[s];
+			System.arraycopy(samples[s], 0, state, i, dimension);
+			i += dimension;
+		}
+		return state;
+	}
+	
+	@Override
+	public void setState(double[] state) {
+		if ((int) state[0] != samples.length)
+			throw new IllegalArgumentException("State of a model remembering " + (int) state[0] 
+					+ " individuals for one remembering " + samples.length);
+		count = (int) state[1];
+		next = (int) state[2];
+		int dimension = (int) state[3];
+		for (int s=0, i=4; s<count; s++){
+			fitness[s] = state[i++];
+			samples[s] = Arrays.copyOfRange(state, i, i + dimension);
+			i += dimension;
+		}
+		Arrays.fill(samples, count, samples.length, null);
+	}
+	
+	/**
+	 * @return number of individuals remembered
+	 */
+	public int size() {
+		return count;
+	}
+}
@@ -0,0 +1,135 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * DataInput reading a file through a sliding memory-mapped window, 
+ * counterpart of @see src.main.java.model.MappedDataOutput
+ */
+class MappedDataInput implements DataInput {
+	private static final int WINDOW = 1 << 26;
+	
+	private final FileChannel channel;
+	private final long size;
+	private MappedByteBuffer buffer;
+	private long windowStart;
+	
+	MappedDataInput(FileChannel channel) throws IOException {
+		this.channel = channel;
+		this.size = channel.size();
+		this.buffer = channel.map(MapMode.READ_ONLY, 0, Math.min(WINDOW, size));
+	}
+	
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes)
+			return;
+		long position = windowStart + buffer.position();
+		if (position + bytes > size)
+			throw new EOFException();
+		buffer = channel.map(MapMode.READ_ONLY, position, Math.min(Math.max(WINDOW, bytes), size - position));
+		windowStart = position;
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		while (len > 0){
+			ensure(1);
+			int chunk = Math.min(len, buffer.remaining());
+			buffer.get(b, off, chunk);
+			off += chunk;
+			len -= chunk;
+		}
+	}
+
+	@Override
+	public int skipBytes(int n) throws IOException {
+		int skipped = 0;
+		while (skipped < n && windowStart + buffer.position() < size){
+			ensure(1);
+			int chunk = Math.min(n - skipped, buffer.remaining());
+			//through Buffer, whose position also exists on Java 8
+			((Buffer) buffer).position(buffer.position() + chunk);
+			skipped += chunk;
+		}
+		return skipped;
+	}
+
+	@Override
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		ensure(1);
+		return buffer.get();
+	}
+
+	@Override
+	public int readUnsignedByte() throws IOException {
+		return readByte() & 0xFF;
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		ensure(2);
+		return buffer.getShort();
+	}
+
+	@Override
+	public int readUnsignedShort() throws IOException {
+		return readShort() & 0xFFFF;
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		ensure(2);
+		return buffer.getChar();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		ensure(4);
+		return buffer.getInt();
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		ensure(8);
+		return buffer.getLong();
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		ensure(4);
+		return buffer.getFloat();
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		ensure(8);
+		return buffer.getDouble();
+	}
+
+	@Override
+	public String readLine() throws IOException {
+		throw new UnsupportedOperationException("Checkpoints contain no lines of text");
+	}
+
+	@Override
+	public String readUTF() throws IOException {
+		return DataInputStream.readUTF(this);
+	}
+}
@@ -0,0 +1,141 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * DataOutput writing a file through a sliding memory-mapped window, 
+ * so that large files are written without intermediate buffers.
+ * The file grows one window at a time and is truncated to the written size by {@link #finish()}.
+ */
+class MappedDataOutput implements DataOutput {
+	private static final int WINDOW = 1 << 26;
+	
+	private final FileChannel channel;
+	private MappedByteBuffer buffer;
+	private long windowStart;
+	
+	/**
+	 * @param channel channel open for reading and writing, written from position 0
+	 */
+	MappedDataOutput(FileChannel channel) throws IOException {
+		this.channel = channel;
+		this.buffer = channel.map(MapMode.READ_WRITE, 0, WINDOW);
+	}
+	
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes)
+			return;
+		long position = position();
+		buffer.force();
+		buffer = channel.map(MapMode.READ_WRITE, position, Math.max(WINDOW, bytes));
+		windowStart = position;
+	}
+	
+	long position(){
+		return windowStart + buffer.position();
+	}
+	
+	/**
+	 * Flushes the written bytes to the file and truncates it to its content
+	 */
+	void finish() throws IOException {
+		long size = position();
+		buffer.force();
+		channel.truncate(size);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		ensure(1);
+		buffer.put((byte) b);
+	}
+
+	@Override
+	public void write(byte[] b) throws IOException {
+		write(b, 0, b.length);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0){
+			ensure(1);
+			int chunk = Math.min(len, buffer.remaining());
+			buffer.put(b, off, chunk);
+			off += chunk;
+			len -= chunk;
+		}
+	}
+
+	@Override
+	public void writeBoolean(boolean v) throws IOException {
+		write(v ? 1 : 0);
+	}
+
+	@Override
+	public void writeByte(int v) throws IOException {
+		write(v);
+	}
+
+	@Override
+	public void writeShort(int v) throws IOException {
+		ensure(2);
+		buffer.putShort((short) v);
+	}
+
+	@Override
+	public void writeChar(int v) throws IOException {
+		ensure(2);
+		buffer.putChar((char) v);
+	}
+
+	@Override
+	public void writeInt(int v) throws IOException {
+		ensure(4);
+		buffer.putInt(v);
+	}
+
+	@Override
+	public void writeLong(long v) throws IOException {
+		ensure(8);
+		buffer.putLong(v);
+	}
+
+	@Override
+	public void writeFloat(float v) throws IOException {
+		ensure(4);
+		buffer.putFloat(v);
+	}
+
+	@Override
+	public void writeDouble(double v) throws IOException {
+		ensure(8);
+		buffer.putDouble(v);
+	}
+
+	@Override
+	public void writeBytes(String s) throws IOException {
+		for (int i=0; i<s.length(); i++){
+			write(s.charAt(i));
+		}
+	}
+
+	@Override
+	public void writeChars(String s) throws IOException {
+		for (int i=0; i<s.length(); i++){
+			writeChar(s.charAt(i));
+		}
+	}
+
+	@Override
+	public void writeUTF(String s) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		new DataOutputStream(bytes).writeUTF(s);
+		write(bytes.toByteArray());
+	}
+}
@@ -0,0 +1,50 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Which islands of an @see src.main.java.model.Archipelago receive the migrants of an island.
+ */
+public enum MigrationTopology {
+	/**
+	 * Island i sends its migrants to island i+1, the last one to the first one
+	 */
+	RING {
+		@Override
+		int[] targets(int island, int numIslands, Random rand) {
+			return new int[]{(island + 1) % numIslands};
+		}
+	},
+	/**
+	 * Every island sends its migrants to all the other islands
+	 */
+	FULLY_CONNECTED {
+		@Override
+		int[] targets(int island, int numIslands, Random rand) {
+			int[] targets = new int[numIslands - 1];
+			for (int i=0, t=0; i<numIslands; i++){
+				if (i != island)
+					targets[t++] = i;
+			}
+			return targets;
+		}
+	},
+	/**
+	 * At every migration an island sends its migrants to another island picked at random
+	 */
+	RANDOM {
+		@Override
+		int[] targets(int island, int numIslands, Random rand) {
+			int target = rand.nextInt(numIslands - 1);
+			return new int[]{(target >= island) ? target + 1 : target};
+		}
+	};
+	
+	/**
+	 * @param island the emigrating island
+	 * @param numIslands number of islands, at least 2
+	 * @param rand source of randomness
+	 * @return the islands receiving the migrants
+	 */
+	abstract int[] targets(int island, int numIslands, Random rand);
+}
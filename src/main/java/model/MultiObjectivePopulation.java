@@ -0,0 +1,285 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A genetic population of @see src.main.java.model.Chromo with several objectives, evolved by NSGA-II.
+ * The fitness of a chromo is a vector of objectives, all maximized (negate the ones to minimize, as costs).
+ * Every generation the offspring, picked by binary tournament, join their parents and the best half survives:
+ * whole Pareto fronts first, see @see src.main.java.model.ParetoFronts,
+ * then the least crowded members of the front that does not fit.
+ * The fitness of a chromo is minus the index of its front, 0 for the Pareto front.
+ *
+ * @param <T> the type of the genes
+ */
+public class MultiObjectivePopulation <T> {
+	private final double CROSSOVER_RATE;
+	private final int size;
+	private final int numObjectives;
+	private final Function<Random, Chromo<T>> makeRandomChromo;
+	private final Function<Chromo<T>, double[]> computeObjectives;
+	private final BiFunction<Random, Chromo<T>, Chromo<T>> mutateGenes;
+	private final FitnessEvaluator evaluator;
+	private final KeyedRandom rand;
+
+	private List<Chromo<T>> individuals;
+	private double[][] objectives;
+	private int[] ranks;
+	private double[] crowding;
+	private int generation_num = 0;
+	private long numEvaluations;
+
+	//parents and offspring of the current generation
+	private final List<Chromo<T>> combined;
+	private final double[][] combinedObjectives;
+	private final int[] combinedRanks;
+	private final double[] combinedCrowding;
+	private final List<Integer> evaluationIndices = new ArrayList<Integer>();
+	private final double[] evaluationValues;
+
+	/**
+	 * Constructs and initialize a new multi-objective population
+	 *
+	 * @param size number of @see src.main.java.model.Chromo in the population
+	 * @param crossoverRate
+	 * @param numObjectives length of the objective vectors
+	 * @param makeRandomChromo function
+	 * @param computeObjectives function, returning numObjectives values to maximize
+	 * @param mutateGenes function
+	 * @param evaluator where the objectives are computed, see @see src.main.java.model.FitnessEvaluators
+	 * @param seed seed of the random streams, see @see src.main.java.model.KeyedRandom
+	 */
+	public MultiObjectivePopulation (int size, double crossoverRate, int numObjectives,
+			Function<Random, Chromo<T>> makeRandomChromo,
+			Function<Chromo<T>, double[]> computeObjectives,
+			BiFunction<Random, Chromo<T>, Chromo<T>> mutateGenes,
+			FitnessEvaluator evaluator, long seed){
+		this.size = size;
+		this.CROSSOVER_RATE = crossoverRate;
+		this.numObjectives = numObjectives;
+		this.makeRandomChromo = makeRandomChromo;
+		this.computeObjectives = computeObjectives;
+		this.mutateGenes = mutateGenes;
+		this.evaluator = evaluator;
+		this.rand = new KeyedRandom(seed);
+		this.combined = new ArrayList<Chromo<T>>(2 * size);
+		this.combinedObjectives = new double[2 * size][];
+		this.combinedRanks = new int[2 * size];
+		this.combinedCrowding = new double[2 * size];
+		this.evaluationValues = new double[size];
+		for (int i=0; i<size; i++){
+			evaluationIndices.add(i);
+		}
+		initPopulation();
+	}
+
+	/**
+	 * Constructs and initialize a new multi-objective population evaluated on the calling thread
+	 */
+	public MultiObjectivePopulation (int size, double crossoverRate, int numObjectives,
+			Function<Random, Chromo<T>> makeRandomChromo,
+			Function<Chromo<T>, double[]> computeObjectives,
+			BiFunction<Random, Chromo<T>, Chromo<T>> mutateGenes){
+		this(size, crossoverRate, numObjectives, makeRandomChromo, computeObjectives, mutateGenes,
+				FitnessEvaluators.sequential(), new Random().nextLong());
+	}
+
+	private void initPopulation(){
+		for (int i=0; i<size; i++){
+			combined.add(makeRandomChromo.apply(rand.at(0, i)));
+		}
+		evaluate(0);
+		survive();
+	}
+
+	/**
+	 * Run the NSGA-II steps:
+	 * 1.Pick up pairs of parents by binary tournament on front and crowding distance;
+	 * 2.Crossover and mutate them into {@link #getSize()} offspring;
+	 * 3.Compute the objectives of the offspring with the evaluator;
+	 * 4.Sort parents and offspring in Pareto fronts and keep the best half.
+	 *
+	 * Each pair of offspring draws from its own random stream, keyed by generation and pair.
+	 * If the evaluation fails the current generation is left untouched.
+	 * @throws FitnessEvaluationException when the objective function fails on an individual
+	 */
+	public void newGeneration(){
+		combined.clear();
+		combined.addAll(individuals);
+		System.arraycopy(objectives, 0, combinedObjectives, 0, size);
+
+		for (int pair=0; combined.size() < 2 * size; pair++){
+			rand.at(generation_num + 1, pair);
+			Chromo<T> offspring1 = copy(individuals.get(tournament()));
+			Chromo<T> offspring2 = copy(individuals.get(tournament()));
+			if (rand.nextDouble() < CROSSOVER_RATE)
+				Population.spliceGenes(offspring1, offspring2, rand.nextInt(offspring1.length()));
+			combined.add(mutateGenes.apply(rand, offspring1));
+			if (combined.size() < 2 * size)
+				combined.add(mutateGenes.apply(rand, offspring2));
+		}
+
+		evaluate(size);
+		generation_num++;
+		survive();
+	}
+
+	/**
+	 * Runs new generations until one of the conditions is met;
+	 * the conditions are also checked before the first generation.
+	 * There is no single best fitness, so only the conditions on generations, evaluations and time apply.
+	 * @param conditions when to stop, see @see src.main.java.model.StopConditions
+	 * @return the Pareto front of the last generation
+	 * @throws FitnessEvaluationException when the objective function fails on an individual
+	 */
+	public List<ParetoSolution<T>> evolve(StopCondition... conditions){
+		if (conditions.length == 0)
+			throw new IllegalArgumentException("A run needs at least one stop condition");
+		RunProgress progress = new RunProgress(size, numEvaluations, Double.NaN);
+		while (AbstractPopulation.metCondition(conditions, progress) == null){
+			newGeneration();
+			progress.generationCompleted(numEvaluations, Double.NaN);
+		}
+		return getParetoFront();
+	}
+
+	/**
+	 * Computes the objectives of the chromos of combined from index from onwards
+	 */
+	private void evaluate(int from){
+		List<Chromo<T>> toEvaluate = combined.subList(from, combined.size());
+		double[][] results = new double[toEvaluate.size()][];
+		ToDoubleFunction<Integer> objectiveFunction = i -> {
+			double[] values = computeObjectives.apply(toEvaluate.get(i));
+			if (values.length != numObjectives)
+				throw new IllegalArgumentException("Expected " + numObjectives
+						+ " objectives, got " + values.length);
+			results[i] = values;
+			return values[0];
+		};
+		//the evaluators compute a double per individual, the vectors are collected by index
+		evaluator.evaluate(evaluationIndices.subList(0, toEvaluate.size()), objectiveFunction, evaluationValues);
+		numEvaluations += toEvaluate.size();
+		System.arraycopy(results, 0, combinedObjectives, from, results.length);
+	}
+
+	/**
+	 * Keeps the best {@link #getSize()} chromos of combined as the current generation
+	 */
+	private void survive(){
+		int count = combined.size();
+		int numFronts = ParetoFronts.sort(combinedObjectives, count, combinedRanks);
+		int[][] fronts = new int[numFronts][];
+		int[] sizes = new int[numFronts];
+		for (int i=0; i<count; i++){
+			sizes[combinedRanks[i]]++;
+		}
+		for (int f=0; f<numFronts; f++){
+			fronts[f] = new int[sizes[f]];
+			sizes[f] = 0;
+		}
+		for (int i=0; i<count; i++){
+			fronts[combinedRanks[i]][sizes[combinedRanks[i]]++] = i;
+		}
+
+		List<Chromo<T>> survivors = new ArrayList<Chromo<T>>(size);
+		double[][] survivorObjectives = new double[size][];
+		int[] survivorRanks = new int[size];
+		double[] survivorCrowding = new double[size];
+		for (int f=0; f<numFronts && survivors.size() < size; f++){
+			int[] front = fronts[f];
+			ParetoFronts.crowdingDistance(combinedObjectives, front, front.length, combinedCrowding);
+			if (survivors.size() + front.length > size){
+				Integer[] leastCrowded = Arrays.stream(front).boxed().toArray(Integer[]::new);
+				Arrays.sort(leastCrowded, (a, b) -> Double.compare(combinedCrowding[b], combinedCrowding[a]));
+				for (int i=0; i<front.length; i++){
+					front[i] = leastCrowded[i];
+				}
+			}
+			for (int i=0; i<front.length && survivors.size() < size; i++){
+				int k = survivors.size();
+				Chromo<T> chromo = combined.get(front[i]);
+				chromo.setFitness(-f);
+				chromo.setDirty(false);
+				survivors.add(chromo);
+				survivorObjectives[k] = combinedObjectives[front[i]];
+				survivorRanks[k] = f;
+				survivorCrowding[k] = combinedCrowding[front[i]];
+			}
+		}
+		individuals = survivors;
+		objectives = survivorObjectives;
+		ranks = survivorRanks;
+		crowding = survivorCrowding;
+	}
+
+	/**
+	 * @return the index of the winner of a binary tournament:
+	 * 	the lower front wins, then the larger crowding distance
+	 */
+	private int tournament(){
+		int a = rand.nextInt(size), b = rand.nextInt(size);
+		if (ranks[a] != ranks[b])
+			return (ranks[a] < ranks[b]) ? a : b;
+		return (crowding[b] > crowding[a]) ? b : a;
+	}
+
+	private static <T> Chromo<T> copy(Chromo<T> chromo){
+		return new Chromo<T>(chromo.getGenes(), chromo.getFitness());
+	}
+
+	/**
+	 * @return copies of the chromos no other chromo dominates, with their objectives
+	 */
+	public List<ParetoSolution<T>> getParetoFront() {
+		List<ParetoSolution<T>> front = new ArrayList<ParetoSolution<T>>();
+		for (int i=0; i<size; i++){
+			if (ranks[i] == 0)
+				front.add(new ParetoSolution<T>(copy(individuals.get(i)), objectives[i]));
+		}
+		return front;
+	}
+
+	public List<Chromo<T>> getIndividuals() {
+		List<Chromo<T>> copies = new ArrayList<Chromo<T>>(size);
+		for (Chromo<T> chromo : individuals){
+			copies.add(copy(chromo));
+		}
+		return copies;
+	}
+
+	/**
+	 * @return a copy of the objectives of the individual at index
+	 */
+	public double[] getObjectives(int index) {
+		return objectives[index].clone();
+	}
+
+	/**
+	 * @return how many times the objective function has been called
+	 */
+	public long getNumberOfEvaluations() {
+		return this.numEvaluations;
+	}
+
+	/**
+	 * @return the seed of the random streams of the population
+	 */
+	public long getSeed() {
+		return rand.getSeed();
+	}
+
+	public int getSize() {
+		return this.size;
+	}
+
+	public int getNumberOfGenerations() {
+		return this.generation_num;
+	}
+}
@@ -0,0 +1,205 @@
+package model;
+
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Built-in mutation operators of the primitive chromos, to be given to a @see src.main.java.model.PrimitivePopulation.
+ * Each gene mutates independently with the given rate, read once per chromo,
+ * so that it can come from @see src.main.java.model.AdaptiveRates#getMutationRate().
+ * The mutated genes are not drawn one by one: the gap to the next mutated gene follows a geometric distribution
+ * and is sampled directly, so an operator draws a few random numbers per mutation, changes the genes in place
+ * and allocates nothing, whatever the length of the genome.
+ */
+public class Mutations {
+
+	private Mutations() {};
+
+	/**
+	 * @param rate probability of mutating each gene
+	 * @return the logarithm of the probability of keeping a gene, the parameter of {@link #nextLocus}
+	 */
+	static double logKeep(double rate){
+		return (rate >= 1) ? Double.NEGATIVE_INFINITY : Math.log1p(-rate);
+	}
+
+	/**
+	 * @param rand source of randomness
+	 * @param locus first candidate gene
+	 * @param length number of genes
+	 * @param logKeep see {@link #logKeep(double)}, of a rate greater than 0
+	 * @return the index of the next mutated gene from locus onwards, length if there is none
+	 */
+	static int nextLocus(Random rand, int locus, int length, double logKeep){
+		if (logKeep == Double.NEGATIVE_INFINITY)
+			return locus;
+		double gap = Math.floor(Math.log(1 - rand.nextDouble()) / logKeep);
+		return (gap >= length - locus) ? length : locus + (int) gap;
+	}
+
+	/**
+	 * @param mutationRate probability of mutating each gene
+	 * @param bound upper bound (exclusive) of the genes
+	 * @return an operator replacing the mutated genes with random values between 0 and bound
+	 */
+	public static BiConsumer<Random, IntChromo> uniformReset(DoubleSupplier mutationRate, int bound){
+		return new BiConsumer<Random, IntChromo>() {
+
+			@Override
+			public void accept(Random rand, IntChromo chromo) {
+				double rate = mutationRate.getAsDouble();
+				if (rate <= 0)
+					return;
+				double logKeep = logKeep(rate);
+				int length = chromo.length();
+				for (int i=nextLocus(rand, 0, length, logKeep); i<length; i=nextLocus(rand, i + 1, length, logKeep)){
+					chromo.set(i, rand.nextInt(bound));
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param mutationRate probability of mutating each gene
+	 * @param lower lower bound (inclusive) of each gene
+	 * @param upper upper bound (exclusive) of each gene
+	 * @return an operator replacing each mutated gene with a random value within its own bounds
+	 */
+	public static BiConsumer<Random, IntChromo> uniformReset(DoubleSupplier mutationRate, int[] lower, int[] upper){
+		return new BiConsumer<Random, IntChromo>() {
+
+			@Override
+			public void accept(Random rand, IntChromo chromo) {
+				double rate = mutationRate.getAsDouble();
+				if (rate <= 0)
+					return;
+				double logKeep = logKeep(rate);
+				int length = chromo.length();
+				for (int i=nextLocus(rand, 0, length, logKeep); i<length; i=nextLocus(rand, i + 1, length, logKeep)){
+					chromo.set(i, lower[i] + rand.nextInt(upper[i] - lower[i]));
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param mutationRate probability of mutating each gene
+	 * @param bound upper bound (exclusive) of the genes
+	 * @return {@link #uniformReset(DoubleSupplier, int)} for the off-heap rows of an
+	 * 	@see src.main.java.model.OffHeapPopulation
+	 */
+	public static BiConsumer<Random, GenomeRow> uniformResetRows(DoubleSupplier mutationRate, int bound){
+		return new BiConsumer<Random, GenomeRow>() {
+
+			@Override
+			public void accept(Random rand, GenomeRow row) {
+				double rate = mutationRate.getAsDouble();
+				if (rate <= 0)
+					return;
+				double logKeep = logKeep(rate);
+				int length = row.length();
+				for (int i=nextLocus(rand, 0, length, logKeep); i<length; i=nextLocus(rand, i + 1, length, logKeep)){
+					row.set(i, rand.nextInt(bound));
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param mutationRate probability of mutating each gene
+	 * @param step largest change of a gene
+	 * @param min smallest value of the genes
+	 * @param max largest value of the genes
+	 * @return an operator adding to each mutated gene a random non-zero value between -step and step,
+	 * 	clamped to min and max
+	 */
+	public static BiConsumer<Random, IntChromo> creep(DoubleSupplier mutationRate, int step, int min, int max){
+		return new BiConsumer<Random, IntChromo>() {
+
+			@Override
+			public void accept(Random rand, IntChromo chromo) {
+				double rate = mutationRate.getAsDouble();
+				if (rate <= 0)
+					return;
+				double logKeep = logKeep(rate);
+				int length = chromo.length();
+				for (int i=nextLocus(rand, 0, length, logKeep); i<length; i=nextLocus(rand, i + 1, length, logKeep)){
+					int change = 1 + rand.nextInt(step);
+					long gene = (long) chromo.get(i) + (rand.nextBoolean() ? change : -change);
+					chromo.set(i, (int) Math.max(min, Math.min(max, gene)));
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param mutationRate probability of mutating each gene
+	 * @param sigma standard deviation of the change of a gene
+	 * @param min smallest value of the genes
+	 * @param max largest value of the genes
+	 * @return an operator adding normally distributed noise to each mutated gene, clamped to min and max
+	 */
+	public static BiConsumer<Random, DoubleChromo> gaussian(DoubleSupplier mutationRate, double sigma, double min, double max){
+		return new BiConsumer<Random, DoubleChromo>() {
+
+			@Override
+			public void accept(Random rand, DoubleChromo chromo) {
+				double rate = mutationRate.getAsDouble();
+				if (rate <= 0)
+					return;
+				double logKeep = logKeep(rate);
+				int length = chromo.length();
+				for (int i=nextLocus(rand, 0, length, logKeep); i<length; i=nextLocus(rand, i + 1, length, logKeep)){
+					chromo.set(i, Math.max(min, Math.min(max, chromo.get(i) + sigma * rand.nextGaussian())));
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param mutationRate probability of flipping each bit
+	 * @return an operator flipping the mutated bits
+	 */
+	public static BiConsumer<Random, BitChromo> bitFlip(DoubleSupplier mutationRate){
+		return new BiConsumer<Random, BitChromo>() {
+
+			@Override
+			public void accept(Random rand, BitChromo chromo) {
+				double rate = mutationRate.getAsDouble();
+				if (rate <= 0)
+					return;
+				double logKeep = logKeep(rate);
+				int length = chromo.length();
+				for (int i=nextLocus(rand, 0, length, logKeep); i<length; i=nextLocus(rand, i + 1, length, logKeep)){
+					chromo.flip(i);
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param mutationRate probability of moving each gene
+	 * @return an operator for permutations, exchanging each mutated gene with a random one,
+	 * 	so that the genes remain a permutation
+	 */
+	public static BiConsumer<Random, IntChromo> swap(DoubleSupplier mutationRate){
+		return new BiConsumer<Random, IntChromo>() {
+
+			@Override
+			public void accept(Random rand, IntChromo chromo) {
+				double rate = mutationRate.getAsDouble();
+				if (rate <= 0)
+					return;
+				double logKeep = logKeep(rate);
+				int length = chromo.length();
+				for (int i=nextLocus(rand, 0, length, logKeep); i<length; i=nextLocus(rand, i + 1, length, logKeep)){
+					int j = rand.nextInt(length);
+					int gene = chromo.get(i);
+					chromo.set(i, chromo.get(j));
+					chromo.set(j, gene);
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,312 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A genetic population of fixed-width int genomes kept in two @see src.main.java.model.GenomeStore
+ * outside of the heap, for populations that do not fit in it.
+ * Each generation reads the current store and writes the next one, then the two are swapped:
+ * elites and parents are bulk copies of rows, crossover exchanges the tails of two rows
+ * and mutation changes the genes of a row in place, through a @see src.main.java.model.GenomeRow.
+ * Parents are picked by tournament and the fitness is computed in batches of fixed size,
+ * so the heap used by the evolution does not grow with the size of the population.
+ */
+public class OffHeapPopulation {
+	private static final int BATCH_SIZE = 4096;
+
+	private final double CROSSOVER_RATE;
+	private final int NUM_ELITE;
+	private final int size;
+	private final int tournamentSize;
+	private final BiConsumer<Random, GenomeRow> makeRandomGenome;
+	private final ToDoubleFunction<GenomeRow> computeFitness;
+	private final BiConsumer<Random, GenomeRow> mutateGenes;
+	private final FitnessEvaluator evaluator;
+	private final KeyedRandom rand;
+
+	private GenomeStore current, next;
+	private int fittestRow;
+	private int generation_num = 0;
+	private long numEvaluations;
+
+	private final int[] eliteRows;
+	private final GenomeRow cursor = new GenomeRow();
+	private final GenomeRow[] batch;
+	private final List<GenomeRow> batchView;
+	//view of the last, shorter batch, reused while its size does not change
+	private List<GenomeRow> tailView;
+	private final double[] batchFitness;
+
+	/**
+	 * Constructs and initialize a new population in two direct stores
+	 *
+	 * @param size number of genomes in the population
+	 * @param length number of genes of each genome
+	 * @param crossoverRate
+	 * @param numElite
+	 * @param tournamentSize number of genomes competing to be a parent
+	 * @param makeRandomGenome function, setting the genes of the given row
+	 * @param computeFitness function
+	 * @param mutateGenes function, mutating the genes of the given row in place
+	 * @param evaluator where the fitness function is run, see @see src.main.java.model.FitnessEvaluators
+	 * @param seed seed of the random streams, see @see src.main.java.model.KeyedRandom
+	 */
+	public OffHeapPopulation (int size, int length, double crossoverRate, int numElite, int tournamentSize,
+			BiConsumer<Random, GenomeRow> makeRandomGenome,
+			ToDoubleFunction<GenomeRow> computeFitness,
+			BiConsumer<Random, GenomeRow> mutateGenes,
+			FitnessEvaluator evaluator, long seed){
+		this(GenomeStore.allocate(size, length), GenomeStore.allocate(size, length), crossoverRate, numElite,
+				tournamentSize, makeRandomGenome, computeFitness, mutateGenes, evaluator, seed);
+	}
+
+	/**
+	 * Constructs and initialize a new population in the given stores, e.g. mapped on files
+	 * with @see src.main.java.model.GenomeStore#map(java.nio.file.Path, int, int).
+	 * The size of the population and the length of the genomes are the ones of the stores.
+	 *
+	 * @param store1 the store of the first generation
+	 * @param store2 a store with as many rows of the same length as store1
+	 * @param crossoverRate
+	 * @param numElite
+	 * @param tournamentSize number of genomes competing to be a parent
+	 * @param makeRandomGenome function, setting the genes of the given row
+	 * @param computeFitness function
+	 * @param mutateGenes function, mutating the genes of the given row in place
+	 * @param evaluator where the fitness function is run, see @see src.main.java.model.FitnessEvaluators
+	 * @param seed seed of the random streams, see @see src.main.java.model.KeyedRandom
+	 */
+	public OffHeapPopulation (GenomeStore store1, GenomeStore store2, double crossoverRate, int numElite,
+			int tournamentSize,
+			BiConsumer<Random, GenomeRow> makeRandomGenome,
+			ToDoubleFunction<GenomeRow> computeFitness,
+			BiConsumer<Random, GenomeRow> mutateGenes,
+			FitnessEvaluator evaluator, long seed){
+		if (store1.getRows() != store2.getRows() || store1.getLength() != store2.getLength())
+			throw new IllegalArgumentException("The stores must have the same rows and length");
+		if (tournamentSize < 1)
+			throw new IllegalArgumentException("Tournament size must be at least 1");
+		this.size = store1.getRows();
+		this.CROSSOVER_RATE = crossoverRate;
+		this.NUM_ELITE = Math.min(numElite, size);
+		this.tournamentSize = tournamentSize;
+		this.makeRandomGenome = makeRandomGenome;
+		this.computeFitness = computeFitness;
+		this.mutateGenes = mutateGenes;
+		this.evaluator = evaluator;
+		this.rand = new KeyedRandom(seed);
+		this.current = store1;
+		this.next = store2;
+		this.eliteRows = new int[NUM_ELITE];
+		this.batch = new GenomeRow[Math.min(BATCH_SIZE, size)];
+		for (int i=0; i<batch.length; i++){
+			batch[i] = new GenomeRow();
+		}
+		this.batchView = Arrays.asList(batch);
+		this.batchFitness = new double[batch.length];
+		initPopulation();
+	}
+
+	private void initPopulation(){
+		for (int i=0; i<size; i++){
+			makeRandomGenome.accept(rand.at(0, i), cursor.moveTo(current, i));
+		}
+		setFitnessValues(current, 0);
+		fittestRow = findFittest(current);
+	}
+
+	/**
+	 * Run the genetic algorithm steps into the next store:
+	 * 1.Copy the NUM_ELITE fittest rows;
+	 * 		fill the remaining rows by
+	 * 2.Copying two parents picked by tournament;
+	 * 3.Crossover these two rows;
+	 * 4.Mutate them;
+	 * 5.Calculate and set the fitness values of the new rows, then swap the stores.
+	 *
+	 * Each pair of offspring draws from its own random stream, keyed by generation and pair.
+	 * If the fitness evaluation fails the current generation is left untouched.
+	 * @throws FitnessEvaluationException when the fitness function fails on an individual
+	 */
+	public void newGeneration(){
+		int numElite = topRows(current, eliteRows);
+		for (int i=0; i<numElite; i++){
+			next.copyRow(current, eliteRows[i], i);
+		}
+
+		int length = current.getLength();
+		for (int pair=0, row=numElite; row < size; pair++, row+=2){
+			rand.at(generation_num + 1, pair);
+			boolean both = row + 1 < size;
+			next.copyRow(current, tournament(), row);
+			if (both)
+				next.copyRow(current, tournament(), row + 1);
+			if (both && rand.nextDouble() < CROSSOVER_RATE)
+				next.swapTail(row, row + 1, rand.nextInt(length));
+			mutateGenes.accept(rand, cursor.moveTo(next, row));
+			if (both)
+				mutateGenes.accept(rand, cursor.moveTo(next, row + 1));
+		}
+
+		setFitnessValues(next, numElite);
+		GenomeStore previous = current;
+		current = next;
+		next = previous;
+		fittestRow = findFittest(current);
+		generation_num++;
+	}
+
+	/**
+	 * Runs new generations until one of the conditions is met;
+	 * the conditions are also checked before the first generation.
+	 * @param conditions when to stop, see @see src.main.java.model.StopConditions
+	 * @return the summary of the run, with a copy on the heap of the fittest genome
+	 * @throws FitnessEvaluationException when the fitness function fails on an individual
+	 */
+	public RunSummary<IntChromo> evolve(StopCondition... conditions){
+		if (conditions.length == 0)
+			throw new IllegalArgumentException("A run needs at least one stop condition");
+		RunProgress progress = new RunProgress(size, numEvaluations, getBestFitness());
+		StopCondition met;
+		while ((met = AbstractPopulation.metCondition(conditions, progress)) == null){
+			newGeneration();
+			progress.generationCompleted(numEvaluations, getBestFitness());
+		}
+		progress.updateElapsedTime();
+		return new RunSummary<IntChromo>(met, progress, getFittestChromo(), rand.getSeed());
+	}
+
+	/**
+	 * Computes the fitness of the rows of store from row from onwards, one batch at a time
+	 */
+	private void setFitnessValues(GenomeStore store, int from){
+		for (int start=from; start<size; start+=batch.length){
+			int count = Math.min(batch.length, size - start);
+			for (int i=0; i<count; i++){
+				batch[i].moveTo(store, start + i);
+			}
+			evaluator.evaluate(batchView(count), computeFitness, batchFitness);
+			numEvaluations += count;
+			for (int i=0; i<count; i++){
+				store.setFitness(start + i, batchFitness[i]);
+			}
+		}
+	}
+
+	/**
+	 * @return a view of the first count rows of the batch, allocated only when count changes
+	 */
+	private List<GenomeRow> batchView(int count){
+		if (count == batch.length)
+			return batchView;
+		if (tailView == null || tailView.size() != count)
+			tailView = batchView.subList(0, count);
+		return tailView;
+	}
+
+	/**
+	 * @return the fittest of tournamentSize random rows of the current store
+	 */
+	private int tournament(){
+		int winner = rand.nextInt(size);
+		for (int i=1; i<tournamentSize; i++){
+			int candidate = rand.nextInt(size);
+			if (current.getFitness(candidate) > current.getFitness(winner))
+				winner = candidate;
+		}
+		return winner;
+	}
+
+	/**
+	 * Finds the fittest rows of store, from the fittest
+	 * @param top destination of the rows, as many as its length
+	 * @return the number of rows found
+	 */
+	private int topRows(GenomeStore store, int[] top){
+		int count = 0;
+		if (top.length == 0)
+			return count;
+		for (int row=0; row<size; row++){
+			double fitness = store.getFitness(row);
+			if (count == top.length && fitness <= store.getFitness(top[count - 1]))
+				continue;
+			int i = (count < top.length) ? count++ : count - 1;
+			for (; i > 0 && fitness > store.getFitness(top[i - 1]); i--){
+				top[i] = top[i - 1];
+			}
+			top[i] = row;
+		}
+		return count;
+	}
+
+	private int findFittest(GenomeStore store){
+		int fittest = 0;
+		for (int row=1; row<size; row++){
+			if (store.getFitness(row) > store.getFitness(fittest))
+				fittest = row;
+		}
+		return fittest;
+	}
+
+	/**
+	 * @return a copy on the heap of the fittest genome of the current generation
+	 */
+	public IntChromo getFittestChromo() {
+		return new IntChromo(current.toArray(fittestRow), current.getFitness(fittestRow));
+	}
+
+	public double getBestFitness() {
+		return current.getFitness(fittestRow);
+	}
+
+	/**
+	 * @return a copy of the genes of the individual at row
+	 */
+	public int[] getGenes(int row) {
+		return current.toArray(row);
+	}
+
+	public double getFitness(int row) {
+		return current.getFitness(row);
+	}
+
+	/**
+	 * @return the store of the current generation, which changes at every generation
+	 */
+	public GenomeStore getStore() {
+		return current;
+	}
+
+	/**
+	 * @return how many times the fitness function has been called
+	 */
+	public long getNumberOfEvaluations() {
+		return this.numEvaluations;
+	}
+
+	/**
+	 * @return the seed of the random streams of the population
+	 */
+	public long getSeed() {
+		return rand.getSeed();
+	}
+
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * @return number of genes of each genome
+	 */
+	public int getLength() {
+		return current.getLength();
+	}
+
+	public int getNumberOfGenerations() {
+		return this.generation_num;
+	}
+}
@@ -0,0 +1,59 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The values to try for each parameter of a @see src.main.java.model.BatchRunner:
+ * every combination of values is a @see src.main.java.model.Configuration.
+ */
+public class ParameterGrid {
+	private final Map<String, List<Object>> values = new LinkedHashMap<>();
+	
+	/**
+	 * @param name name of the parameter, a column of the results
+	 * @param values values to try
+	 * @return this grid
+	 */
+	public ParameterGrid add(String name, Object... values){
+		if (values.length == 0)
+			throw new IllegalArgumentException("No values for " + name);
+		if (this.values.containsKey(name))
+			throw new IllegalArgumentException("Duplicate parameter " + name);
+		this.values.put(name, Arrays.asList(values));
+		return this;
+	}
+	
+	public List<String> getNames(){
+		return Collections.unmodifiableList(new ArrayList<>(values.keySet()));
+	}
+	
+	/**
+	 * @return all the combinations of values, the last parameter changing fastest
+	 */
+	public List<Configuration> getConfigurations(){
+		List<Map<String, Object>> combinations = new ArrayList<>();
+		combinations.add(new LinkedHashMap<>());
+		for (Map.Entry<String, List<Object>> parameter : values.entrySet()){
+			List<Map<String, Object>> extended = new ArrayList<>();
+			for (Map<String, Object> combination : combinations){
+				for (Object value : parameter.getValue()){
+					Map<String, Object> next = new LinkedHashMap<>(combination);
+					next.put(parameter.getKey(), value);
+					extended.add(next);
+				}
+			}
+			combinations = extended;
+		}
+		
+		List<Configuration> configurations = new ArrayList<>(combinations.size());
+		for (Map<String, Object> combination : combinations){
+			configurations.add(new Configuration(combination));
+		}
+		return configurations;
+	}
+}
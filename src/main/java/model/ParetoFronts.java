@@ -0,0 +1,131 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Non-dominated sorting and crowding distance of objective vectors,
+ * as used by @see src.main.java.model.MultiObjectivePopulation.
+ * Every objective is maximized: a dominates b when a is at least as good as b in every objective
+ * and better in one.
+ *
+ * The sorting is the efficient non-dominated sort with binary search (ENS-BS):
+ * points are visited in lexicographic order, so a point can only be dominated by points already
+ * placed in a front, and the first front not dominating it is found by binary search over the fronts.
+ * With two objectives only the last point of a front needs to be checked,
+ * so the sorting takes O(N log N); with more objectives the fronts are scanned from their last point,
+ * which in practice is far below the O(MN^2) comparisons of the original NSGA-II sorting.
+ */
+public class ParetoFronts {
+
+	private ParetoFronts() {};
+
+	/**
+	 * @return whether a dominates b
+	 */
+	public static boolean dominates(double[] a, double[] b){
+		boolean better = false;
+		for (int m=0; m<a.length; m++){
+			if (a[m] < b[m])
+				return false;
+			if (a[m] > b[m])
+				better = true;
+		}
+		return better;
+	}
+
+	/**
+	 * Assigns every point the index of its front: 0 for the points no other point dominates,
+	 * 1 for the points dominated only by points of front 0, and so on.
+	 * @param points objective vectors, all of the same length
+	 * @param count number of points to sort, starting from the first
+	 * @param ranks destination of the front indices, at least count long
+	 * @return the number of fronts
+	 */
+	public static int sort(double[][] points, int count, int[] ranks){
+		Integer[] order = new Integer[count];
+		for (int i=0; i<count; i++){
+			order[i] = i;
+		}
+		Arrays.sort(order, lexicographic(points).reversed());
+		boolean twoObjectives = count > 0 && points[0].length == 2;
+
+		List<int[]> fronts = new ArrayList<int[]>();
+		int[] sizes = new int[count];
+		for (int p : order){
+			//the first front that does not dominate p
+			int low = 0, high = fronts.size();
+			while (low < high){
+				int middle = (low + high) >>> 1;
+				if (dominated(points, p, fronts.get(middle), sizes[middle], twoObjectives))
+					low = middle + 1;
+				else
+					high = middle;
+			}
+			if (low == fronts.size())
+				fronts.add(new int[4]);
+			int[] front = fronts.get(low);
+			if (sizes[low] == front.length)
+				fronts.set(low, front = Arrays.copyOf(front, front.length * 2));
+			front[sizes[low]++] = p;
+			ranks[p] = low;
+		}
+		return fronts.size();
+	}
+
+	private static boolean dominated(double[][] points, int p, int[] front, int size, boolean twoObjectives){
+		//lexicographic order: the members of the front come before p, so p cannot dominate them
+		if (twoObjectives)
+			return dominates(points[front[size - 1]], points[p]);
+		for (int i=size - 1; i>=0; i--){
+			if (dominates(points[front[i]], points[p]))
+				return true;
+		}
+		return false;
+	}
+
+	private static Comparator<Integer> lexicographic(double[][] points){
+		return (a, b) -> {
+			for (int m=0; m<points[a].length; m++){
+				int compared = Double.compare(points[a][m], points[b][m]);
+				if (compared != 0)
+					return compared;
+			}
+			return 0;
+		};
+	}
+
+	/**
+	 * Computes the crowding distance of the members of a front: the normalized perimeter
+	 * of the box formed by their neighbours in every objective, infinite for the extreme points.
+	 * @param points objective vectors
+	 * @param members indices of the points of the front
+	 * @param count number of members
+	 * @param distances destination, indexed as points
+	 */
+	public static void crowdingDistance(double[][] points, int[] members, int count, double[] distances){
+		for (int i=0; i<count; i++){
+			distances[members[i]] = 0;
+		}
+		if (count == 0)
+			return;
+		Integer[] sorted = new Integer[count];
+		for (int m=0; m<points[members[0]].length; m++){
+			for (int i=0; i<count; i++){
+				sorted[i] = members[i];
+			}
+			final int objective = m;
+			Arrays.sort(sorted, (a, b) -> Double.compare(points[a][objective], points[b][objective]));
+			double min = points[sorted[0]][m], max = points[sorted[count - 1]][m];
+			distances[sorted[0]] = Double.POSITIVE_INFINITY;
+			distances[sorted[count - 1]] = Double.POSITIVE_INFINITY;
+			if (max == min)
+				continue;
+			for (int i=1; i<count - 1; i++){
+				distances[sorted[i]] += (points[sorted[i + 1]][m] - points[sorted[i - 1]][m]) / (max - min);
+			}
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A member of the Pareto front of a @see src.main.java.model.MultiObjectivePopulation:
+ * a copy of the chromo and its objective values.
+ *
+ * @param <T> the type of the genes
+ */
+public class ParetoSolution <T> {
+	private final Chromo<T> chromo;
+	private final double[] objectives;
+
+	ParetoSolution(Chromo<T> chromo, double[] objectives){
+		this.chromo = chromo;
+		this.objectives = objectives;
+	}
+
+	public Chromo<T> getChromo() {
+		return chromo;
+	}
+
+	/**
+	 * @return a copy of the objective values
+	 */
+	public double[] getObjectives() {
+		return objectives.clone();
+	}
+
+	public double getObjective(int index) {
+		return objectives[index];
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(objectives) + " " + chromo.getGenes();
+	}
+}
@@ -0,0 +1,47 @@
+package model;
+
+import java.util.List;
+
+/**
+ * A Chromo whose genes are stored in a primitive array, 
+ * so that genetic operators never box a gene.
+ * Crossover and copies work in place on the arrays.
+ * 
+ * @param <C> the concrete Chromo type
+ */
+public abstract class PrimitiveChromo<C extends PrimitiveChromo<C>> extends AbstractChromo {
+	
+	/**
+	 * @return a new Chromo with the same genes and fitness
+	 */
+	public abstract C copy();
+	
+	/**
+	 * Overwrites genes and fitness of this Chromo with the ones of other
+	 * @param other the Chromo to copy
+	 */
+	public abstract void copyFrom(C other);
+	
+	/**
+	 * Single-point crossover: exchanges with other all the genes from position onwards
+	 * @param other the Chromo to exchange genes with
+	 * @param position first exchanged gene
+	 */
+	public abstract void swapTail(C other, int position);
+	
+	/**
+	 * Allocates a single contiguous matrix holding rows chromos as long as this one, 
+	 * each row being exposed as a Chromo viewing its part of the matrix.
+	 * Rows cannot change their length.
+	 * @param rows number of chromos
+	 * @return the rows of the new matrix, initialized with zero genes
+	 */
+	public abstract List<C> allocateRows(int rows);
+	
+	static int matrixSize(int rows, int rowLength){
+		long matrixSize = (long) rows * rowLength;
+		if (matrixSize > Integer.MAX_VALUE)
+			throw new IllegalArgumentException(rows + " rows of " + rowLength + " do not fit in an array");
+		return (int) matrixSize;
+	}
+}
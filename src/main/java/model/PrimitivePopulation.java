@@ -0,0 +1,154 @@
+package model;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A genetic population of chromos with primitive genes (@see src.main.java.model.IntChromo,
+ * @see src.main.java.model.DoubleChromo, @see src.main.java.model.BitChromo).
+ * Selection, crossover, mutation and fitness never box a gene: 
+ * offspring are array copies of their parents, crossover and mutation work in place 
+ * and fitness is computed as a primitive double.
+ * With contiguous storage the genes of a generation are rows of a single matrix
+ * and two such matrices are swapped at every generation, 
+ * so that the evolution loop does not allocate any memory.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class PrimitivePopulation <C extends PrimitiveChromo<C>> extends AbstractPopulation<C> {
+	private Function<Random, C> makeRandomChromo;
+	private ToDoubleFunction<C> computeFitness;
+	private BiConsumer<Random, C> mutateGenes;
+	
+	private List<C> rows1, rows2;
+	private boolean writeRows1 = true;
+	
+	/**
+	 * Constructs and initialize a new genetic population
+	 * 
+	 * @param size number of chromos in the population
+	 * @param crossoverRate
+	 * @param numElite
+	 * @param makeRandomChromo function
+	 * @param computeFitness function
+	 * @param mutateGenes function, mutating the genes of the given chromo in place
+	 */
+	public PrimitivePopulation (int size, double crossoverRate, int numElite,
+			Function<Random, C> makeRandomChromo,
+			ToDoubleFunction<C> computeFitness,
+			BiConsumer<Random, C> mutateGenes){	
+		this(size, crossoverRate, numElite, makeRandomChromo, computeFitness, mutateGenes,
+				FitnessEvaluators.sequential());
+	}
+	
+	/**
+	 * Constructs and initialize a new genetic population 
+	 * whose fitness values are computed by the given evaluator
+	 * 
+	 * @param size number of chromos in the population
+	 * @param crossoverRate
+	 * @param numElite
+	 * @param makeRandomChromo function
+	 * @param computeFitness function
+	 * @param mutateGenes function, mutating the genes of the given chromo in place
+	 * @param evaluator where the fitness function is run, see @see src.main.java.model.FitnessEvaluators
+	 */
+	public PrimitivePopulation (int size, double crossoverRate, int numElite,
+			Function<Random, C> makeRandomChromo,
+			ToDoubleFunction<C> computeFitness,
+			BiConsumer<Random, C> mutateGenes,
+			FitnessEvaluator evaluator){	
+		this(size, crossoverRate, numElite, makeRandomChromo, computeFitness, mutateGenes,
+				evaluator, new Random().nextLong());
+	}
+	
+	/**
+	 * Constructs and initialize a new genetic population 
+	 * whose generations are determined by the given seed
+	 * 
+	 * @param size number of chromos in the population
+	 * @param crossoverRate
+	 * @param numElite
+	 * @param makeRandomChromo function
+	 * @param computeFitness function
+	 * @param mutateGenes function, mutating the genes of the given chromo in place
+	 * @param evaluator where the fitness function is run, see @see src.main.java.model.FitnessEvaluators
+	 * @param seed seed of the random streams, see @see src.main.java.model.KeyedRandom
+	 */
+	public PrimitivePopulation (int size, double crossoverRate, int numElite,
+			Function<Random, C> makeRandomChromo,
+			ToDoubleFunction<C> computeFitness,
+			BiConsumer<Random, C> mutateGenes,
+			FitnessEvaluator evaluator, long seed){	
+		super(size, crossoverRate, numElite, evaluator, seed);
+		this.makeRandomChromo = makeRandomChromo;
+		this.computeFitness = computeFitness;
+		this.mutateGenes = mutateGenes;
+		initPopulation();
+	}
+
+	/**
+	 * Enables or disables the contiguous storage of the genes, starting from the next generation.
+	 * The two matrices are allocated the first time the storage is enabled, 
+	 * all the individuals must have the same number of genes.
+	 * @param contiguous whether genes are stored in two swapped matrices
+	 */
+	public void setContiguousStorage(boolean contiguous) {
+		if (!contiguous){
+			rows1 = rows2 = null;
+		}
+		else if (rows1 == null){
+			//one extra row holds the offspring discarded when the population size is odd
+			C prototype = getFittestChromo();
+			rows1 = prototype.allocateRows(getSize() + 1);
+			rows2 = prototype.allocateRows(getSize() + 1);
+		}
+	}
+	
+	public boolean isContiguousStorage() {
+		return rows1 != null;
+	}
+	
+	@Override
+	protected C offspring(C parent, int slot) {
+		if (rows1 == null)
+			return parent.copy();
+		C child = writeRows1 ? rows1.get(slot) : rows2.get(slot);
+		child.copyFrom(parent);
+		return child;
+	}
+	
+	@Override
+	protected void generationReplaced() {
+		writeRows1 = !writeRows1;
+	}
+	
+	@Override
+	protected C makeChromo(Random rand) {
+		return makeRandomChromo.apply(rand);
+	}
+
+	@Override
+	protected double computeFitness(C chromo) {
+		return computeFitness.applyAsDouble(chromo);
+	}
+
+	@Override
+	protected C copy(C chromo) {
+		return chromo.copy();
+	}
+
+	@Override
+	protected void crossOver(C offspring1, C offspring2, int position) {
+		offspring1.swapTail(offspring2, position);
+	}
+
+	@Override
+	protected C mutate(Random rand, C chromo) {
+		mutateGenes.accept(rand, chromo);
+		return chromo;
+	}
+}
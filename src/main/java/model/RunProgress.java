@@ -0,0 +1,108 @@
+package model;
+
+/**
+ * State of a run of @see src.main.java.model.AbstractPopulation#evolve(StopCondition...),
+ * counted from the start of the run.
+ */
+public class RunProgress {
+	private final int populationSize;
+	private final int evaluationsPerStep;
+	private final long startTime;
+	private final long startEvaluations;
+	private int generations;
+	private long evaluations;
+	private long elapsedTime;
+	private long lastGenerationTime;
+	private long lastGenerationEnd;
+	private double bestFitness;
+	private int generationsWithoutImprovement;
+	
+	RunProgress(int populationSize, long startEvaluations, double bestFitness){
+		this(populationSize, populationSize, startEvaluations, bestFitness);
+	}
+	
+	/**
+	 * @param evaluationsPerStep most evaluations the run does before checking the conditions again
+	 */
+	RunProgress(int populationSize, int evaluationsPerStep, long startEvaluations, double bestFitness){
+		this.populationSize = populationSize;
+		this.evaluationsPerStep = evaluationsPerStep;
+		this.startTime = System.nanoTime();
+		this.lastGenerationEnd = startTime;
+		this.startEvaluations = startEvaluations;
+		this.bestFitness = bestFitness;
+	}
+	
+	void generationCompleted(long totalEvaluations, double fittest){
+		long now = System.nanoTime();
+		lastGenerationTime = now - lastGenerationEnd;
+		lastGenerationEnd = now;
+		elapsedTime = now - startTime;
+		generations++;
+		evaluations = totalEvaluations - startEvaluations;
+		if (fittest > bestFitness || Double.isNaN(bestFitness)){
+			bestFitness = fittest;
+			generationsWithoutImprovement = 0;
+		}
+		else
+			generationsWithoutImprovement++;
+	}
+	
+	void updateElapsedTime(){
+		elapsedTime = System.nanoTime() - startTime;
+	}
+	
+	public int getPopulationSize() {
+		return populationSize;
+	}
+	
+	/**
+	 * @return most evaluations the run does before checking the conditions again: 
+	 * 	the population size, or 1 for runs evaluating one individual at a time
+	 */
+	int getEvaluationsPerStep() {
+		return evaluationsPerStep;
+	}
+	
+	/**
+	 * @return generations completed in this run
+	 */
+	public int getGenerations() {
+		return generations;
+	}
+	
+	/**
+	 * @return calls to the fitness function in this run
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+	
+	/**
+	 * @return nanoseconds since the start of the run
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+	
+	/**
+	 * @return nanoseconds taken by the last generation, 0 before the first one
+	 */
+	public long getLastGenerationTime() {
+		return lastGenerationTime;
+	}
+	
+	/**
+	 * @return the best fitness reached so far, NaN for an empty population
+	 */
+	public double getBestFitness() {
+		return bestFitness;
+	}
+	
+	/**
+	 * @return number of generations since the best fitness last improved
+	 */
+	public int getGenerationsWithoutImprovement() {
+		return generationsWithoutImprovement;
+	}
+}
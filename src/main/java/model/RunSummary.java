@@ -0,0 +1,84 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a run of @see src.main.java.model.AbstractPopulation#evolve(StopCondition...)
+ * 
+ * @param <C> the type of the chromos
+ */
+public class RunSummary <C extends AbstractChromo> {
+	private final StopCondition stopCondition;
+	private final int generations;
+	private final long evaluations;
+	private final long elapsedTime;
+	private final double bestFitness;
+	private final C fittestChromo;
+	private final long seed;
+	
+	RunSummary(StopCondition stopCondition, RunProgress progress, C fittestChromo, long seed){
+		this.stopCondition = stopCondition;
+		this.generations = progress.getGenerations();
+		this.evaluations = progress.getEvaluations();
+		this.elapsedTime = progress.getElapsedTime();
+		this.bestFitness = progress.getBestFitness();
+		this.fittestChromo = fittestChromo;
+		this.seed = seed;
+	}
+	
+	/**
+	 * @return the condition that ended the run
+	 */
+	public StopCondition getStopCondition() {
+		return stopCondition;
+	}
+	
+	public int getGenerations() {
+		return generations;
+	}
+	
+	public long getEvaluations() {
+		return evaluations;
+	}
+	
+	/**
+	 * @return duration of the run in nanoseconds
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+	
+	/**
+	 * @return calls to the fitness function per second of run
+	 */
+	public double getEvaluationsPerSecond() {
+		return (elapsedTime == 0) ? 0 : evaluations * 1e9 / elapsedTime;
+	}
+	
+	/**
+	 * @return the best fitness reached during the run
+	 */
+	public double getBestFitness() {
+		return bestFitness;
+	}
+	
+	/**
+	 * @return a copy of the fittest individual of the last generation
+	 */
+	public C getFittestChromo() {
+		return fittestChromo;
+	}
+
+	/**
+	 * @return the seed of the population, which reproduces the run
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("seed %d stopped by %s after %d generations, %d evaluations and %d ms, best fitness %s",
+				seed, stopCondition, generations, evaluations, TimeUnit.NANOSECONDS.toMillis(elapsedTime), bestFitness);
+	}
+}
@@ -0,0 +1,165 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Built-in implementations of @see src.main.java.model.SelectionStrategy.
+ * Each factory method returns a new instance.
+ */
+public class SelectionStrategies {
+	
+	private SelectionStrategies() {};
+	
+	/**
+	 * Fitness proportionate selection, sampled in O(log n) from a cumulative fitness table.
+	 * Negative fitness values count as zero; when the total fitness is zero 
+	 * individuals are picked uniformly at random. 
+	 * NaN and infinite fitness values are rejected with an IllegalArgumentException.
+	 * @return a new roulette selection
+	 */
+	public static SelectionStrategy roulette(){
+		return new RouletteSelection();
+	}
+	
+	/**
+	 * Picks tournamentSize individuals uniformly at random and selects the fittest of them.
+	 * @param tournamentSize number of contenders, at least 1
+	 * @return a new tournament selection
+	 */
+	public static SelectionStrategy tournament(int tournamentSize){
+		if (tournamentSize < 1)
+			throw new IllegalArgumentException("Tournament size must be at least 1, was " + tournamentSize);
+		return new TournamentSelection(tournamentSize);
+	}
+	
+	/**
+	 * Linear ranking selection: the probability of an individual depends only on its rank,
+	 * the fittest being selectionPressure times more likely than the average individual.
+	 * @param selectionPressure expected number of offspring of the fittest individual, between 1 and 2
+	 * @return a new linear rank selection
+	 */
+	public static SelectionStrategy linearRank(double selectionPressure){
+		if (selectionPressure < 1 || selectionPressure > 2)
+			throw new IllegalArgumentException("Selection pressure must be in [1, 2], was " + selectionPressure);
+		return new LinearRankSelection(selectionPressure);
+	}
+	
+	/**
+	 * @return the first position of cumulative[0, size) whose value is greater or equal than target
+	 */
+	static int searchCumulative(double[] cumulative, int size, double target){
+		int low = 0;
+		int high = size - 1;
+		while (low < high){
+			int mid = (low + high) >>> 1;
+			if (cumulative[mid] >= target)
+				high = mid;
+			else
+				low = mid + 1;
+		}
+		return low;
+	}
+	
+	private static class RouletteSelection implements SelectionStrategy {
+		private double[] cumulative = new double[0];
+		private int size;
+		private double totalFitness;
+
+		@Override
+		public void prepare(double[] fitness, int size) {
+			if (cumulative.length < size)
+				cumulative = new double[size];
+			this.size = size;
+			
+			double fitnessSoFar = 0;
+			for (int i=0; i<size; i++){
+				//a single NaN or infinity would make every slice of the wheel meaningless
+				if (Double.isNaN(fitness[i]) || Double.isInfinite(fitness[i]))
+					throw new IllegalArgumentException("Roulette selection needs finite fitness, individual " 
+							+ i + " has " + fitness[i]);
+				fitnessSoFar += Math.max(0, fitness[i]);
+				cumulative[i] = fitnessSoFar;
+			}
+			totalFitness = fitnessSoFar;
+		}
+
+		@Override
+		public int select(Random rand) {
+			if (!(totalFitness > 0))
+				return rand.nextInt(size);
+			double slice = rand.nextDouble() * totalFitness;
+			return searchCumulative(cumulative, size, slice);
+		}
+	}
+	
+	private static class TournamentSelection implements SelectionStrategy {
+		private final int tournamentSize;
+		private double[] fitness;
+		private int size;
+		
+		TournamentSelection(int tournamentSize){
+			this.tournamentSize = tournamentSize;
+		}
+
+		@Override
+		public void prepare(double[] fitness, int size) {
+			this.fitness = fitness;
+			this.size = size;
+		}
+
+		@Override
+		public int select(Random rand) {
+			int best = rand.nextInt(size);
+			for (int i=1; i<tournamentSize; i++){
+				int contender = rand.nextInt(size);
+				if (fitness[contender] > fitness[best])
+					best = contender;
+			}
+			return best;
+		}
+	}
+	
+	private static class LinearRankSelection implements SelectionStrategy {
+		private final double selectionPressure;
+		private final FitnessRanking ownRanking = new FitnessRanking();
+		private FitnessRanking ranking;
+		private double[] cumulative = new double[0];
+		private int size;
+		
+		LinearRankSelection(double selectionPressure){
+			this.selectionPressure = selectionPressure;
+		}
+
+		@Override
+		public void prepare(double[] fitness, int size) {
+			ownRanking.update(fitness, size);
+			prepare(ownRanking);
+		}
+		
+		@Override
+		public void prepare(FitnessRanking ranking) {
+			this.ranking = ranking;
+			ranking.order();
+			if (ranking.size() == size)
+				return;
+			
+			size = ranking.size();
+			if (cumulative.length < size)
+				cumulative = new double[size];
+			//rank 0 is the fittest, its weight is sp, the least fit one has weight 2-sp
+			double weightSoFar = 0;
+			for (int rank=0; rank<size; rank++){
+				double weight = (size == 1) ? 1 
+						: selectionPressure - 2 * (selectionPressure - 1) * rank / (size - 1);
+				weightSoFar += weight;
+				cumulative[rank] = weightSoFar;
+			}
+		}
+
+		@Override
+		public int select(Random rand) {
+			double slice = rand.nextDouble() * cumulative[size - 1];
+			return ranking.atRank(searchCumulative(cumulative, size, slice));
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * How parents are picked from a generation.
+ * A strategy is prepared once per generation from the fitness values of the individuals,
+ * and then sampled once per parent, so that the per-generation cost does not grow 
+ * with the square of the population size.
+ * Strategies keep per-generation state, hence an instance must not be shared between populations.
+ * See @see src.main.java.model.SelectionStrategies for the built-in ones.
+ */
+public interface SelectionStrategy {
+	
+	/**
+	 * Prepares the sampling structures for a new generation.
+	 * @param fitness fitness values of the individuals, fitness[i] belongs to the i-th individual
+	 * @param size number of individuals, only the first size values of fitness are meaningful
+	 */
+	void prepare(double[] fitness, int size);
+	
+	/**
+	 * Prepares the sampling structures for a new generation from its ranking, 
+	 * which strategies based on ranks use to avoid sorting the population again.
+	 * @param ranking ranking of the individuals, valid until the next generation
+	 */
+	default void prepare(FitnessRanking ranking){
+		prepare(ranking.getFitnessValues(), ranking.size());
+	}
+	
+	/**
+	 * @param rand source of randomness
+	 * @return the position of the selected individual
+	 */
+	int select(Random rand);
+}
@@ -0,0 +1,36 @@
+package model;
+
+/**
+ * A fitness function reading the int genes of a chromo in order, one at a time, 
+ * through an intermediate state: a path in a maze, a program, a sequence of moves.
+ * Such a function can resume from the state reached after any prefix of the genes,
+ * which @see src.main.java.model.IncrementalFitness uses to evaluate offspring 
+ * only from their first gene differing from the parent's.
+ * 
+ * @param <S> the type of the state
+ */
+public interface SequentialFitness<S> {
+	
+	/**
+	 * @return the state before the first gene
+	 */
+	S start();
+	
+	/**
+	 * Advances the state by one gene
+	 * @param state the state, modified in place
+	 * @param gene the next gene
+	 * @return false if the remaining genes cannot change the fitness
+	 */
+	boolean step(S state, int gene);
+	
+	/**
+	 * @return an independent copy of state, which is kept as a checkpoint
+	 */
+	S copy(S state);
+	
+	/**
+	 * @return the fitness of a chromo whose genes led to state
+	 */
+	double fitness(S state);
+}
@@ -0,0 +1,322 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Steady-state evolution of a population, without generations: 
+ * each worker thread repeatedly selects two parents by tournament, breeds and evaluates two offspring 
+ * and puts each of them in place of a weak individual, chosen by an inverse tournament.
+ * Workers never wait for each other, so fitness functions of uneven cost keep every core busy.
+ * 
+ * The individuals live in an array of slots replaced by compare-and-set: 
+ * chromos in a slot are never modified, offspring are bred from copies.
+ * An offspring only replaces an individual that is not fitter than itself, 
+ * so the fitness of the k fittest individuals never decreases, for any k (elitism).
+ * 
+ * Each worker draws from its own @see src.main.java.model.KeyedRandom stream, split from the seed of the population;
+ * the run still depends on the scheduling of the workers.
+ * Stop conditions are checked every population size evaluations, a virtual generation, 
+ * and every {@value #POLL_MILLIS} milliseconds by the thread calling evolve.
+ * Evaluation budgets, as @see src.main.java.model.StopConditions#maxEvaluations(long), are enforced
+ * exactly: each worker reserves an evaluation before running it, and the run stops when none is left.
+ * Adaptive rates of the population are fed with the measures of every virtual generation,
+ * and workers read the crossover and mutation rates before each breeding.
+ * When the run ends the individuals go back to the population.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class SteadyState <C extends AbstractChromo> {
+	private static final long POLL_MILLIS = 10;
+	private static final int MAX_REPLACEMENT_ATTEMPTS = 4;
+	
+	private final AbstractPopulation<C> population;
+	private final int numThreads;
+	private int tournamentSize = 2;
+	
+	private AtomicReferenceArray<C> slots;
+	private final AtomicReference<C> best = new AtomicReference<C>();
+	private final LongAdder evaluations = new LongAdder();
+	private final AtomicLong reserved = new AtomicLong();
+	private long budget;
+	private final LongAdder replacements = new LongAdder();
+	private final Object lock = new Object();
+	private volatile boolean stopped;
+	private StopCondition metCondition;
+	private RuntimeException failure;
+	private RunProgress progress;
+	private StopCondition[] conditions;
+	private volatile long nextCheck;
+	
+	/**
+	 * @param population the population to evolve, using its functions and crossover rate
+	 * @param numThreads number of worker threads
+	 */
+	public SteadyState(AbstractPopulation<C> population, int numThreads){
+		if (numThreads < 1)
+			throw new IllegalArgumentException("Number of threads must be at least 1, was " + numThreads);
+		this.population = population;
+		this.numThreads = numThreads;
+	}
+	
+	/**
+	 * @param tournamentSize contenders of the tournaments selecting parents and weak individuals, at least 1
+	 */
+	public void setTournamentSize(int tournamentSize) {
+		if (tournamentSize < 1)
+			throw new IllegalArgumentException("Tournament size must be at least 1, was " + tournamentSize);
+		this.tournamentSize = tournamentSize;
+	}
+	
+	/**
+	 * Evolves the population until one of the conditions is met.
+	 * A generation of the run summary is a virtual generation of population size evaluations.
+	 * @param conditions when to stop, see @see src.main.java.model.StopConditions
+	 * @return the summary of the run
+	 * @throws RuntimeException the first exception thrown by the fitness function, if any
+	 */
+	public RunSummary<C> evolve(StopCondition... conditions){
+		if (conditions.length == 0)
+			throw new IllegalArgumentException("A run needs at least one stop condition");
+		List<C> individuals = population.getIndividuals();
+		if (individuals.isEmpty())
+			throw new IllegalStateException("Cannot evolve an empty population");
+		
+		slots = new AtomicReferenceArray<C>(individuals.size());
+		C fittest = individuals.get(0);
+		for (int i=0; i<individuals.size(); i++){
+			slots.set(i, individuals.get(i));
+			if (individuals.get(i).getFitness() > fittest.getFitness())
+				fittest = individuals.get(i);
+		}
+		best.set(fittest);
+		evaluations.reset();
+		reserved.set(0);
+		budget = StopConditions.evaluationBudget(conditions);
+		replacements.reset();
+		stopped = false;
+		metCondition = null;
+		failure = null;
+		this.conditions = conditions;
+		this.progress = new RunProgress(slots.length(), 1, 0, fittest.getFitness());
+		this.nextCheck = slots.length();
+		
+		ExecutorService workers = Executors.newFixedThreadPool(numThreads, runnable -> {
+			Thread thread = new Thread(runnable, "steady-state-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			synchronized (lock) {
+				checkConditions(false);
+				//the streams of a run are keyed by the evaluations done before it, unique to the run
+				long run = population.getNumberOfEvaluations();
+				for (int i=0; i<numThreads && !stopped; i++){
+					KeyedRandom rand = new KeyedRandom(population.getSeed()).split(i).at(run, 0);
+					workers.execute(() -> work(rand));
+				}
+				while (!stopped){
+					lock.wait(POLL_MILLIS);
+					checkConditions(false);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stop(null);
+		} finally {
+			workers.shutdown();
+			awaitTermination(workers);
+		}
+		
+		List<C> evolved = new ArrayList<C>(slots.length());
+		for (int i=0; i<slots.length(); i++){
+			evolved.add(slots.get(i));
+		}
+		population.setIndividuals(evolved);
+		population.addEvaluations(evaluations.sum());
+		if (failure != null)
+			throw failure;
+		
+		synchronized (lock) {
+			progress.updateElapsedTime();
+			return new RunSummary<C>(metCondition, progress, population.getFittestChromo(), population.getSeed());
+		}
+	}
+	
+	private static void awaitTermination(ExecutorService workers){
+		boolean interrupted = false;
+		while (true){
+			try {
+				if (workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS))
+					break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+	
+	private void work(Random rand){
+		try {
+			while (!stopped){
+				C offspring1 = population.copy(select(rand, true));
+				C offspring2 = population.copy(select(rand, true));
+				if (rand.nextDouble() < population.getCrossoverRate())
+					population.crossOver(offspring1, offspring2, rand.nextInt(offspring1.length()));
+				if (!insert(population.mutate(rand, offspring1), rand) 
+						|| !insert(population.mutate(rand, offspring2), rand)){
+					synchronized (lock) {
+						checkConditions(true);
+						stop(StopConditions.budgetCondition(conditions));
+					}
+					return;
+				}
+			}
+		} catch (RuntimeException e) {
+			synchronized (lock) {
+				if (failure == null)
+					failure = e;
+				stop(null);
+			}
+		}
+	}
+	
+	/**
+	 * @return the position of the winner of a tournament among random slots
+	 * @param fittest whether the fittest or the least fit contender wins
+	 */
+	private int tournament(Random rand, boolean fittest){
+		int winner = rand.nextInt(slots.length());
+		double winnerFitness = slots.get(winner).getFitness();
+		for (int i=1; i<tournamentSize; i++){
+			int contender = rand.nextInt(slots.length());
+			double fitness = slots.get(contender).getFitness();
+			if (fittest ? fitness > winnerFitness : fitness < winnerFitness){
+				winner = contender;
+				winnerFitness = fitness;
+			}
+		}
+		return winner;
+	}
+	
+	private C select(Random rand, boolean fittest){
+		return slots.get(tournament(rand, fittest));
+	}
+	
+	/**
+	 * @return false when the offspring needs an evaluation and the budget has none left
+	 */
+	private boolean insert(C offspring, Random rand){
+		if (offspring.isDirty()){
+			if (reserved.incrementAndGet() > budget)
+				return false;
+			FitnessCache cache = population.getFitnessCache();
+			double fitness = (cache == null) 
+					? population.computeFitness(offspring) 
+					: cache.fitness(offspring, population::computeFitness);
+			offspring.setFitness(fitness);
+			offspring.setDirty(false);
+			evaluations.increment();
+		}
+		
+		for (int attempt=0; attempt<MAX_REPLACEMENT_ATTEMPTS; attempt++){
+			int victim = tournament(rand, false);
+			C weak = slots.get(victim);
+			if (weak.getFitness() > offspring.getFitness())
+				break;
+			if (slots.compareAndSet(victim, weak, offspring)){
+				replacements.increment();
+				C fittest = best.get();
+				while (offspring.getFitness() > fittest.getFitness() && !best.compareAndSet(fittest, offspring)){
+					fittest = best.get();
+				}
+				break;
+			}
+		}
+		
+		if (evaluations.sum() >= nextCheck){
+			synchronized (lock) {
+				checkConditions(true);
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Called holding the lock
+	 * @param generation whether a virtual generation may have been completed
+	 */
+	private void checkConditions(boolean generation){
+		if (stopped)
+			return;
+		long evaluated = evaluations.sum();
+		while (generation && evaluated >= nextCheck){
+			progress.generationCompleted(evaluated, best.get().getFitness());
+			nextCheck += slots.length();
+			adaptRates();
+		}
+		progress.updateElapsedTime();
+		for (StopCondition condition : conditions){
+			if (condition.isMet(progress)){
+				stop(condition);
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Feeds the adaptive rates of the population, if any, with the measures of a virtual generation.
+	 * Called holding the lock
+	 */
+	private void adaptRates(){
+		AdaptiveRates rates = population.getAdaptiveRates();
+		if (rates == null)
+			return;
+		int size = slots.length();
+		double sum = 0;
+		for (int i=0; i<size; i++){
+			sum += slots.get(i).getFitness();
+		}
+		double mean = sum / size;
+		double squares = 0;
+		for (int i=0; i<size; i++){
+			squares += (slots.get(i).getFitness() - mean) * (slots.get(i).getFitness() - mean);
+		}
+		rates.generationCompleted(new GenerationStats(progress.getGenerations(), new long[4], size, 0, 
+				best.get().getFitness(), mean, Math.sqrt(squares / size), 
+				AbstractPopulation.sampleDiversity(slots::get, size), 0, Double.NaN));
+	}
+	
+	/**
+	 * Called holding the lock
+	 */
+	private void stop(StopCondition condition){
+		if (!stopped)
+			metCondition = condition;
+		stopped = true;
+		lock.notifyAll();
+	}
+	
+	/**
+	 * @return calls to the fitness function in the current or last run
+	 */
+	public long getNumberOfEvaluations() {
+		return evaluations.sum();
+	}
+	
+	/**
+	 * @return offspring that took the place of a weaker individual in the current or last run
+	 */
+	public long getNumberOfReplacements() {
+		return replacements.sum();
+	}
+}
@@ -0,0 +1,16 @@
+package model;
+
+/**
+ * When a run of @see src.main.java.model.AbstractPopulation#evolve(StopCondition...) ends.
+ * Conditions are checked before the first generation and after every generation; 
+ * they keep no state, so the same condition can be reused across runs and populations.
+ * See @see src.main.java.model.StopConditions for the built-in ones.
+ */
+public interface StopCondition {
+	
+	/**
+	 * @param progress the state of the run
+	 * @return whether the run must stop
+	 */
+	boolean isMet(RunProgress progress);
+}
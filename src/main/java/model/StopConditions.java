@@ -0,0 +1,157 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Built-in implementations of @see src.main.java.model.StopCondition.
+ * Budgets are never exceeded: a run stops as soon as the next generation could go over them.
+ */
+public class StopConditions {
+	
+	private StopConditions() {};
+	
+	/**
+	 * @param fitness target fitness
+	 * @return a condition met once the best fitness reaches fitness
+	 */
+	public static StopCondition targetFitness(double fitness){
+		return new Named("target fitness " + fitness, progress -> progress.getBestFitness() >= fitness);
+	}
+	
+	/**
+	 * @param generations number of generations
+	 * @return a condition met when the best fitness has not improved for generations generations
+	 */
+	public static StopCondition stagnation(int generations){
+		return new Named("no improvement for " + generations + " generations", 
+				progress -> progress.getGenerationsWithoutImprovement() >= generations);
+	}
+	
+	/**
+	 * @param generations number of generations
+	 * @return a condition met after generations generations
+	 */
+	public static StopCondition maxGenerations(int generations){
+		return new Named("max " + generations + " generations", 
+				progress -> progress.getGenerations() >= generations);
+	}
+	
+	/**
+	 * Each generation is expected to take as long as the previous one.
+	 * @param duration wall-clock budget of the run
+	 * @param unit unit of duration
+	 * @return a condition met when there is no time left for another generation
+	 */
+	public static StopCondition timeBudget(long duration, TimeUnit unit){
+		long budget = unit.toNanos(duration);
+		return new Named("time budget of " + duration + " " + unit.toString().toLowerCase(), 
+				progress -> progress.getElapsedTime() + progress.getLastGenerationTime() > budget);
+	}
+	
+	/**
+	 * A generation evaluates at most the whole population, so the run stops 
+	 * when fewer evaluations than the population size are left; 
+	 * a @see src.main.java.model.SteadyState run evaluates one individual at a time and uses up the budget.
+	 * @param evaluations maximum number of calls to the fitness function
+	 * @return a condition met when another generation could exceed the evaluations
+	 */
+	public static StopCondition maxEvaluations(long evaluations){
+		return new Named("max " + evaluations + " evaluations", 
+				progress -> progress.getEvaluations() + progress.getEvaluationsPerStep() > evaluations, evaluations);
+	}
+	
+	/**
+	 * @param cancelled checked after every generation, e.g. an AtomicBoolean::get
+	 * @return a condition met when cancelled returns true
+	 */
+	public static StopCondition cancelled(BooleanSupplier cancelled){
+		return new Named("cancellation", progress -> cancelled.getAsBoolean());
+	}
+	
+	/**
+	 * @return a condition met when the thread running the evolution is interrupted
+	 */
+	public static StopCondition interrupted(){
+		return new Named("interruption", progress -> Thread.currentThread().isInterrupted());
+	}
+	
+	/**
+	 * @return a condition met when all the conditions are met
+	 */
+	public static StopCondition allOf(StopCondition... conditions){
+		StopCondition[] all = conditions.clone();
+		return new Named("all of " + Arrays.toString(all), progress -> {
+			for (StopCondition condition : all){
+				if (!condition.isMet(progress))
+					return false;
+			}
+			return true;
+		});
+	}
+	
+	/**
+	 * @return a condition met when any of the conditions is met
+	 */
+	public static StopCondition anyOf(StopCondition... conditions){
+		StopCondition[] any = conditions.clone();
+		return new Named("any of " + Arrays.toString(any), progress -> {
+			for (StopCondition condition : any){
+				if (condition.isMet(progress))
+					return true;
+			}
+			return false;
+		}, evaluationBudget(any));
+	}
+	
+	/**
+	 * Runs that do not evaluate a generation at a time, as @see src.main.java.model.SteadyState, 
+	 * reserve each evaluation against this budget instead of waiting for the conditions.
+	 * @return the smallest number of evaluations any of the conditions allows, Long.MAX_VALUE if unlimited
+	 */
+	static long evaluationBudget(StopCondition[] conditions){
+		StopCondition condition = budgetCondition(conditions);
+		return (condition == null) ? Long.MAX_VALUE : ((Named) condition).evaluationBudget;
+	}
+	
+	/**
+	 * @return the condition setting the {@link #evaluationBudget(StopCondition[])}, null if unlimited
+	 */
+	static StopCondition budgetCondition(StopCondition[] conditions){
+		Named smallest = null;
+		for (StopCondition condition : conditions){
+			if (condition instanceof Named && ((Named) condition).evaluationBudget < Long.MAX_VALUE
+					&& (smallest == null || ((Named) condition).evaluationBudget < smallest.evaluationBudget))
+				smallest = (Named) condition;
+		}
+		return smallest;
+	}
+	
+	private static class Named implements StopCondition {
+		private final String description;
+		private final Predicate<RunProgress> predicate;
+		private final long evaluationBudget;
+		
+		Named(String description, Predicate<RunProgress> predicate){
+			this(description, predicate, Long.MAX_VALUE);
+		}
+		
+		Named(String description, Predicate<RunProgress> predicate, long evaluationBudget){
+			this.description = description;
+			this.predicate = predicate;
+			this.evaluationBudget = evaluationBudget;
+		}
+
+		@Override
+		public boolean isMet(RunProgress progress) {
+			return predicate.test(progress);
+		}
+
+		@Override
+		public String toString() {
+			return description;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * A cheap model of the fitness function, trained online on the individuals a population evaluates, 
+ * that pre-screens the offspring worth a true evaluation, 
+ * see @see src.main.java.model.AbstractPopulation#setSurrogate(Surrogate, double, double).
+ * Models are used by the thread evolving the population.
+ * See @see src.main.java.model.KnnSurrogate for a built-in one.
+ * 
+ * @param <C> the type of the chromos
+ */
+public interface Surrogate <C> {
+	
+	/**
+	 * @return the estimated fitness of chromo
+	 */
+	double predict(C chromo);
+	
+	/**
+	 * @param chromo an individual whose fitness has been computed
+	 * @param fitness its true fitness
+	 */
+	void train(C chromo, double fitness);
+	
+	/**
+	 * @return whether the model has seen enough individuals to predict
+	 */
+	boolean isReady();
+	
+	/**
+	 * @return the state of the model, saved in a @see src.main.java.model.Checkpoint;
+	 * 	null, the default, if the model cannot be checkpointed
+	 */
+	default double[] getState() {
+		return null;
+	}
+	
+	/**
+	 * Brings the model back to a state returned by {@link #getState()}
+	 */
+	default void setState(double[] state) {
+		throw new UnsupportedOperationException(getClass().getName() + " cannot be restored");
+	}
+}
@@ -0,0 +1,113 @@
+package model.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.AbstractChromo;
+import model.GenomeCodec;
+
+/**
+ * Worker process computing the fitness of the batches sent by a 
+ * @see src.main.java.model.remote.RemoteEvaluator. A worker serves a single problem.
+ * 
+ * Usage: FitnessWorker problemClass [port] [--once]
+ * The worker prints the port it listens on, then serves one coordinator at a time;
+ * with --once it exits as soon as its first coordinator disconnects.
+ */
+public class FitnessWorker {
+	private static final int MAX_MESSAGE_LENGTH = 1000;
+	
+	private FitnessWorker() {};
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1){
+			System.err.println("Usage: FitnessWorker problemClass [port] [" + Protocol.ONCE + "]");
+			System.exit(2);
+		}
+		RemoteProblem<?> problem = (RemoteProblem<?>) Class.forName(args[0]).getConstructor().newInstance();
+		int port = (args.length > 1 && !args[1].equals(Protocol.ONCE)) ? Integer.parseInt(args[1]) : 0;
+		boolean once = args[args.length - 1].equals(Protocol.ONCE);
+		
+		try (ServerSocket server = new ServerSocket(port)){
+			System.out.println(Protocol.LISTENING + server.getLocalPort());
+			System.out.flush();
+			do {
+				try (Socket socket = server.accept()){
+					serve(socket, problem);
+				} catch (IOException e) {
+					System.err.println("Coordinator connection lost: " + e);
+				}
+			} while (!once);
+		}
+	}
+	
+	private static <C extends AbstractChromo> void serve(Socket socket, RemoteProblem<C> problem) throws IOException {
+		socket.setTcpNoDelay(true);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		
+		boolean accepted = in.readUTF().equals(problem.getClass().getName());
+		out.writeBoolean(accepted);
+		out.flush();
+		if (!accepted)
+			return;
+		
+		GenomeCodec<C> codec = problem.getCodec();
+		List<C> batch = new ArrayList<>();
+		while (true){
+			int batchId;
+			try {
+				batchId = in.readInt();
+			} catch (EOFException e) {
+				return;
+			}
+			int count = in.readInt();
+			byte[] payload = new byte[in.readInt()];
+			in.readFully(payload);
+			
+			DataInputStream chromos = new DataInputStream(new ByteArrayInputStream(payload));
+			batch.clear();
+			for (int i=0; i<count; i++){
+				batch.add(codec.read(chromos));
+			}
+			
+			double[] fitness = new double[count];
+			int failed = -1;
+			String message = null;
+			for (int i=0; i<count && failed < 0; i++){
+				try {
+					fitness[i] = problem.computeFitness(batch.get(i));
+				} catch (RuntimeException e) {
+					failed = i;
+					message = e.toString();
+					if (message.length() > MAX_MESSAGE_LENGTH)
+						message = message.substring(0, MAX_MESSAGE_LENGTH);
+				}
+			}
+			
+			out.writeInt(batchId);
+			if (failed < 0){
+				out.writeByte(Protocol.OK);
+				out.writeInt(count);
+				for (double value : fitness){
+					out.writeDouble(value);
+				}
+			}
+			else {
+				out.writeByte(Protocol.ERROR);
+				out.writeInt(failed);
+				out.writeUTF(message);
+			}
+			out.flush();
+		}
+	}
+}
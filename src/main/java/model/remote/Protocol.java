@@ -0,0 +1,21 @@
+package model.remote;
+
+/**
+ * Wire format between @see src.main.java.model.remote.RemoteEvaluator 
+ * and @see src.main.java.model.remote.FitnessWorker, all values in DataOutput format.
+ * 
+ * Handshake: the coordinator sends the problem class name (UTF), 
+ * the worker answers with a boolean telling whether it serves that problem.
+ * Request: batch id (int), number of chromos (int), payload length (int), encoded chromos.
+ * Response: batch id (int), status (byte), then either the fitness values (count int, doubles)
+ * or the position of the failed chromo in the batch (int) and the error message (UTF).
+ */
+final class Protocol {
+	static final byte OK = 0;
+	static final byte ERROR = 1;
+	
+	static final String LISTENING = "FitnessWorker listening on ";
+	static final String ONCE = "--once";
+	
+	private Protocol() {};
+}
@@ -0,0 +1,613 @@
+package model.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+import model.AbstractChromo;
+import model.FitnessEvaluationException;
+import model.FitnessEvaluator;
+import model.GenomeCodec;
+
+/**
+ * Coordinator side of the remote evaluation: a @see src.main.java.model.FitnessEvaluator 
+ * that splits a generation in batches and sends them over TCP to 
+ * @see src.main.java.model.remote.FitnessWorker processes serving the same 
+ * @see src.main.java.model.remote.RemoteProblem. 
+ * The fitness function given to evaluate is ignored, the one of the problem runs on the workers.
+ * 
+ * Workers pull batches from a shared queue, keeping up to {@value #PIPELINE_DEPTH} batches in flight
+ * so that they never wait for the coordinator; faster workers therefore get more batches.
+ * When the queue is empty, idle workers duplicate the oldest batch still running on another worker,
+ * the first answer wins. The batches of a dead (or timed out) worker go back to the queue,
+ * and workers spawned on localhost are restarted.
+ * The standard error of the workers spawned on localhost is the one of this process, 
+ * their standard output goes to the sink set with {@link #setWorkerOutput(Consumer)}.
+ * 
+ * @param <C> the type of the chromos
+ */
+public class RemoteEvaluator <C extends AbstractChromo> implements FitnessEvaluator {
+	private static final int PIPELINE_DEPTH = 2;
+	private static final int MAX_ATTEMPTS = 3;
+	private static final long CHECK_INTERVAL_MILLIS = 50;
+	
+	private final String problemName;
+	private final GenomeCodec<C> codec;
+	private final List<String> jvmOptions;
+	
+	private final Object lock = new Object();
+	private final List<Worker> workers = new ArrayList<>();
+	private final Deque<Batch> pending = new ArrayDeque<>();
+	private Job job;
+	private int nextBatchId;
+	private int starting;
+	private final List<Process> startingProcesses = new ArrayList<>();
+	private int restartsLeft = 3;
+	private int numRestarts;
+	private int numFailedRestarts;
+	private IOException lastRestartFailure;
+	private int batchSize = 16;
+	private long batchTimeout;
+	private boolean closed;
+	private volatile Consumer<String> workerOutput;
+	
+	private RemoteEvaluator(Class<? extends RemoteProblem<C>> problem, List<String> jvmOptions){
+		this.problemName = problem.getName();
+		this.jvmOptions = jvmOptions;
+		try {
+			this.codec = problem.getConstructor().newInstance().getCodec();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalArgumentException(problemName + " needs a public no-argument constructor", e);
+		}
+	}
+	
+	/**
+	 * Starts numWorkers worker JVMs on this machine, with the class path of the current JVM
+	 * @param problem the problem served by the workers
+	 * @param numWorkers number of worker processes
+	 * @param jvmOptions options of the worker JVMs, e.g. -Xmx4g
+	 * @return an evaluator connected to the new workers
+	 * @throws IOException if a worker cannot be started
+	 */
+	public static <C extends AbstractChromo> RemoteEvaluator<C> spawnLocal(
+			Class<? extends RemoteProblem<C>> problem, int numWorkers, String... jvmOptions) throws IOException {
+		RemoteEvaluator<C> evaluator = new RemoteEvaluator<>(problem, Arrays.asList(jvmOptions));
+		List<Process> processes = new ArrayList<>(numWorkers);
+		try {
+			for (int i=0; i<numWorkers; i++){
+				processes.add(evaluator.startProcess());
+			}
+			for (Process process : processes){
+				evaluator.addWorker(evaluator.attach(process));
+			}
+		} catch (IOException e) {
+			processes.forEach(Process::destroy);
+			evaluator.close();
+			throw e;
+		}
+		return evaluator;
+	}
+	
+	/**
+	 * Connects to already running workers, which are not restarted when they die
+	 * @param problem the problem served by the workers
+	 * @param addresses where the workers listen
+	 * @return an evaluator connected to the workers
+	 * @throws IOException if a worker is unreachable or serves another problem
+	 */
+	public static <C extends AbstractChromo> RemoteEvaluator<C> connect(
+			Class<? extends RemoteProblem<C>> problem, List<InetSocketAddress> addresses) throws IOException {
+		RemoteEvaluator<C> evaluator = new RemoteEvaluator<>(problem, null);
+		try {
+			for (InetSocketAddress address : addresses){
+				evaluator.addWorker(evaluator.connect(address.getAddress(), address.getPort(), null));
+			}
+		} catch (IOException e) {
+			evaluator.close();
+			throw e;
+		}
+		return evaluator;
+	}
+
+	@Override
+	public synchronized <T> void evaluate(List<? extends T> individuals, ToDoubleFunction<? super T> computeFitness,
+			double[] fitness) {
+		if (individuals.isEmpty())
+			return;
+		@SuppressWarnings("unchecked")
+		List<? extends C> chromos = (List<? extends C>) individuals;
+		Job current = new Job(fitness);
+		List<Batch> batches = encode(chromos, current);
+		
+		synchronized (lock) {
+			if (closed)
+				throw new IllegalStateException("Remote evaluator is closed");
+			job = current;
+			current.remaining = batches.size();
+			pending.addAll(batches);
+			lock.notifyAll();
+			try {
+				while (current.remaining > 0 && current.failure == null){
+					if (workers.isEmpty() && starting == 0)
+						fail(current, new IllegalStateException("No fitness worker left"));
+					else {
+						lock.wait(CHECK_INTERVAL_MILLIS);
+						killTimedOutWorkers();
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail(current, new CancellationException("Remote evaluation interrupted"));
+			} finally {
+				job = null;
+				pending.clear();
+			}
+		}
+		if (current.failure != null)
+			throw current.failure;
+	}
+	
+	private List<Batch> encode(List<? extends C> chromos, Job current){
+		List<Batch> batches = new ArrayList<>();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			for (int from=0; from<chromos.size(); from+=batchSize){
+				int count = Math.min(batchSize, chromos.size() - from);
+				bytes.reset();
+				for (int i=from; i<from + count; i++){
+					codec.write(chromos.get(i), out);
+				}
+				out.flush();
+				batches.add(new Batch(nextBatchId++, from, count, bytes.toByteArray(), current));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return batches;
+	}
+	
+	/**
+	 * Picks the next batch for worker, called holding the lock
+	 * @return the batch to send, null if there is nothing to send now
+	 */
+	private Batch nextBatch(Worker worker){
+		if (closed || worker.dead || job == null || worker.outstanding.size() >= PIPELINE_DEPTH)
+			return null;
+		
+		Batch batch = pending.poll();
+		while (batch != null && batch.done){
+			batch = pending.poll();
+		}
+		if (batch == null && worker.outstanding.isEmpty()){
+			//speculative copy of the batch that has been running the longest on a slower worker
+			for (Worker other : workers){
+				for (Batch running : other.outstanding.values()){
+					if (running.job == job && !running.done && !running.speculated 
+							&& (batch == null || running.dispatchTime < batch.dispatchTime))
+						batch = running;
+				}
+			}
+			if (batch != null)
+				batch.speculated = true;
+		}
+		if (batch != null){
+			if (worker.outstanding.isEmpty())
+				worker.lastProgress = System.nanoTime();
+			batch.copies++;
+			batch.dispatchTime = System.nanoTime();
+			worker.outstanding.put(batch.id, batch);
+		}
+		return batch;
+	}
+	
+	/**
+	 * Records the answer of a worker, called holding the lock
+	 */
+	private void complete(Batch batch, double[] values, int failedIndex, String message){
+		if (batch.done || batch.job != job)
+			return;
+		if (values == null){
+			fail(batch.job, new FitnessEvaluationException(batch.from + failedIndex, 
+					new RuntimeException("Fitness worker error: " + message)));
+			return;
+		}
+		if (values.length != batch.count){
+			fail(batch.job, new FitnessEvaluationException(batch.from, 
+					new IOException("Fitness worker returned " + values.length + " values for a batch of " + batch.count)));
+			return;
+		}
+		System.arraycopy(values, 0, batch.job.fitness, batch.from, batch.count);
+		batch.done = true;
+		batch.job.remaining--;
+	}
+	
+	private void fail(Job failed, RuntimeException failure){
+		if (failed.failure == null)
+			failed.failure = failure;
+	}
+	
+	private void killTimedOutWorkers(){
+		if (batchTimeout <= 0)
+			return;
+		long now = System.nanoTime();
+		for (Worker worker : new ArrayList<>(workers)){
+			if (!worker.outstanding.isEmpty() && now - worker.lastProgress > batchTimeout * 1000000L)
+				failed(worker);
+		}
+	}
+	
+	private void failed(Worker worker){
+		boolean respawn;
+		synchronized (lock) {
+			if (worker.dead)
+				return;
+			worker.dead = true;
+			workers.remove(worker);
+			for (Batch batch : worker.outstanding.values()){
+				batch.copies--;
+				if (batch.done || batch.job != job)
+					continue;
+				if (++batch.attempts >= MAX_ATTEMPTS)
+					fail(batch.job, new FitnessEvaluationException(batch.from, 
+							new IOException("Batch lost by " + batch.attempts + " fitness workers")));
+				else if (batch.copies == 0)
+					pending.addFirst(batch);
+			}
+			worker.outstanding.clear();
+			
+			respawn = !closed && jvmOptions != null && restartsLeft > 0;
+			if (respawn){
+				restartsLeft--;
+				numRestarts++;
+				starting++;
+			}
+			lock.notifyAll();
+		}
+		worker.close();
+		
+		if (respawn){
+			Thread restart = new Thread(this::respawn, "fitness-worker-restart");
+			restart.setDaemon(true);
+			restart.start();
+		}
+	}
+	
+	private void respawn(){
+		Worker worker = null;
+		IOException failure = null;
+		Process process = null;
+		try {
+			process = startProcess();
+			synchronized (lock) {
+				startingProcesses.add(process);
+				if (closed)
+					process.destroyForcibly();
+			}
+			worker = attach(process);
+		} catch (IOException e) {
+			failure = e;
+		}
+		synchronized (lock) {
+			starting--;
+			startingProcesses.remove(process);
+			if (failure != null && !closed){
+				numFailedRestarts++;
+				lastRestartFailure = failure;
+			}
+			lock.notifyAll();
+		}
+		if (worker != null)
+			addWorker(worker);
+	}
+	
+	private Process startProcess() throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmOptions);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(FitnessWorker.class.getName());
+		command.add(problemName);
+		command.add(Protocol.ONCE);
+		return new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+	}
+	
+	private Worker attach(Process process) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		String line;
+		while ((line = reader.readLine()) != null && !line.startsWith(Protocol.LISTENING)){
+			relay(line);
+		}
+		if (line == null){
+			process.destroy();
+			throw new IOException("Fitness worker exited before listening");
+		}
+		int port = Integer.parseInt(line.substring(Protocol.LISTENING.length()).trim());
+		
+		Thread output = new Thread(() -> {
+			try {
+				String next;
+				while ((next = reader.readLine()) != null){
+					relay(next);
+				}
+			} catch (IOException e) {
+				//the worker is gone
+			}
+		}, "fitness-worker-output");
+		output.setDaemon(true);
+		output.start();
+		
+		try {
+			return connect(InetAddress.getLoopbackAddress(), port, process);
+		} catch (IOException e) {
+			process.destroy();
+			throw e;
+		}
+	}
+	
+	private void relay(String line){
+		Consumer<String> sink = workerOutput;
+		if (sink != null)
+			sink.accept(line);
+	}
+	
+	private Worker connect(InetAddress address, int port, Process process) throws IOException {
+		Socket socket = new Socket(address, port);
+		try {
+			socket.setTcpNoDelay(true);
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeUTF(problemName);
+			out.flush();
+			if (!in.readBoolean())
+				throw new IOException("Fitness worker at " + address + ":" + port + " does not serve " + problemName);
+			return new Worker(socket, in, out, process);
+		} catch (IOException e) {
+			socket.close();
+			throw e;
+		}
+	}
+	
+	private void addWorker(Worker worker){
+		synchronized (lock) {
+			if (closed){
+				worker.dead = true;
+			}
+			else {
+				workers.add(worker);
+				lock.notifyAll();
+			}
+		}
+		if (worker.dead)
+			worker.close();
+		else
+			worker.start();
+	}
+	
+	/**
+	 * @param batchSize number of chromos sent to a worker at once
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1)
+			throw new IllegalArgumentException("Batch size must be at least 1, was " + batchSize);
+		this.batchSize = batchSize;
+	}
+	
+	/**
+	 * @param batchTimeout milliseconds a busy worker can go without answering before being 
+	 * 	considered dead, 0 to wait forever
+	 */
+	public void setBatchTimeout(long batchTimeout) {
+		synchronized (lock) {
+			this.batchTimeout = batchTimeout;
+		}
+	}
+	
+	/**
+	 * @param maxRestarts how many times dead local workers are restarted overall
+	 */
+	public void setMaxRestarts(int maxRestarts) {
+		synchronized (lock) {
+			this.restartsLeft = maxRestarts;
+		}
+	}
+	
+	/**
+	 * @param workerOutput receives the lines written by the local workers on their standard output, 
+	 * 	from any thread; null, the default, to discard them
+	 */
+	public void setWorkerOutput(Consumer<String> workerOutput) {
+		this.workerOutput = workerOutput;
+	}
+	
+	public int getNumberOfWorkers() {
+		synchronized (lock) {
+			return workers.size();
+		}
+	}
+	
+	public int getNumberOfRestarts() {
+		synchronized (lock) {
+			return numRestarts;
+		}
+	}
+	
+	/**
+	 * @return how many of the restarts could not start a new worker
+	 */
+	public int getNumberOfFailedRestarts() {
+		synchronized (lock) {
+			return numFailedRestarts;
+		}
+	}
+	
+	/**
+	 * @return the error of the last restart that failed, null if no restart failed
+	 */
+	public IOException getLastRestartFailure() {
+		synchronized (lock) {
+			return lastRestartFailure;
+		}
+	}
+	
+	/**
+	 * Disconnects from the workers, stopping the ones spawned on localhost
+	 */
+	@Override
+	public void close() {
+		List<Worker> toClose;
+		synchronized (lock) {
+			closed = true;
+			toClose = new ArrayList<>(workers);
+			workers.clear();
+			toClose.forEach(worker -> worker.dead = true);
+			//workers still starting exit before listening
+			startingProcesses.forEach(Process::destroyForcibly);
+			lock.notifyAll();
+		}
+		toClose.forEach(Worker::close);
+	}
+	
+	private static class Job {
+		final double[] fitness;
+		int remaining;
+		RuntimeException failure;
+		
+		Job(double[] fitness){
+			this.fitness = fitness;
+		}
+	}
+	
+	private static class Batch {
+		final int id;
+		final int from;
+		final int count;
+		final byte[] payload;
+		final Job job;
+		int copies;
+		int attempts;
+		long dispatchTime;
+		boolean speculated;
+		boolean done;
+		
+		Batch(int id, int from, int count, byte[] payload, Job job){
+			this.id = id;
+			this.from = from;
+			this.count = count;
+			this.payload = payload;
+			this.job = job;
+		}
+	}
+	
+	private class Worker {
+		final Socket socket;
+		final DataInputStream in;
+		final DataOutputStream out;
+		final Process process;
+		final Map<Integer, Batch> outstanding = new LinkedHashMap<>();
+		long lastProgress;
+		boolean dead;
+		
+		Worker(Socket socket, DataInputStream in, DataOutputStream out, Process process){
+			this.socket = socket;
+			this.in = in;
+			this.out = out;
+			this.process = process;
+		}
+		
+		void start(){
+			Thread sender = new Thread(this::send, "fitness-worker-sender");
+			Thread receiver = new Thread(this::receive, "fitness-worker-receiver");
+			sender.setDaemon(true);
+			receiver.setDaemon(true);
+			sender.start();
+			receiver.start();
+		}
+		
+		private void send(){
+			try {
+				while (true){
+					Batch batch;
+					synchronized (lock) {
+						while ((batch = nextBatch(this)) == null){
+							if (closed || dead)
+								return;
+							lock.wait();
+						}
+					}
+					out.writeInt(batch.id);
+					out.writeInt(batch.count);
+					out.writeInt(batch.payload.length);
+					out.write(batch.payload);
+					out.flush();
+				}
+			} catch (IOException | InterruptedException e) {
+				failed(this);
+			}
+		}
+		
+		private void receive(){
+			try {
+				while (true){
+					int id = in.readInt();
+					double[] values = null;
+					int failedIndex = -1;
+					String message = null;
+					if (in.readByte() == Protocol.OK){
+						values = new double[in.readInt()];
+						for (int i=0; i<values.length; i++){
+							values[i] = in.readDouble();
+						}
+					}
+					else {
+						failedIndex = in.readInt();
+						message = in.readUTF();
+					}
+					
+					synchronized (lock) {
+						lastProgress = System.nanoTime();
+						Batch batch = outstanding.remove(id);
+						if (batch != null){
+							batch.copies--;
+							complete(batch, values, failedIndex, message);
+						}
+						lock.notifyAll();
+					}
+				}
+			} catch (IOException e) {
+				failed(this);
+			}
+		}
+		
+		void close(){
+			try {
+				socket.close();
+			} catch (IOException e) {
+				//already closed
+			}
+			if (process != null)
+				process.destroy();
+		}
+	}
+}
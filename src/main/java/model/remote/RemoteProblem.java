@@ -0,0 +1,26 @@
+package model.remote;
+
+import model.AbstractChromo;
+import model.GenomeCodec;
+
+/**
+ * A problem whose fitness is computed by fitness workers, 
+ * see @see src.main.java.model.remote.RemoteEvaluator.
+ * Implementations must be public classes with a public no-argument constructor, 
+ * available on the class path of both the coordinator and the workers.
+ * 
+ * @param <C> the type of the chromos
+ */
+public interface RemoteProblem<C extends AbstractChromo> {
+	
+	/**
+	 * @return how chromos are sent to the workers
+	 */
+	GenomeCodec<C> getCodec();
+	
+	/**
+	 * Runs on the workers
+	 * @return the fitness of chromo
+	 */
+	double computeFitness(C chromo);
+}
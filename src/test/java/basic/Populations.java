@@ -0,0 +1,28 @@
+package basic;
+
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.PrimitivePopulation;
+
+/**
+ * Populations shared by the tests, seeded so that every run of a test goes through the same generations
+ */
+final class Populations {
+	
+	private Populations() {};
+	
+	/**
+	 * @param size number of chromos
+	 * @param seed seed of the random streams
+	 * @return a population of the int arrays of @see src.main.java.model.GeneticFunctions, 
+	 * 	with crossover rate 0.5 and 2 elites, evaluated sequentially
+	 */
+	static PrimitivePopulation<IntChromo> intArrays(int size, long seed){
+		return new PrimitivePopulation<>(size, 0.5, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes,
+				FitnessEvaluators.sequential(), seed);
+	}
+}
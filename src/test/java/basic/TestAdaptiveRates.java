@@ -0,0 +1,108 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import model.AdaptiveRates;
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.Population;
+import model.PrimitivePopulation;
+import model.RunSummary;
+import model.SteadyState;
+import model.StopConditions;
+
+import org.junit.Test;
+
+public class TestAdaptiveRates {
+	final static int POP_SIZE = 100;
+	final static double CROSSOVER_RATE = 0.9;
+	final static double TARGET = 100;
+	final static int MAX_GENERATIONS = 2000;
+	
+	private RunSummary<IntChromo> run(long seed, AdaptiveRates rates){
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, CROSSOVER_RATE, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				(rates == null) ? GeneticFunctions.mutateIntArrayGenes 
+						: GeneticFunctions.mutateIntArrayGenes(rates::getMutationRate),
+				FitnessEvaluators.sequential(), seed);
+		pop.setAdaptiveRates(rates);
+		return pop.evolve(StopConditions.targetFitness(TARGET), StopConditions.maxGenerations(MAX_GENERATIONS));
+	}
+	
+	@Test
+	public void adaptiveRatesReachTargetWithFewerEvaluations(){
+		long fixed = 0, adaptive = 0;
+		for (long seed=0; seed<3; seed++){
+			fixed += run(seed, null).getEvaluations();
+			RunSummary<IntChromo> summary = run(seed, new AdaptiveRates(CROSSOVER_RATE, 0.2));
+			assertEquals("target reached with seed " + seed, TARGET, summary.getBestFitness(), 0);
+			adaptive += summary.getEvaluations();
+		}
+		assertTrue("evaluations: adaptive " + adaptive + ", fixed " + fixed, adaptive < fixed);
+	}
+	
+	@Test
+	public void mutationShrinksWhileImproving(){
+		AdaptiveRates rates = new AdaptiveRates(CROSSOVER_RATE, 0.2);
+		rates.setPatience(1000);
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, CROSSOVER_RATE, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes(rates::getMutationRate),
+				FitnessEvaluators.sequential(), 5);
+		pop.setAdaptiveRates(rates);
+		pop.newGeneration();
+		pop.newGeneration();
+		assertTrue("mutation rate " + rates, rates.getMutationRate() < 0.2);
+	}
+	
+	@Test
+	public void lowDiversityRaisesMutation(){
+		AdaptiveRates rates = new AdaptiveRates(CROSSOVER_RATE, 0.01);
+		rates.setTargetDiversity(1.1);
+		rates.setPatience(1000);
+		//every individual is the same and mutation never changes a gene
+		Population<Integer> pop = new Population<>(POP_SIZE, CROSSOVER_RATE, 2,
+				rand -> GeneticFunctions.makeRandomIntChromo.apply(new java.util.Random(1)),
+				GeneticFunctions.computeIntFitness,
+				(rand, chromo) -> chromo);
+		pop.setAdaptiveRates(rates);
+		for (int i=0; i<5; i++){
+			pop.newGeneration();
+		}
+		assertTrue("mutation rate " + rates, rates.getMutationRate() > 0.01);
+		assertTrue("crossover of clones " + rates, pop.getCrossoverRate() < 0.35);
+	}
+	
+	@Test
+	public void populationUsesAdaptedCrossoverRate(){
+		Population<Integer> pop = new Population<>(POP_SIZE, CROSSOVER_RATE, 2,
+				GeneticFunctions.makeRandomIntChromo,
+				GeneticFunctions.computeIntFitness,
+				GeneticFunctions.mutateIntGenes);
+		AdaptiveRates rates = new AdaptiveRates(0.4, 0.2);
+		pop.setAdaptiveRates(rates);
+		assertEquals("initial adaptive rate", 0.4, pop.getCrossoverRate(), 0);
+		pop.newGeneration();
+		assertTrue("adapted rate", pop.getCrossoverRate() != 0.4);
+		assertEquals("rate of the controller", rates.getCrossoverRate(), pop.getCrossoverRate(), 0);
+		pop.setAdaptiveRates(null);
+		assertEquals("fixed rate", CROSSOVER_RATE, pop.getCrossoverRate(), 0);
+	}
+	
+	@Test
+	public void steadyStateFeedsTheRates(){
+		AdaptiveRates rates = new AdaptiveRates(0.4, 0.2);
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, CROSSOVER_RATE, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes(rates::getMutationRate));
+		pop.setAdaptiveRates(rates);
+		new SteadyState<>(pop, 2).evolve(StopConditions.maxGenerations(20));
+		assertTrue("adapted crossover rate " + rates, rates.getCrossoverRate() != 0.4);
+		assertTrue("adapted mutation rate " + rates, rates.getMutationRate() != 0.2);
+	}
+}
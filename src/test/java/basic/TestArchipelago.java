@@ -0,0 +1,104 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.AbstractPopulation;
+import model.Archipelago;
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.MigrationTopology;
+import model.PrimitivePopulation;
+
+import org.junit.Test;
+
+public class TestArchipelago {
+	final int POP_SIZE = 50;
+	final int NUM_ISLANDS = 4;
+	final int NUM_GEN = 60;
+	
+	@Test
+	public void everyTopologyEvolvesAllIslands(){
+		for (MigrationTopology topology : MigrationTopology.values()){
+			List<PrimitivePopulation<IntChromo>> islands = new ArrayList<>();
+			for (int i=0; i<NUM_ISLANDS; i++){
+				islands.add(newIsland());
+			}
+			double initialBest = islands.stream()
+					.mapToDouble(island -> island.getFittestChromo().getFitness()).max().getAsDouble();
+			
+			Archipelago<IntChromo> archipelago = new Archipelago<>(islands, 10, 2, topology);
+			archipelago.evolve(NUM_GEN);
+			
+			for (AbstractPopulation<IntChromo> island : archipelago.getIslands()){
+				assertEquals("generations of " + topology, NUM_GEN, island.getNumberOfGenerations());
+				assertEquals("population size of " + topology, POP_SIZE, island.getIndividuals().size());
+			}
+			assertEquals("migrations of " + topology, NUM_ISLANDS * NUM_GEN / 10, archipelago.getNumberOfMigrations());
+			assertTrue("best fitness of " + topology, archipelago.getFittestChromo().getFitness() >= initialBest);
+		}
+	}
+	
+	@Test
+	public void seededArchipelagoIsReproducible(){
+		Archipelago<IntChromo> first = newSeededArchipelago();
+		Archipelago<IntChromo> second = newSeededArchipelago();
+		first.evolve(NUM_GEN);
+		second.evolve(NUM_GEN);
+		for (int i=0; i<NUM_ISLANDS; i++){
+			assertArrayEquals("genes of island " + i, genes(first.getIslands().get(i)), genes(second.getIslands().get(i)));
+		}
+	}
+	
+	private Archipelago<IntChromo> newSeededArchipelago(){
+		List<PrimitivePopulation<IntChromo>> islands = new ArrayList<>();
+		for (int i=0; i<NUM_ISLANDS; i++){
+			islands.add(new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+					GeneticFunctions.makeRandomIntArrayChromo,
+					GeneticFunctions.computeIntArrayFitness,
+					GeneticFunctions.mutateIntArrayGenes,
+					FitnessEvaluators.sequential(), 100 + i));
+		}
+		return new Archipelago<>(islands, 5, 2, MigrationTopology.RANDOM);
+	}
+	
+	private static int[][] genes(AbstractPopulation<IntChromo> island){
+		return island.getIndividuals().stream().map(IntChromo::toArray).toArray(int[][]::new);
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void islandsMustBeAtTheSameGeneration(){
+		PrimitivePopulation<IntChromo> ahead = newIsland();
+		ahead.newGeneration();
+		new Archipelago<>(Arrays.asList(newIsland(), ahead), 10, 2, MigrationTopology.RING).evolve(1);
+	}
+	
+	@Test
+	public void migrantsReplaceLeastFit(){
+		PrimitivePopulation<IntChromo> pop = newIsland();
+		double worst = pop.getIndividuals().stream().mapToDouble(IntChromo::getFitness).min().getAsDouble();
+		int numWorst = (int) pop.getIndividuals().stream().filter(c -> c.getFitness() == worst).count();
+		
+		int[] genes = new int[100];
+		Arrays.fill(genes, 99);
+		pop.immigrate(Arrays.asList(new IntChromo(genes, 100)));
+		
+		assertEquals("fittest is the migrant", 100, pop.getFittestChromo().getFitness(), 0);
+		assertEquals("one least fit replaced", numWorst - 1, 
+				pop.getIndividuals().stream().filter(c -> c.getFitness() == worst).count());
+		assertEquals("population size", POP_SIZE, pop.getIndividuals().size());
+	}
+	
+	private PrimitivePopulation<IntChromo> newIsland(){
+		return new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes);
+	}
+}
@@ -0,0 +1,101 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.BatchResult;
+import model.BatchRunner;
+import model.Configuration;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.ParameterGrid;
+import model.PrimitivePopulation;
+import model.StopConditions;
+
+import org.junit.Test;
+
+public class TestBatchRunner {
+	final int NUM_GEN = 10;
+	
+	@Test
+	public void gridCombinations(){
+		List<Configuration> configurations = new ParameterGrid()
+				.add("crossoverRate", 0.5, 0.7)
+				.add("numElite", 1, 2, 3)
+				.getConfigurations();
+		assertEquals("combinations", 6, configurations.size());
+		assertEquals("first", 0.5, configurations.get(0).getDouble("crossoverRate"), 0);
+		assertEquals("last parameter changes fastest", 2, configurations.get(1).getInt("numElite"));
+		assertEquals("last", 0.7, configurations.get(5).getDouble("crossoverRate"), 0);
+		assertEquals("last", 3, configurations.get(5).getInt("numElite"));
+	}
+	
+	@Test
+	public void runsEveryConfigurationAndSeed() throws IOException {
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		BatchRunner runner = new BatchRunner((configuration, seed, evaluator) -> 
+			new PrimitivePopulation<IntChromo>(configuration.getInt("size"), configuration.getDouble("crossoverRate"), 2,
+					GeneticFunctions.makeRandomIntArrayChromo,
+					chromo -> {
+						threads.add(Thread.currentThread());
+						return GeneticFunctions.computeIntArrayFitness.applyAsDouble(chromo);
+					},
+					GeneticFunctions.mutateIntArrayGenes,
+					evaluator, seed),
+			StopConditions.maxGenerations(NUM_GEN));
+		runner.setNumberOfSeeds(3);
+		runner.setParallelism(2);
+		
+		StringWriter csv = new StringWriter();
+		List<BatchResult> results = runner.run(new ParameterGrid()
+				.add("size", 50, 200)
+				.add("crossoverRate", 0.5, 0.9), csv);
+		
+		assertEquals("configurations times seeds", 12, results.size());
+		assertEquals("grid order", 200, results.get(11).getConfiguration().getInt("size"));
+		assertEquals("grid order", 2, results.get(11).getSeed());
+		for (BatchResult result : results){
+			assertNull("no error", result.getError());
+			assertEquals("seed of the population", result.getSeed(), result.getSummary().getSeed());
+			assertEquals("generations", NUM_GEN, result.getSummary().getGenerations());
+		}
+		assertTrue("evaluations on the threads of the batch: " + threads, threads.size() <= 2);
+		
+		String[] lines = csv.toString().split("\n");
+		assertEquals("header and rows", 13, lines.length);
+		assertEquals("header", "size,crossoverRate,seed,generations,evaluations,best_fitness,elapsed_ms,stopped_by,error", lines[0]);
+		for (int i=1; i<lines.length; i++){
+			assertEquals("generations column", String.valueOf(NUM_GEN), lines[i].split(",")[3]);
+		}
+	}
+	
+	@Test
+	public void failedRunsAreReported() throws IOException {
+		BatchRunner runner = new BatchRunner((configuration, seed, evaluator) -> {
+				if (configuration.getInt("numElite") < 0)
+					throw new IllegalArgumentException("negative, elite");
+				return new PrimitivePopulation<IntChromo>(20, 0.5, configuration.getInt("numElite"),
+						GeneticFunctions.makeRandomIntArrayChromo,
+						GeneticFunctions.computeIntArrayFitness,
+						GeneticFunctions.mutateIntArrayGenes,
+						evaluator);
+			},
+			StopConditions.maxGenerations(NUM_GEN));
+		
+		StringWriter csv = new StringWriter();
+		List<BatchResult> results = runner.run(new ParameterGrid().add("numElite", -1, 1), csv);
+		assertNotNull("failed run", results.get(0).getError());
+		assertNull("completed run", results.get(1).getError());
+		assertTrue("quoted error: " + csv, Arrays.asList(csv.toString().split("\n"))
+				.contains("-1,0,,,,,,\"java.lang.IllegalArgumentException: negative, elite\""));
+	}
+}
@@ -0,0 +1,201 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import model.AdaptiveRates;
+import model.Checkpoint;
+import model.Checkpointer;
+import model.DoubleChromo;
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.GenomeCodecs;
+import model.IntChromo;
+import model.KnnSurrogate;
+import model.PrimitivePopulation;
+import model.Surrogate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCheckpoint {
+	final static int POP_SIZE = 100;
+	private Path file;
+	
+	@Before
+	public void createFile() throws IOException{
+		file = Files.createTempFile("population", ".ckpt");
+	}
+	
+	@After
+	public void deleteFile() throws IOException{
+		Files.deleteIfExists(file);
+	}
+	
+	private static int[][] genes(PrimitivePopulation<IntChromo> pop){
+		return pop.getIndividuals().stream().map(IntChromo::toArray).toArray(int[][]::new);
+	}
+	
+	@Test
+	public void resumedRunIsIdentical() throws IOException{
+		PrimitivePopulation<IntChromo> original = Populations.intArrays(POP_SIZE, 1);
+		for (int i=0; i<5; i++){
+			original.newGeneration();
+		}
+		original.checkpoint().write(file, GenomeCodecs.INT);
+		
+		PrimitivePopulation<IntChromo> resumed = Populations.intArrays(POP_SIZE, 2);
+		resumed.setContiguousStorage(true);
+		resumed.restore(Checkpoint.read(file, GenomeCodecs.INT));
+		assertEquals("generation", 5, resumed.getNumberOfGenerations());
+		assertArrayEquals("restored genes", genes(original), genes(resumed));
+		
+		for (int i=0; i<20; i++){
+			original.newGeneration();
+			resumed.newGeneration();
+			assertArrayEquals("genes of generation " + original.getNumberOfGenerations(), 
+					genes(original), genes(resumed));
+			assertEquals("fittest", original.getFittestChromo().getFitness(), 
+					resumed.getFittestChromo().getFitness(), 0);
+		}
+	}
+	
+	private static PrimitivePopulation<IntChromo> newAdaptivePopulation(AdaptiveRates rates){
+		rates.setPatience(2);
+		return new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes(rates::getMutationRate),
+				FitnessEvaluators.sequential(), 17);
+	}
+	
+	@Test
+	public void resumedAdaptiveRunIsIdentical() throws IOException{
+		AdaptiveRates rates = new AdaptiveRates(0.5, 0.2);
+		PrimitivePopulation<IntChromo> original = newAdaptivePopulation(rates);
+		//a checkpointer attached before the rates still sees the rates of the next generation
+		Checkpointer<IntChromo> checkpointer = new Checkpointer<>(original, GenomeCodecs.INT, file, 5);
+		original.setAdaptiveRates(rates);
+		for (int i=0; i<10; i++){
+			original.newGeneration();
+		}
+		checkpointer.close();
+		assertEquals("last checkpointed generation", 10, checkpointer.getLastWrittenGeneration());
+		
+		AdaptiveRates resumedRates = new AdaptiveRates(0.5, 0.2);
+		PrimitivePopulation<IntChromo> resumed = newAdaptivePopulation(resumedRates);
+		resumed.setAdaptiveRates(resumedRates);
+		resumed.restore(Checkpoint.read(file, GenomeCodecs.INT));
+		assertEquals("rates", original.getAdaptiveRates().toString(), resumed.getAdaptiveRates().toString());
+		for (int i=0; i<30; i++){
+			original.newGeneration();
+			resumed.newGeneration();
+			assertArrayEquals("genes of generation " + original.getNumberOfGenerations(), 
+					genes(original), genes(resumed));
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void adaptiveRatesMustMatch() throws IOException{
+		AdaptiveRates rates = new AdaptiveRates(0.5, 0.2);
+		PrimitivePopulation<IntChromo> pop = newAdaptivePopulation(rates);
+		pop.setAdaptiveRates(rates);
+		pop.checkpoint().write(file, GenomeCodecs.INT);
+		Populations.intArrays(POP_SIZE, 3).restore(Checkpoint.read(file, GenomeCodecs.INT));
+	}
+	
+	@Test
+	public void resumedSurrogateRunIsIdentical() throws IOException{
+		PrimitivePopulation<IntChromo> original = Populations.intArrays(POP_SIZE, 4);
+		original.setSurrogate(new KnnSurrogate<>(3, 150, KnnSurrogate.intGenes()), 0.3, 0.1);
+		for (int i=0; i<5; i++){
+			original.newGeneration();
+		}
+		original.checkpoint().write(file, GenomeCodecs.INT);
+		
+		PrimitivePopulation<IntChromo> resumed = Populations.intArrays(POP_SIZE, 5);
+		resumed.setSurrogate(new KnnSurrogate<>(3, 150, KnnSurrogate.intGenes()), 0.3, 0.1);
+		resumed.restore(Checkpoint.read(file, GenomeCodecs.INT));
+		for (int i=0; i<20; i++){
+			original.newGeneration();
+			resumed.newGeneration();
+			assertArrayEquals("genes of generation " + original.getNumberOfGenerations(), 
+					genes(original), genes(resumed));
+		}
+		assertTrue("offspring screened out", resumed.getNumberOfScreenedOut() > 0);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void surrogateWithoutStateCannotBeRestored() throws IOException{
+		Surrogate<IntChromo> constant = new Surrogate<IntChromo>() {
+			public double predict(IntChromo chromo) {
+				return 0;
+			}
+			public void train(IntChromo chromo, double fitness) {}
+			public boolean isReady() {
+				return true;
+			}
+		};
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 6);
+		pop.setSurrogate(constant, 0.5, 0);
+		pop.newGeneration();
+		pop.checkpoint().write(file, GenomeCodecs.INT);
+		pop.restore(Checkpoint.read(file, GenomeCodecs.INT));
+	}
+	
+	@Test
+	public void fitnessIsRestoredWithoutEvaluation() throws IOException{
+		PrimitivePopulation<DoubleChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+				r -> new DoubleChromo(new double[]{r.nextGaussian(), r.nextGaussian()}),
+				chromo -> chromo.get(0) * chromo.get(1),
+				(r, chromo) -> chromo.set(0, r.nextGaussian()), FitnessEvaluators.sequential(), 8);
+		pop.newGeneration();
+		pop.checkpoint().write(file, GenomeCodecs.DOUBLE);
+		
+		Checkpoint<DoubleChromo> checkpoint = Checkpoint.read(file, GenomeCodecs.DOUBLE);
+		List<DoubleChromo> individuals = pop.getIndividuals();
+		for (int i=0; i<POP_SIZE; i++){
+			DoubleChromo restored = checkpoint.getIndividuals().get(i);
+			assertArrayEquals("genes", individuals.get(i).toArray(), restored.toArray(), 0);
+			assertEquals("fitness", individuals.get(i).getFitness(), restored.getFitness(), 0);
+			assertEquals("clean", false, restored.isDirty());
+		}
+		
+		long evaluations = pop.getNumberOfEvaluations();
+		pop.restore(checkpoint);
+		assertEquals("no evaluation on restore", evaluations, pop.getNumberOfEvaluations());
+	}
+	
+	@Test
+	public void periodicCheckpoints() throws IOException{
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 7);
+		Checkpointer<IntChromo> checkpointer = new Checkpointer<>(pop, GenomeCodecs.INT, file, 3);
+		for (int i=0; i<10; i++){
+			pop.newGeneration();
+		}
+		checkpointer.close();
+		assertEquals("last written generation", 9, checkpointer.getLastWrittenGeneration());
+		Checkpoint<IntChromo> last = Checkpoint.read(file, GenomeCodecs.INT);
+		assertEquals("last checkpointed generation", 9, last.getGeneration());
+		assertEquals("individuals", POP_SIZE, last.getIndividuals().size());
+	}
+	
+	@Test
+	public void notACheckpoint() throws IOException{
+		Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+		try {
+			Checkpoint.read(file, GenomeCodecs.INT);
+			fail("should not read a random file");
+		} catch (IOException e) {
+			assertEquals("message", file + " is not a population checkpoint", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+import model.BitChromo;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.PrimitivePopulation;
+
+import org.junit.Test;
+
+public class TestContiguousStorage {
+	final int POP_SIZE = 81;
+	final int NUM_GEN = 100;
+	
+	@Test
+	public void fitnessMatchesGenes(){
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes);
+		pop.setContiguousStorage(true);
+		
+		double bestSoFar = pop.getFittestChromo().getFitness();
+		while(pop.getNumberOfGenerations() < NUM_GEN){
+			pop.newGeneration();
+			assertEquals("population size", POP_SIZE, pop.getIndividuals().size());
+			for (IntChromo chromo : pop.getIndividuals()){
+				assertEquals("fitness of the genes", 
+						GeneticFunctions.computeIntArrayFitness.applyAsDouble(chromo), chromo.getFitness(), 0);
+			}
+			assertTrue("elite keeps the best", pop.getFittestChromo().getFitness() >= bestSoFar);
+			bestSoFar = pop.getFittestChromo().getFitness();
+		}
+	}
+	
+	@Test
+	public void rowsAreIndependent(){
+		List<IntChromo> rows = new IntChromo(new int[3]).allocateRows(2);
+		IntChromo row0 = rows.get(0);
+		IntChromo row1 = rows.get(1);
+		row0.set(2, 7);
+		row1.copyFrom(new IntChromo(new int[]{1, 2, 3}, 4));
+		assertEquals("own gene", 7, row0.get(2));
+		assertEquals("copied gene", 3, row1.get(2));
+		assertEquals("copied fitness", 4, row1.getFitness(), 0);
+		
+		row0.swapTail(row1, 2);
+		assertEquals("swapped gene", 3, row0.get(2));
+		assertEquals("swapped gene", 7, row1.get(2));
+		assertEquals("untouched gene", 2, row1.get(1));
+	}
+	
+	@Test
+	public void steadyStateDoesNotAllocate(){
+		int length = 200;
+		PrimitivePopulation<BitChromo> pop = new PrimitivePopulation<>(1000, 0.7, 2,
+				rand -> {
+					BitChromo c = new BitChromo(length);
+					for (int i=0; i<length; i++){
+						c.set(i, rand.nextBoolean());
+					}
+					return c;
+				},
+				BitChromo::cardinality,
+				(Random rand, BitChromo c) -> c.flip(rand.nextInt(length)));
+		pop.setContiguousStorage(true);
+		for (int i=0; i<50; i++){
+			pop.newGeneration();
+		}
+		
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i=0; i<NUM_GEN; i++){
+			pop.newGeneration();
+		}
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+		assertTrue("allocated " + allocated + " bytes", allocated / NUM_GEN < 256);
+	}
+}
@@ -0,0 +1,109 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import model.EvolutionEngine;
+import model.FitnessEvaluationException;
+import model.FitnessEvaluators;
+import model.GenerationSnapshot;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.PrimitivePopulation;
+import model.StopConditions;
+
+import org.junit.Test;
+
+public class TestEvolutionEngine {
+	final static int POP_SIZE = 50;
+	
+	private static void awaitGeneration(EvolutionEngine<?> engine, int generation) throws InterruptedException{
+		long deadline = System.currentTimeMillis() + 10000;
+		while (engine.getLatest() == null || engine.getLatest().getGeneration() < generation){
+			assertTrue("generation " + generation + " reached in time", System.currentTimeMillis() < deadline);
+			Thread.sleep(1);
+		}
+	}
+	
+	@Test
+	public void runsUntilStopCondition() throws InterruptedException{
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 1);
+		try (EvolutionEngine<IntChromo> engine = new EvolutionEngine<>(pop, StopConditions.maxGenerations(300))){
+			assertNull("no generation yet", engine.getLatest());
+			engine.start();
+			assertTrue("finished", engine.await(10000));
+			GenerationSnapshot<IntChromo> latest = engine.getLatest();
+			assertEquals("last generation", 300, latest.getGeneration());
+			assertEquals("generations of the population", 300, pop.getNumberOfGenerations());
+			assertEquals("fittest of the last generation", pop.getFittestChromo().getFitness(), 
+					latest.getFittestChromo().getFitness(), 0);
+			assertNotNull("met condition", engine.getMetCondition());
+			assertNull("no failure", engine.getFailure());
+		}
+	}
+	
+	@Test
+	public void pauseStepAndResume() throws InterruptedException{
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 2);
+		EvolutionEngine<IntChromo> engine = new EvolutionEngine<>(pop, StopConditions.maxGenerations(Integer.MAX_VALUE));
+		engine.pause();
+		engine.start();
+		Thread.sleep(50);
+		assertNull("paused before the first generation", engine.getLatest());
+		
+		engine.step();
+		awaitGeneration(engine, 1);
+		engine.step();
+		engine.step();
+		awaitGeneration(engine, 3);
+		Thread.sleep(50);
+		assertEquals("one generation per step", 3, engine.getLatest().getGeneration());
+		assertTrue("still paused", engine.isPaused());
+		
+		engine.resume();
+		awaitGeneration(engine, 50);
+		engine.pause();
+		Thread.sleep(20);
+		int pausedAt = engine.getLatest().getGeneration();
+		Thread.sleep(50);
+		assertEquals("no generation while paused", pausedAt, engine.getLatest().getGeneration());
+		
+		engine.close();
+		assertTrue("closed while paused", engine.isFinished());
+		assertNull("stopped by close", engine.getMetCondition());
+	}
+	
+	@Test
+	public void stepPausesRunningEngine() throws InterruptedException{
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 3);
+		try (EvolutionEngine<IntChromo> engine = new EvolutionEngine<>(pop, StopConditions.maxGenerations(Integer.MAX_VALUE))){
+			engine.start();
+			awaitGeneration(engine, 5);
+			engine.step();
+			assertTrue("paused", engine.isPaused());
+			assertFalse("not finished", engine.isFinished());
+		}
+	}
+	
+	@Test
+	public void failureEndsRun() throws InterruptedException{
+		boolean[] failing = {false};
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				chromo -> {
+					if (failing[0] && chromo.get(0) == 0)
+						throw new IllegalStateException("bad genes");
+					return chromo.get(0);
+				},
+				(rand, chromo) -> chromo.set(0, rand.nextInt(100)), FitnessEvaluators.sequential(), 4);
+		failing[0] = true;
+		try (EvolutionEngine<IntChromo> engine = new EvolutionEngine<>(pop, StopConditions.maxGenerations(100000))){
+			engine.start();
+			assertTrue("finished", engine.await(10000));
+			assertTrue("failure " + engine.getFailure(), engine.getFailure() instanceof FitnessEvaluationException);
+		}
+	}
+}
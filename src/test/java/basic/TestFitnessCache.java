@@ -0,0 +1,106 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.Chromo;
+import model.FitnessCache;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.Population;
+import model.PrimitivePopulation;
+
+import org.junit.Test;
+
+public class TestFitnessCache {
+	final int POP_SIZE = 40;
+	final int NUM_GEN = 20;
+	
+	@Test
+	public void leastRecentlyUsedIsEvicted(){
+		FitnessCache cache = new FitnessCache(2);
+		AtomicInteger calls = new AtomicInteger();
+		IntChromo c1 = new IntChromo(new int[]{1});
+		IntChromo c2 = new IntChromo(new int[]{2});
+		IntChromo c3 = new IntChromo(new int[]{3});
+		
+		cache.fitness(c1, c -> calls.incrementAndGet());
+		cache.fitness(c2, c -> calls.incrementAndGet());
+		cache.fitness(c1, c -> calls.incrementAndGet());
+		cache.fitness(c3, c -> calls.incrementAndGet());
+		cache.fitness(c1, c -> calls.incrementAndGet());
+		cache.fitness(c2, c -> calls.incrementAndGet());
+		
+		assertEquals("fitness computations", 4, calls.get());
+		assertEquals("hits", 2, cache.getHits());
+		assertEquals("misses", 4, cache.getMisses());
+		assertEquals("size", 2, cache.size());
+	}
+	
+	@Test
+	public void keysDependOnGenesOnly(){
+		FitnessCache cache = new FitnessCache(10);
+		IntChromo row = new IntChromo(new int[2]).allocateRows(3).get(1);
+		row.set(0, 4);
+		row.set(1, 2);
+		cache.fitness(row, c -> 42);
+		assertEquals("cached fitness", 42, cache.fitness(new IntChromo(new int[]{4, 2}), c -> 0), 0);
+		row.set(1, 3);
+		assertEquals("changed genes", 0, cache.fitness(row, c -> 0), 0);
+	}
+	
+	@Test
+	public void dirtyTracking(){
+		IntChromo c1 = new IntChromo(new int[]{1, 2, 3});
+		IntChromo c2 = new IntChromo(new int[]{5, 2, 3});
+		c1.setDirty(false);
+		c2.setDirty(false);
+		c1.swapTail(c2, 1);
+		assertFalse("identical tails", c1.isDirty() || c2.isDirty());
+		c1.set(0, 1);
+		assertFalse("same gene", c1.isDirty());
+		c1.swapTail(c2, 0);
+		assertTrue("swapped genes", c1.isDirty() && c2.isDirty());
+	}
+	
+	@Test
+	public void unchangedIndividualsAreNotEvaluated(){
+		AtomicInteger calls = new AtomicInteger();
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				c -> {
+					calls.incrementAndGet();
+					return GeneticFunctions.computeIntArrayFitness.applyAsDouble(c);
+				},
+				(Random rand, IntChromo c) -> {});
+		while(pop.getNumberOfGenerations() < NUM_GEN){
+			pop.newGeneration();
+		}
+		assertEquals("only the initial population is evaluated", POP_SIZE, calls.get());
+		assertEquals("evaluation count", POP_SIZE, pop.getNumberOfEvaluations());
+	}
+	
+	@Test
+	public void duplicateGenomesHitTheCache(){
+		Population<Integer> pop = new Population<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntChromo,
+				GeneticFunctions.computeIntFitness,
+				(rand, c) -> new Chromo<Integer>(new ArrayList<>(c.getGenes()), 0));
+		FitnessCache cache = new FitnessCache(1000);
+		pop.setFitnessCache(cache);
+		while(pop.getNumberOfGenerations() < NUM_GEN){
+			pop.newGeneration();
+			for (Chromo<Integer> chromo : pop.getIndividuals()){
+				assertEquals("cached fitness is right", 
+						GeneticFunctions.computeIntFitness.apply(chromo), chromo.getFitness(), 0);
+			}
+		}
+		assertTrue("hits", cache.getHits() > 0);
+		assertEquals("misses are the only evaluations", POP_SIZE + cache.getMisses(), pop.getNumberOfEvaluations());
+	}
+}
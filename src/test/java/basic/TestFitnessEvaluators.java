@@ -0,0 +1,180 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import model.Chromo;
+import model.FitnessEvaluationException;
+import model.FitnessEvaluator;
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.Population;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TestFitnessEvaluators {
+	final static int POP_SIZE = 500;
+	static List<Chromo<Integer>> individuals;
+	static double[] expected;
+	
+	@BeforeClass
+	public static void initIndividuals(){
+		Random rand = new Random(42);
+		individuals = IntStream.range(0, POP_SIZE)
+				.mapToObj(_i -> GeneticFunctions.makeRandomIntChromo.apply(rand))
+				.collect(Collectors.toList());
+		expected = individuals.stream()
+				.mapToDouble(chromo -> GeneticFunctions.computeIntFitness.apply(chromo))
+				.toArray();
+	}
+	
+	@Test
+	public void sequentialMatchesFitnessFunction(){
+		assertSameFitness(FitnessEvaluators.sequential());
+	}
+	
+	@Test
+	public void forkJoinMatchesSequential(){
+		assertSameFitness(FitnessEvaluators.forkJoin());
+		assertSameFitness(FitnessEvaluators.forkJoin(3));
+	}
+	
+	@Test
+	public void fixedPoolMatchesSequential(){
+		assertSameFitness(FitnessEvaluators.fixedPool(4));
+	}
+	
+	@Test
+	public void virtualThreadsMatchSequential(){
+		assertSameFitness(FitnessEvaluators.virtualThreads());
+	}
+	
+	@Test
+	public void failingEvaluationReportsIndex(){
+		try (FitnessEvaluator evaluator = FitnessEvaluators.fixedPool(4)){
+			evaluator.evaluate(individuals, chromo -> {
+				if (chromo == individuals.get(123))
+					throw new IllegalArgumentException("broken simulation");
+				return 1;
+			}, new double[POP_SIZE]);
+			fail("evaluation should have failed");
+		} catch (FitnessEvaluationException e) {
+			assertEquals("failing index", 123, e.getIndex());
+			assertEquals("cause", IllegalArgumentException.class, e.getCause().getClass());
+		}
+	}
+	
+	@Test
+	public void failedGenerationKeepsRanking(){
+		boolean[] failing = {false};
+		Population<Integer> pop = new Population<>(20, 0.5, 2,
+				GeneticFunctions.makeRandomIntChromo,
+				chromo -> {
+					if (failing[0])
+						throw new IllegalStateException("broken simulation");
+					return GeneticFunctions.computeIntFitness.apply(chromo);
+				},
+				GeneticFunctions.mutateIntGenes);
+		pop.newGeneration();
+		failing[0] = true;
+		try {
+			pop.newGeneration();
+			fail("evaluation should have failed");
+		} catch (FitnessEvaluationException e) {
+			List<Chromo<Integer>> current = pop.getIndividuals();
+			for (int i=0; i<current.size(); i++){
+				assertEquals("ranked fitness of " + i, current.get(i).getFitness(), 
+						pop.getRanking().getFitness(i), 0);
+			}
+		}
+	}
+	
+	@Test
+	public void failureWaitsForRunningEvaluations() throws InterruptedException{
+		for (FitnessEvaluator evaluator : new FitnessEvaluator[]{FitnessEvaluators.forkJoin(4), 
+				FitnessEvaluators.fixedPool(4)}){
+			try {
+				double[] fitness = new double[8];
+				Arrays.fill(fitness, -1);
+				try {
+					evaluator.evaluate(individuals.subList(0, 8), chromo -> {
+						if (chromo == individuals.get(0))
+							throw new IllegalArgumentException("broken simulation");
+						try {
+							Thread.sleep(50);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						return 1;
+					}, fitness);
+					fail("evaluation should have failed");
+				} catch (FitnessEvaluationException e) {
+					double[] afterFailure = fitness.clone();
+					Thread.sleep(200);
+					assertArrayEquals("no write after the failure", afterFailure, fitness, 0);
+				}
+			} finally {
+				evaluator.close();
+			}
+		}
+	}
+	
+	@Test
+	public void errorWaitsForRunningEvaluations() throws InterruptedException{
+		try (FitnessEvaluator evaluator = FitnessEvaluators.forkJoin(4)){
+			double[] fitness = new double[8];
+			Arrays.fill(fitness, -1);
+			try {
+				evaluator.evaluate(individuals.subList(0, 8), chromo -> {
+					if (chromo == individuals.get(0))
+						throw new Error("broken simulation");
+					try {
+						Thread.sleep(50);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return 1;
+				}, fitness);
+				fail("evaluation should have failed");
+			} catch (Error e) {
+				assertEquals("message", "broken simulation", e.getMessage());
+				double[] afterFailure = fitness.clone();
+				Thread.sleep(200);
+				assertArrayEquals("no write after the error", afterFailure, fitness, 0);
+			}
+		}
+	}
+	
+	@Test
+	public void parallelPopulationRightSize(){
+		try (FitnessEvaluator evaluator = FitnessEvaluators.forkJoin(4)){
+			Population<Integer> pop = new Population<>(POP_SIZE, 0.5, 2,
+					GeneticFunctions.makeRandomIntChromo,
+					GeneticFunctions.computeIntFitness,
+					GeneticFunctions.mutateIntGenes,
+					evaluator);
+			while(pop.getNumberOfGenerations() < 10){
+				pop.newGeneration();
+				assertEquals("population size", POP_SIZE, pop.getIndividuals().size());
+			}
+		}
+	}
+	
+	private void assertSameFitness(FitnessEvaluator evaluator){
+		try {
+			double[] fitness = new double[POP_SIZE];
+			evaluator.evaluate(individuals, chromo -> GeneticFunctions.computeIntFitness.apply(chromo), fitness);
+			assertArrayEquals("fitness values", expected, fitness, 0);
+		} finally {
+			evaluator.close();
+		}
+	}
+}
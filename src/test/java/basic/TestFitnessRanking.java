@@ -0,0 +1,120 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import model.FitnessRanking;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.PrimitivePopulation;
+import model.SelectionStrategies;
+
+import org.junit.Test;
+
+public class TestFitnessRanking {
+	final static int SIZE = 1000;
+	
+	/**
+	 * @return positions sorted by descending fitness, ties by ascending position
+	 */
+	private static int[] referenceOrder(double[] fitness){
+		return IntStream.range(0, fitness.length).boxed()
+				.sorted(Comparator.<Integer>comparingDouble(i -> -fitness[i]).thenComparing(i -> i))
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+	
+	private static double[] randomFitness(Random rand){
+		//few distinct values, so that there are many ties
+		return rand.doubles(SIZE).map(f -> Math.floor(f * 50)).toArray();
+	}
+	
+	@Test
+	public void topAndBottomMatchFullSort(){
+		Random rand = new Random(11);
+		double[] fitness = randomFitness(rand);
+		int[] expected = referenceOrder(fitness);
+		FitnessRanking ranking = new FitnessRanking();
+		ranking.update(fitness, SIZE);
+		
+		assertEquals("best", expected[0], ranking.best());
+		assertEquals("worst", expected[SIZE - 1], ranking.worst());
+		for (int k : new int[]{1, 2, 10, 100}){
+			int[] top = new int[k];
+			assertEquals("found", k, ranking.top(k, top));
+			assertArrayEquals("top " + k, Arrays.copyOf(expected, k), top);
+			
+			int[] bottom = new int[k];
+			ranking.bottom(k, bottom);
+			for (int i=0; i<k; i++){
+				assertEquals("bottom " + k + " at " + i, expected[SIZE - 1 - i], bottom[i]);
+			}
+		}
+		
+		int[] all = new int[SIZE + 5];
+		assertEquals("capped to size", SIZE, ranking.top(SIZE + 5, all));
+	}
+	
+	@Test
+	public void ranksAndPercentiles(){
+		Random rand = new Random(12);
+		double[] fitness = randomFitness(rand);
+		int[] expected = referenceOrder(fitness);
+		double[] original = fitness.clone();
+		double[] ascending = fitness.clone();
+		Arrays.sort(ascending);
+		
+		FitnessRanking ranking = new FitnessRanking();
+		ranking.update(fitness, SIZE);
+		assertEquals("median before sorting", ascending[SIZE/2 - 1], ranking.percentile(50), 0);
+		assertEquals("max", ascending[SIZE - 1], ranking.percentile(100), 0);
+		assertEquals("min", ascending[0], ranking.percentile(0), 0);
+		
+		for (int rank=0; rank<SIZE; rank++){
+			assertEquals("rank of " + expected[rank], rank, ranking.rankOf(expected[rank]));
+			assertEquals("at rank " + rank, expected[rank], ranking.atRank(rank));
+		}
+		assertEquals("90th percentile once sorted", ascending[899], ranking.percentile(90), 0);
+		assertArrayEquals("fitness values untouched", original, fitness, 0);
+	}
+	
+	@Test
+	public void nanRanksLast(){
+		FitnessRanking ranking = new FitnessRanking();
+		ranking.update(new double[]{Double.NaN, 1, -5}, 3);
+		assertEquals("best", 1, ranking.best());
+		assertEquals("worst", 0, ranking.worst());
+		assertEquals("rank of NaN", 2, ranking.rankOf(0));
+	}
+	
+	@Test
+	public void populationKeepsRankingUpToDate(){
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(200, 0.5, 3,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes);
+		pop.setSelectionStrategy(SelectionStrategies.linearRank(1.8));
+		double best = pop.getFittestChromo().getFitness();
+		for (int g=0; g<30; g++){
+			pop.newGeneration();
+			FitnessRanking ranking = pop.getRanking();
+			assertEquals("ranked individuals", 200, ranking.size());
+			assertEquals("fittest", pop.getFittestChromo().getFitness(), ranking.getFitness(ranking.best()), 0);
+			assertTrue("elites keep the best fitness", pop.getFittestChromo().getFitness() >= best);
+			best = pop.getFittestChromo().getFitness();
+		}
+		
+		//the immigrant replaces the least fit individual and becomes the fittest
+		IntChromo migrant = pop.getFittestChromo();
+		migrant.setFitness(1000);
+		pop.immigrate(Arrays.asList(migrant));
+		assertEquals("fittest after immigration", 1000, pop.getFittestChromo().getFitness(), 0);
+		assertEquals("rank of the immigrant", 0, pop.getRanking().rankOf(pop.getRanking().best()));
+	}
+}
@@ -30,8 +30,8 @@ public class TestGA {
 
     		prop.load(input);
     		
-    		pop = new Population<>(POP_SIZE, (double)prop.get("CROSSOVER_RATE"), 
-    				(int)prop.get("NUM_ELITE"),
+    		pop = new Population<>(POP_SIZE, Double.parseDouble(prop.getProperty("CROSSOVER_RATE")), 
+    				Integer.parseInt(prop.getProperty("NUM_ELITE")),
     				GeneticFunctions.makeRandomIntChromo,
     				GeneticFunctions.computeIntFitness,
     				GeneticFunctions.mutateIntGenes);
@@ -0,0 +1,120 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import model.Chromo;
+import model.GeneSequence;
+import model.GeneticFunctions;
+import model.Population;
+
+import org.junit.Test;
+
+public class TestGeneSequence {
+
+	private static GeneSequence<Integer> range(int from, int length){
+		return GeneSequence.of(IntStream.range(from, from + length).boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void spliceTakesHeadThenTail(){
+		GeneSequence<Integer> a = range(0, 100);
+		GeneSequence<Integer> b = range(1000, 100);
+		for (int position : new int[]{0, 1, 31, 32, 33, 64, 99, 100}){
+			List<Integer> expected = new ArrayList<>(a.subList(0, position));
+			expected.addAll(b.subList(position, 100));
+			assertEquals("splice at " + position, expected, GeneSequence.splice(a, b, position));
+		}
+		assertEquals("parent unchanged", range(0, 100), a);
+		assertEquals("parent unchanged", range(1000, 100), b);
+	}
+
+	@Test
+	public void spliceKeepsTailLength(){
+		GeneSequence<Integer> shorter = range(0, 40);
+		GeneSequence<Integer> longer = range(100, 70);
+		assertEquals("length of the tail", 70, GeneSequence.splice(shorter, longer, 40).size());
+		assertEquals("length of the tail", 40, GeneSequence.splice(longer, shorter, 40).size());
+		assertEquals("genes of the head", Arrays.asList(100, 101), GeneSequence.splice(longer, shorter, 40).subList(0, 2));
+	}
+
+	@Test
+	public void editorLeavesSourceUnchanged(){
+		GeneSequence<Integer> source = range(0, 70);
+		GeneSequence<Integer> edited = source.edit().set(5, -1).set(69, -2).build();
+		assertEquals("edited gene", Integer.valueOf(-1), edited.get(5));
+		assertEquals("edited gene", Integer.valueOf(-2), edited.get(69));
+		assertEquals("untouched gene", Integer.valueOf(40), edited.get(40));
+		assertEquals("source unchanged", range(0, 70), source);
+		assertEquals("with", Integer.valueOf(7), source.with(3, 7).get(3));
+		assertEquals("source unchanged", Integer.valueOf(3), source.get(3));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void sequenceIsImmutable(){
+		range(0, 10).set(0, 1);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void editorIsSingleUse(){
+		GeneSequence.Editor<Integer> editor = range(0, 10).edit();
+		editor.build();
+		editor.set(0, 1);
+	}
+
+	@Test
+	public void ofDoesNotCopySequences(){
+		GeneSequence<Integer> genes = range(0, 10);
+		assertSame("same sequence", genes, GeneSequence.of(genes));
+		assertSame("chromo keeps the sequence", genes, new Chromo<>(genes, 0).getGenes());
+	}
+
+	@Test
+	public void spliceSharesChunks(){
+		int length = 100000;
+		GeneSequence<Integer> a = range(0, length);
+		GeneSequence<Integer> b = range(0, length).with(length/2, -1);
+		GeneSequence.splice(a, b, 3);
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i=0; i<100; i++){
+			GeneSequence.splice(a, b, 1 + i);
+		}
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+		//a full copy of the references would take at least 4 bytes per gene
+		assertTrue("spliced without copying the genes: " + allocated, allocated < 100L * length);
+	}
+
+	@Test
+	public void evolutionNeverCorruptsParents(){
+		Population<Integer> pop = new Population<>(60, 0.9, 2,
+				GeneticFunctions.makeRandomIntChromo,
+				GeneticFunctions.computeIntFitness,
+				GeneticFunctions.mutateIntGenes);
+		//genes seen so far, with a snapshot of their contents
+		Map<GeneSequence<Integer>, List<Integer>> seen = new IdentityHashMap<>();
+		for (int g=0; g<50; g++){
+			for (Chromo<Integer> chromo : pop.getIndividuals()){
+				seen.putIfAbsent(chromo.getGenes(), new ArrayList<>(chromo.getGenes()));
+				assertEquals("fitness of the genes",
+						GeneticFunctions.computeIntFitness.apply(chromo), chromo.getFitness(), 0);
+			}
+			pop.newGeneration();
+		}
+		for (Map.Entry<GeneSequence<Integer>, List<Integer>> entry : seen.entrySet()){
+			assertEquals("genes never change", entry.getValue(), entry.getKey());
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.FitnessCache;
+import model.GenerationListener;
+import model.GenerationListeners;
+import model.GenerationStats;
+import model.IntChromo;
+import model.PrimitivePopulation;
+
+import org.junit.Test;
+
+public class TestGenerationListener {
+	final static int POP_SIZE = 200;
+	
+	@Test
+	public void statsDescribeGeneration(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 1);
+		pop.setFitnessCache(new FitnessCache(1000));
+		List<GenerationStats> received = new ArrayList<>();
+		GenerationListener listener = received::add;
+		pop.addGenerationListener(listener);
+		
+		for (int i=0; i<5; i++){
+			long evaluations = pop.getNumberOfEvaluations();
+			pop.newGeneration();
+			GenerationStats stats = received.get(i);
+			assertEquals("generation", pop.getNumberOfGenerations(), stats.getGeneration());
+			assertEquals("evaluations", pop.getNumberOfEvaluations() - evaluations, stats.getNumberOfEvaluations());
+			assertEquals("best fitness", pop.getFittestChromo().getFitness(), stats.getBestFitness(), 0);
+			
+			double mean = pop.getIndividuals().stream().mapToDouble(IntChromo::getFitness).average().getAsDouble();
+			assertEquals("mean fitness", mean, stats.getMeanFitness(), 1e-9);
+			assertTrue("std dev", stats.getFitnessStdDev() >= 0);
+			assertTrue("diversity", stats.getDiversity() > 0 && stats.getDiversity() <= 1);
+			assertTrue("phase times", stats.getSelectionTime() > 0 && stats.getMutationTime() > 0 
+					&& stats.getEvaluationTime() > 0);
+			assertEquals("total time", stats.getSelectionTime() + stats.getCrossoverTime() 
+					+ stats.getMutationTime() + stats.getEvaluationTime(), stats.getTotalTime());
+		}
+		
+		pop.removeGenerationListener(listener);
+		pop.newGeneration();
+		assertEquals("no stats once removed", 5, received.size());
+	}
+	
+	@Test
+	public void flightRecorderEvents() throws Exception{
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 2);
+		pop.addGenerationListener(GenerationListeners.flightRecorder());
+		Path file = Files.createTempFile("generations", ".jfr");
+		try (Recording recording = new Recording()){
+			recording.enable("model.Generation");
+			recording.start();
+			for (int i=0; i<3; i++){
+				pop.newGeneration();
+			}
+			recording.stop();
+			recording.dump(file);
+			
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			assertEquals("events", 3, events.size());
+			RecordedEvent last = events.get(2);
+			assertEquals("generation", 3, last.getInt("generation"));
+			assertEquals("best fitness", pop.getFittestChromo().getFitness(), last.getDouble("bestFitness"), 0);
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
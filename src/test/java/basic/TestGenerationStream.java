@@ -0,0 +1,99 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import model.GenerationSnapshot;
+import model.GenerationStream;
+import model.IntChromo;
+import model.PrimitivePopulation;
+
+import org.junit.Test;
+
+public class TestGenerationStream {
+	
+	@Test
+	public void viewsDoNotCopy(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(50, 11);
+		pop.newGeneration();
+		List<IntChromo> view = pop.getIndividualsView();
+		assertSame("same individuals", view.get(0), pop.getIndividualsView().get(0));
+		assertNotSame("copied individuals", view.get(0), pop.getIndividuals().get(0));
+		assertSame("same fittest", pop.getFittestChromoView(), pop.getFittestChromoView());
+		assertEquals("fittest", pop.getFittestChromo().getFitness(), pop.getFittestChromoView().getFitness(), 0);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void viewIsReadOnly(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(50, 11);
+		pop.getIndividualsView().remove(0);
+	}
+	
+	@Test
+	public void consumerSeesIncreasingGenerations() throws Exception{
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(50, 11);
+		GenerationStream<IntChromo> stream = new GenerationStream<>(pop);
+		CompletableFuture<List<Integer>> consumed = CompletableFuture.supplyAsync(() -> 
+				stream.stream().map(GenerationSnapshot::getGeneration).collect(Collectors.toList()));
+		for (int i=0; i<200; i++){
+			pop.newGeneration();
+		}
+		stream.close();
+		List<Integer> generations = consumed.get(10, TimeUnit.SECONDS);
+		for (int i=1; i<generations.size(); i++){
+			assertTrue("increasing generations " + generations, generations.get(i) > generations.get(i-1));
+		}
+		if (!generations.isEmpty())
+			assertEquals("last generation", 200, (int)generations.get(generations.size() - 1));
+	}
+	
+	@Test
+	public void snapshotsOwnTheirFittest(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(50, 11);
+		GenerationStream<IntChromo> stream = new GenerationStream<>(pop);
+		assertNull("no generation yet", stream.getLatest());
+		pop.newGeneration();
+		GenerationSnapshot<IntChromo> snapshot = stream.getLatest();
+		assertEquals("generation", 1, snapshot.getGeneration());
+		assertNotSame("copied fittest", pop.getFittestChromoView(), snapshot.getFittestChromo());
+		int[] genes = snapshot.getFittestChromo().toArray();
+		for (int i=0; i<20; i++){
+			pop.newGeneration();
+		}
+		assertEquals("snapshot unchanged", new IntChromo(genes).toString(), snapshot.getFittestChromo().toString());
+		stream.close();
+	}
+	
+	@Test
+	public void slowConsumerSkipsGenerations(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(50, 11);
+		GenerationStream<IntChromo> stream = new GenerationStream<>(pop);
+		Iterator<GenerationSnapshot<IntChromo>> iterator = stream.iterator();
+		//nobody consumes while evolving: the population never waits
+		for (int i=0; i<30; i++){
+			pop.newGeneration();
+		}
+		assertTrue("latest available", iterator.hasNext());
+		assertEquals("only the latest", 30, iterator.next().getGeneration());
+		pop.newGeneration();
+		stream.close();
+		List<Integer> rest = new ArrayList<>();
+		iterator.forEachRemaining(s -> rest.add(s.getGeneration()));
+		assertEquals("remaining after close", 1, rest.size());
+		assertEquals("remaining after close", 31, (int)rest.get(0));
+		assertFalse("ended", stream.iterator().hasNext());
+		pop.newGeneration();
+		assertEquals("not published after close", 31, stream.getLatest().getGeneration());
+	}
+}
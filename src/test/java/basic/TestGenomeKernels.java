@@ -0,0 +1,88 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import model.BitChromo;
+import model.DoubleChromo;
+import model.GenomeKernels;
+import model.IntChromo;
+
+import org.junit.Test;
+
+public class TestGenomeKernels {
+	final Random rand = new Random(3);
+
+	@Test
+	public void scalarIsTheFallback(){
+		assertEquals("no vector module on the class path", GenomeKernels.SCALAR, GenomeKernels.get());
+	}
+
+	@Test
+	public void randomMaskStaysInLength(){
+		long[] mask = GenomeKernels.randomMask(rand, 70, 0.5);
+		assertEquals("words", 2, mask.length);
+		assertEquals("no gene past the length", 0, mask[1] >>> 6);
+		assertEquals("rate zero", 0, GenomeKernels.randomMask(rand, 70, 0)[0]);
+		assertEquals("rate one", -1L, GenomeKernels.randomMask(rand, 70, 1)[0]);
+	}
+
+	@Test
+	public void uniformCrossoverSwapsSelectedGenes(){
+		IntChromo a = new IntChromo(new int[]{0, 1, 2, 3}, 1);
+		IntChromo b = new IntChromo(new int[]{4, 5, 6, 7}, 1);
+		a.setDirty(false);
+		b.setDirty(false);
+		a.uniformCrossover(b, new long[]{0b1010});
+		assertArrayEquals("selected genes from b", new int[]{0, 5, 2, 7}, a.toArray());
+		assertArrayEquals("selected genes from a", new int[]{4, 1, 6, 3}, b.toArray());
+		assertTrue("changed", a.isDirty() && b.isDirty());
+
+		DoubleChromo c = new DoubleChromo(new double[]{0, 1}, 1);
+		DoubleChromo d = new DoubleChromo(new double[]{0, 2}, 1);
+		c.setDirty(false);
+		c.uniformCrossover(d, new long[]{0b01});
+		assertFalse("equal genes swapped", c.isDirty());
+		c.uniformCrossover(d, new long[]{0b10});
+		assertArrayEquals("selected gene from d", new double[]{0, 2}, c.toArray(), 0);
+	}
+
+	@Test
+	public void maskedMutation(){
+		IntChromo a = new IntChromo(new int[]{0, 1, 2, 3}, 1);
+		a.setDirty(false);
+		a.mutate(new long[]{0b0110}, new int[]{9, 1, 9, 9});
+		assertArrayEquals("selected genes replaced", new int[]{0, 1, 9, 3}, a.toArray());
+		assertTrue("changed", a.isDirty());
+
+		BitChromo bits = new BitChromo(70);
+		bits.setDirty(false);
+		bits.mutate(new long[]{1, 1L << 5});
+		assertTrue("flipped", bits.get(0) && bits.get(69));
+		assertEquals("flipped", 2, bits.cardinality());
+		assertTrue("changed", bits.isDirty());
+	}
+
+	@Test
+	public void reductions(){
+		IntChromo a = new IntChromo(new int[]{10, 60, 51, 50});
+		assertEquals("above", 2, a.countAbove(50));
+		assertEquals("sum", 171, a.sum());
+		assertEquals("distance", 2, a.hammingDistance(new IntChromo(new int[]{10, 0, 51, 0, 8})));
+		assertEquals("sum", 1.5, new DoubleChromo(new double[]{1, 0.5}).sum(), 0);
+
+		BitChromo b = new BitChromo(70);
+		BitChromo c = new BitChromo(70);
+		b.set(3, true);
+		c.set(3, true);
+		c.set(68, true);
+		assertEquals("distance", 1, b.hammingDistance(c));
+		b.uniformCrossover(c, new long[]{0, -1L >>> 58});
+		assertEquals("crossed", 2, b.cardinality());
+		assertEquals("crossed", 1, c.cardinality());
+	}
+}
@@ -0,0 +1,120 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.function.ToDoubleFunction;
+
+import model.GeneticFunctions;
+import model.IncrementalFitness;
+import model.IntChromo;
+import model.PrimitivePopulation;
+import model.SequentialFitness;
+
+import org.junit.Test;
+
+public class TestIncrementalFitness {
+	final int INTERVAL = 8;
+	
+	/**
+	 * Sum of the genes before the first one lower than 5
+	 */
+	final SequentialFitness<long[]> prefixSum = new SequentialFitness<long[]>() {
+		
+		@Override
+		public long[] start() {
+			return new long[1];
+		}
+		
+		@Override
+		public boolean step(long[] sum, int gene) {
+			if (gene < 5)
+				return false;
+			sum[0] += gene;
+			return true;
+		}
+		
+		@Override
+		public long[] copy(long[] sum) {
+			return sum.clone();
+		}
+		
+		@Override
+		public double fitness(long[] sum) {
+			return sum[0];
+		}
+	};
+	
+	final ToDoubleFunction<IntChromo> fullPrefixSum = chromo -> {
+		long[] sum = prefixSum.start();
+		for (int i=0; i<chromo.length() && prefixSum.step(sum, chromo.get(i)); i++);
+		return prefixSum.fitness(sum);
+	};
+	
+	private int[] genes(int length){
+		int[] genes = new int[length];
+		for (int i=0; i<length; i++){
+			genes[i] = 10 + i;
+		}
+		return genes;
+	}
+	
+	@Test
+	public void resumesFromLastCheckpoint(){
+		IncrementalFitness<long[]> fitness = new IncrementalFitness<>(prefixSum, INTERVAL);
+		IntChromo parent = new IntChromo(genes(100));
+		assertEquals("first evaluation", fullPrefixSum.applyAsDouble(parent), fitness.applyAsDouble(parent), 0);
+		assertEquals("all the genes read", 100, fitness.getNumberOfSteps());
+		
+		IntChromo child = parent.copy();
+		child.set(98, 7);
+		assertEquals("resumed evaluation", fullPrefixSum.applyAsDouble(child), fitness.applyAsDouble(child), 0);
+		assertEquals("genes after the checkpoint read", 100 + 100 - 96, fitness.getNumberOfSteps());
+		
+		IntChromo other = parent.copy();
+		other.swapTail(new IntChromo(new int[100]), 50);
+		assertEquals("crossed evaluation", fullPrefixSum.applyAsDouble(other), fitness.applyAsDouble(other), 0);
+		assertEquals("genes up to the stop read", 104 + 51 - 48, fitness.getNumberOfSteps());
+		
+		IntChromo grandchild = other.copy();
+		grandchild.set(70, 9);
+		assertEquals("stopped before the change", fullPrefixSum.applyAsDouble(grandchild), fitness.applyAsDouble(grandchild), 0);
+		assertEquals("no gene read", 107, fitness.getNumberOfSteps());
+		
+		grandchild.set(3, 1);
+		assertEquals("changed from the start", fullPrefixSum.applyAsDouble(grandchild), fitness.applyAsDouble(grandchild), 0);
+		assertEquals("genes up to the stop read", 107 + 4, fitness.getNumberOfSteps());
+		assertEquals("evaluations", 5, fitness.getNumberOfEvaluations());
+	}
+	
+	@Test
+	public void maskedOperatorsRecordFirstChange(){
+		IncrementalFitness<long[]> fitness = new IncrementalFitness<>(prefixSum, INTERVAL);
+		IntChromo a = new IntChromo(genes(70));
+		IntChromo b = new IntChromo(genes(70));
+		fitness.applyAsDouble(a);
+		fitness.applyAsDouble(b);
+		int[] values = genes(70);
+		values[66] = 200;
+		b.mutate(new long[]{0, 1L << 2}, values);
+		a.uniformCrossover(b, new long[]{0, 1L << 2});
+		assertEquals("crossed evaluation", fullPrefixSum.applyAsDouble(a), fitness.applyAsDouble(a), 0);
+		assertEquals("genes after the checkpoint read", 140 + 70 - 64, fitness.getNumberOfSteps());
+	}
+	
+	@Test
+	public void evolutionMatchesFullEvaluation(){
+		for (boolean contiguous : new boolean[]{false, true}){
+			IncrementalFitness<long[]> fitness = new IncrementalFitness<>(prefixSum, INTERVAL);
+			PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(80, 0.7, 2,
+					GeneticFunctions.makeRandomIntArrayChromo, fitness,
+					(rand, chromo) -> chromo.set(rand.nextInt(chromo.length()), rand.nextInt(100)));
+			pop.setContiguousStorage(contiguous);
+			for (int g=0; g<100; g++){
+				pop.newGeneration();
+				for (IntChromo chromo : pop.getIndividuals()){
+					assertEquals("fitness of the genes", fullPrefixSum.applyAsDouble(chromo), chromo.getFitness(), 0);
+				}
+			}
+		}
+	}
+}
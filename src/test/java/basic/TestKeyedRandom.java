@@ -0,0 +1,83 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import model.Chromo;
+import model.FitnessEvaluator;
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.KeyedRandom;
+import model.Population;
+import model.PrimitivePopulation;
+import model.StopConditions;
+
+import org.junit.Test;
+
+public class TestKeyedRandom {
+	final int POP_SIZE = 101;
+	final int NUM_GEN = 50;
+	final long SEED = 2016;
+	
+	private List<String> evolvePrimitive(long seed, FitnessEvaluator evaluator, boolean contiguous){
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0.7, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes,
+				evaluator, seed);
+		pop.setContiguousStorage(contiguous);
+		for (int i=0; i<NUM_GEN; i++){
+			pop.newGeneration();
+		}
+		evaluator.close();
+		return pop.getIndividuals().stream()
+				.map(c -> c + " " + c.getFitness())
+				.collect(Collectors.toList());
+	}
+	
+	@Test
+	public void streamsDependOnSeedAndKey(){
+		KeyedRandom rand = new KeyedRandom(SEED);
+		long first = rand.at(3, 7).nextLong();
+		double gaussian = rand.nextGaussian();
+		rand.at(0, 0).nextGaussian();
+		assertEquals("same key", first, rand.at(3, 7).nextLong());
+		assertEquals("no gaussian kept between streams", gaussian, rand.nextGaussian(), 0);
+		assertNotEquals("other index", first, rand.at(3, 8).nextLong());
+		assertNotEquals("other generation", first, rand.at(4, 7).nextLong());
+		assertNotEquals("other seed", first, new KeyedRandom(SEED + 1).at(3, 7).nextLong());
+		assertNotEquals("split", first, rand.split(0).at(3, 7).nextLong());
+		assertEquals("split", rand.split(1).nextLong(), new KeyedRandom(SEED).split(1).nextLong());
+	}
+	
+	@Test
+	public void sameSeedSameGenerations(){
+		List<String> sequential = evolvePrimitive(SEED, FitnessEvaluators.sequential(), false);
+		assertEquals("same seed", sequential, evolvePrimitive(SEED, FitnessEvaluators.sequential(), false));
+		assertEquals("parallel evaluation", sequential, evolvePrimitive(SEED, FitnessEvaluators.forkJoin(4), false));
+		assertEquals("fixed pool", sequential, evolvePrimitive(SEED, FitnessEvaluators.fixedPool(3), false));
+		assertEquals("contiguous storage", sequential, evolvePrimitive(SEED, FitnessEvaluators.forkJoin(2), true));
+		assertNotEquals("other seed", sequential, evolvePrimitive(SEED + 1, FitnessEvaluators.sequential(), false));
+	}
+	
+	@Test
+	public void seedOfListPopulation(){
+		Population<Integer> pop1 = new Population<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntChromo, GeneticFunctions.computeIntFitness, GeneticFunctions.mutateIntGenes,
+				FitnessEvaluators.sequential(), SEED);
+		Population<Integer> pop2 = new Population<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntChromo, GeneticFunctions.computeIntFitness, GeneticFunctions.mutateIntGenes,
+				FitnessEvaluators.forkJoin(), SEED);
+		assertEquals("recorded seed", SEED, pop1.evolve(StopConditions.maxGenerations(NUM_GEN)).getSeed());
+		pop2.evolve(StopConditions.maxGenerations(NUM_GEN));
+		List<Chromo<Integer>> individuals1 = pop1.getIndividuals();
+		List<Chromo<Integer>> individuals2 = pop2.getIndividuals();
+		for (int i=0; i<POP_SIZE; i++){
+			assertEquals("same genes", individuals1.get(i).getGenes(), individuals2.get(i).getGenes());
+		}
+	}
+}
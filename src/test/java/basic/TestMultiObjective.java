@@ -0,0 +1,160 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.Chromo;
+import model.FitnessEvaluator;
+import model.FitnessEvaluators;
+import model.GeneSequence;
+import model.MultiObjectivePopulation;
+import model.ParetoFronts;
+import model.ParetoSolution;
+import model.StopConditions;
+
+import org.junit.Test;
+
+public class TestMultiObjective {
+	final static int POP_SIZE = 60;
+	final static int NUM_GENES = 10;
+	
+	//fronts computed by the original NSGA-II definition
+	private static int[] bruteForceRanks(double[][] points){
+		int[] ranks = new int[points.length];
+		boolean[] assigned = new boolean[points.length];
+		int remaining = points.length;
+		for (int front=0; remaining > 0; front++){
+			List<Integer> members = new ArrayList<>();
+			for (int p=0; p<points.length; p++){
+				if (assigned[p])
+					continue;
+				boolean dominated = false;
+				for (int q=0; q<points.length && !dominated; q++){
+					dominated = !assigned[q] && ParetoFronts.dominates(points[q], points[p]);
+				}
+				if (!dominated)
+					members.add(p);
+			}
+			for (int p : members){
+				ranks[p] = front;
+				assigned[p] = true;
+			}
+			remaining -= members.size();
+		}
+		return ranks;
+	}
+	
+	@Test
+	public void sortMatchesDefinition(){
+		Random rand = new Random(3);
+		for (int objectives=2; objectives<=4; objectives++){
+			for (int n : new int[]{1, 2, 10, 200}){
+				double[][] points = new double[n][objectives];
+				for (double[] point : points){
+					for (int m=0; m<objectives; m++){
+						//few distinct values, so that ties and duplicates occur
+						point[m] = rand.nextInt(6);
+					}
+				}
+				int[] ranks = new int[n];
+				int numFronts = ParetoFronts.sort(points, n, ranks);
+				int[] expected = bruteForceRanks(points);
+				assertArrayEquals("fronts of " + n + " points of " + objectives + " objectives", expected, ranks);
+				assertEquals("number of fronts", 1 + java.util.Arrays.stream(expected).max().getAsInt(), numFronts);
+			}
+		}
+	}
+	
+	@Test
+	public void crowdingFavoursExtremes(){
+		double[][] points = {{0, 4}, {1, 3}, {1.5, 2.5}, {3, 1}, {4, 0}};
+		double[] distances = new double[points.length];
+		ParetoFronts.crowdingDistance(points, new int[]{0, 1, 2, 3, 4}, points.length, distances);
+		assertEquals("extreme", Double.POSITIVE_INFINITY, distances[0], 0);
+		assertEquals("extreme", Double.POSITIVE_INFINITY, distances[4], 0);
+		assertEquals("interior", 2 * (1.5 - 0) / 4, distances[1], 1e-9);
+		assertTrue("isolated point is less crowded", distances[3] > distances[2]);
+	}
+	
+	//ZDT1, both objectives minimized: its Pareto front is f2 = 1 - sqrt(f1), where g = 1
+	private static double[] zdt1(Chromo<Double> chromo){
+		GeneSequence<Double> x = chromo.getGenes();
+		double sum = 0;
+		for (int i=1; i<x.size(); i++){
+			sum += x.get(i);
+		}
+		double g = 1 + 9 * sum / (x.size() - 1);
+		double f1 = x.get(0);
+		double f2 = g * (1 - Math.sqrt(f1 / g));
+		return new double[]{-f1, -f2};
+	}
+	
+	private static MultiObjectivePopulation<Double> zdt1Population(FitnessEvaluator evaluator, long seed){
+		return new MultiObjectivePopulation<>(POP_SIZE, 0.9, 2,
+				rand -> {
+					List<Double> genes = new ArrayList<>();
+					for (int i=0; i<NUM_GENES; i++){
+						genes.add(rand.nextDouble());
+					}
+					return new Chromo<>(genes, 0);
+				},
+				TestMultiObjective::zdt1,
+				(rand, chromo) -> {
+					GeneSequence.Editor<Double> genes = chromo.getGenes().edit();
+					for (int i=0; i<genes.size(); i++){
+						if (rand.nextDouble() < 1.0 / NUM_GENES)
+							genes.set(i, Math.min(1, Math.max(0, genes.get(i) + rand.nextGaussian() * 0.1)));
+					}
+					return new Chromo<>(genes.build(), 0);
+				},
+				evaluator, seed);
+	}
+	
+	@Test
+	public void approachesParetoFront(){
+		MultiObjectivePopulation<Double> pop = zdt1Population(FitnessEvaluators.sequential(), 1);
+		List<ParetoSolution<Double>> front = pop.evolve(StopConditions.maxGenerations(200));
+		assertEquals("generations", 200, pop.getNumberOfGenerations());
+		assertEquals("evaluations", POP_SIZE * 201L, pop.getNumberOfEvaluations());
+		assertTrue("size of the front " + front.size(), front.size() > POP_SIZE / 2);
+		double minF1 = 1, maxF1 = 0;
+		for (ParetoSolution<Double> solution : front){
+			double f1 = -solution.getObjective(0), f2 = -solution.getObjective(1);
+			assertTrue("close to the optimal front: " + solution, f2 < 1 - Math.sqrt(f1) + 0.2);
+			minF1 = Math.min(minF1, f1);
+			maxF1 = Math.max(maxF1, f1);
+			assertEquals("fitness of the first front", 0, solution.getChromo().getFitness(), 0);
+			for (ParetoSolution<Double> other : front){
+				assertFalse("non-dominated", ParetoFronts.dominates(other.getObjectives(), solution.getObjectives()));
+			}
+		}
+		assertTrue("spread along the front: " + minF1 + " to " + maxF1, maxF1 - minF1 > 0.5);
+	}
+	
+	@Test
+	public void parallelEvaluationGivesSameFront(){
+		MultiObjectivePopulation<Double> sequential = zdt1Population(FitnessEvaluators.sequential(), 9);
+		try (FitnessEvaluator parallel = FitnessEvaluators.forkJoin(4)){
+			MultiObjectivePopulation<Double> forkJoin = zdt1Population(parallel, 9);
+			for (int i=0; i<30; i++){
+				sequential.newGeneration();
+				forkJoin.newGeneration();
+			}
+			assertEquals("same front", sequential.getParetoFront().toString(), forkJoin.getParetoFront().toString());
+		}
+	}
+	
+	@Test(expected = model.FitnessEvaluationException.class)
+	public void wrongNumberOfObjectivesFails(){
+		new MultiObjectivePopulation<Integer>(10, 0.9, 3,
+				rand -> new Chromo<>(java.util.Arrays.asList(1, 2), 0),
+				chromo -> new double[]{1, 2},
+				(rand, chromo) -> chromo);
+	}
+}
@@ -0,0 +1,119 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import model.BitChromo;
+import model.DoubleChromo;
+import model.IntChromo;
+import model.Mutations;
+
+import org.junit.Test;
+
+public class TestMutations {
+	final static int LENGTH = 100000;
+	final Random rand = new Random(5);
+	
+	private static int changed(int[] before, IntChromo after){
+		int changed = 0;
+		for (int i=0; i<before.length; i++){
+			if (before[i] != after.get(i))
+				changed++;
+		}
+		return changed;
+	}
+	
+	@Test
+	public void mutatesAtTheGivenRate(){
+		for (double rate : new double[]{0.001, 0.05, 0.5}){
+			IntChromo chromo = new IntChromo(new int[LENGTH]);
+			//values never equal to the current genes
+			Mutations.uniformReset(() -> rate, 1).accept(rand, chromo);
+			assertEquals("genes unchanged by a reset to 0", 0, chromo.countAbove(0));
+			
+			int[] genes = new int[LENGTH];
+			chromo = new IntChromo(genes.clone());
+			Mutations.creep(() -> rate, 3, -10, 10).accept(rand, chromo);
+			double expected = rate * LENGTH;
+			int changed = changed(genes, chromo);
+			assertTrue("mutations at rate " + rate + ": " + changed, 
+					Math.abs(changed - expected) < 5 * Math.sqrt(expected) + 1);
+		}
+	}
+	
+	@Test
+	public void extremeRates(){
+		IntChromo chromo = new IntChromo(new int[100]);
+		Mutations.creep(() -> 0, 1, 0, 10).accept(rand, chromo);
+		assertEquals("rate 0", 0, chromo.countAbove(0));
+		Mutations.creep(() -> 1, 1, 1, 10).accept(rand, chromo);
+		assertEquals("rate 1", 100, chromo.countAbove(0));
+		
+		BitChromo bits = new BitChromo(130);
+		Mutations.bitFlip(() -> 1).accept(rand, bits);
+		assertEquals("every bit flipped", 130, bits.cardinality());
+	}
+	
+	@Test
+	public void mutatedGenesStayInBounds(){
+		IntChromo chromo = new IntChromo(new int[1000]);
+		BiConsumer<Random, IntChromo> creep = Mutations.creep(() -> 0.5, 5, -3, 4);
+		BiConsumer<Random, IntChromo> reset = Mutations.uniformReset(() -> 0.5, new int[]{2, 10}, new int[]{4, 12});
+		IntChromo pair = new IntChromo(new int[]{0, 0});
+		DoubleChromo reals = new DoubleChromo(new double[1000]);
+		for (int k=0; k<20; k++){
+			creep.accept(rand, chromo);
+			reset.accept(rand, pair);
+			Mutations.gaussian(() -> 0.5, 2, -1, 1).accept(rand, reals);
+		}
+		for (int i=0; i<chromo.length(); i++){
+			assertTrue("creep in bounds " + chromo.get(i), chromo.get(i) >= -3 && chromo.get(i) <= 4);
+			assertTrue("gaussian in bounds " + reals.get(i), reals.get(i) >= -1 && reals.get(i) <= 1);
+		}
+		assertTrue("first gene in its bounds " + pair, pair.get(0) >= 2 && pair.get(0) < 4);
+		assertTrue("second gene in its bounds " + pair, pair.get(1) >= 10 && pair.get(1) < 12);
+		assertTrue("gaussian noise", reals.sum() != 0);
+	}
+	
+	@Test
+	public void swapKeepsPermutation(){
+		int[] identity = new int[500];
+		for (int i=0; i<identity.length; i++){
+			identity[i] = i;
+		}
+		IntChromo chromo = new IntChromo(identity.clone());
+		for (int k=0; k<10; k++){
+			Mutations.swap(() -> 0.1).accept(rand, chromo);
+		}
+		int[] genes = chromo.toArray();
+		assertTrue("genes moved", !Arrays.equals(identity, genes));
+		Arrays.sort(genes);
+		assertArrayEquals("same genes", identity, genes);
+	}
+	
+	@Test
+	public void sparseMutationDoesNotScanOrAllocate(){
+		IntChromo chromo = new IntChromo(new int[10000000]);
+		BiConsumer<Random, IntChromo> mutation = Mutations.uniformReset(() -> 1e-6, 100);
+		mutation.accept(rand, chromo);
+		
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		for (int i=0; i<1000; i++){
+			mutation.accept(rand, chromo);
+		}
+		long elapsed = System.nanoTime() - start;
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+		assertTrue("allocated " + allocated + " bytes", allocated < 1000);
+		//a scan of the genes would take milliseconds per call
+		assertTrue("took " + elapsed / 1000000 + " ms", elapsed < 200000000L);
+	}
+}
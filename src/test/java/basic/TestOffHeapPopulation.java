@@ -0,0 +1,203 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import model.FitnessEvaluationException;
+import model.FitnessEvaluator;
+import model.FitnessEvaluators;
+import model.GenomeRow;
+import model.GenomeStore;
+import model.IntChromo;
+import model.Mutations;
+import model.OffHeapPopulation;
+import model.RunSummary;
+import model.StopConditions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestOffHeapPopulation {
+	final static int LENGTH = 32;
+	final static int BOUND = 10;
+	private Path file1, file2;
+
+	final static BiConsumer<Random, GenomeRow> randomGenome = (rand, row) -> {
+		for (int i=0; i<row.length(); i++){
+			row.set(i, rand.nextInt(BOUND));
+		}
+	};
+	final static ToDoubleFunction<GenomeRow> sum = row -> {
+		long sum = 0;
+		for (int i=0; i<row.length(); i++){
+			sum += row.get(i);
+		}
+		return sum;
+	};
+	final static BiConsumer<Random, GenomeRow> mutation = Mutations.uniformResetRows(() -> 1.0 / LENGTH, BOUND);
+
+	@Before
+	public void createFiles() throws IOException{
+		file1 = Files.createTempFile("genomes", ".bin");
+		file2 = Files.createTempFile("genomes", ".bin");
+	}
+
+	@After
+	public void deleteFiles() throws IOException{
+		Files.deleteIfExists(file1);
+		Files.deleteIfExists(file2);
+	}
+
+	private static OffHeapPopulation newPopulation(int size, FitnessEvaluator evaluator, long seed){
+		return new OffHeapPopulation(size, LENGTH, 0.7, 2, 3, randomGenome, sum, mutation, evaluator, seed);
+	}
+
+	@Test
+	public void rowOperations(){
+		GenomeStore store = GenomeStore.allocate(3, 4);
+		GenomeStore other = GenomeStore.allocate(3, 4);
+		for (int i=0; i<4; i++){
+			store.set(0, i, i);
+			store.set(1, i, 10 + i);
+		}
+		store.setFitness(0, 1.5);
+		assertArrayEquals("genes", new int[]{10, 11, 12, 13}, store.toArray(1));
+		assertEquals("fitness", 1.5, store.getFitness(0), 0);
+
+		other.copyRow(store, 0, 2);
+		assertArrayEquals("copied genes", new int[]{0, 1, 2, 3}, other.toArray(2));
+		assertEquals("copied fitness", 1.5, other.getFitness(2), 0);
+		store.copyRow(store, 1, 2);
+		assertArrayEquals("copied within the store", new int[]{10, 11, 12, 13}, store.toArray(2));
+
+		store.swapTail(0, 1, 1);
+		assertArrayEquals("first swapped", new int[]{0, 11, 12, 13}, store.toArray(0));
+		assertArrayEquals("second swapped", new int[]{10, 1, 2, 3}, store.toArray(1));
+		assertEquals("fitness not swapped", 1.5, store.getFitness(0), 0);
+		assertArrayEquals("other rows untouched", new int[]{10, 11, 12, 13}, store.toArray(2));
+	}
+
+	@Test
+	public void genesOutsideTheGenomeAreRejected(){
+		GenomeStore store = GenomeStore.allocate(2, 4);
+		store.setFitness(1, 2.5);
+		for (int index : new int[]{-1, 4}){
+			try {
+				store.set(0, index, 7);
+				fail("gene " + index + " should be rejected");
+			} catch (IndexOutOfBoundsException e) {
+				assertEquals("fitness of the next row", 2.5, store.getFitness(1), 0);
+			}
+		}
+	}
+
+	@Test
+	public void mappedStoreKeepsTheGenomes() throws IOException{
+		GenomeStore store = GenomeStore.map(file1, 5, LENGTH);
+		store.set(4, LENGTH - 1, 42);
+		store.setFitness(4, 7);
+		store.flush();
+		assertEquals("file size", 5 * (8 + 4 * LENGTH), Files.size(file1));
+
+		GenomeStore reopened = GenomeStore.map(file1, 5, LENGTH);
+		assertEquals("gene", 42, reopened.get(4, LENGTH - 1));
+		assertEquals("fitness", 7, reopened.getFitness(4), 0);
+	}
+
+	@Test
+	public void evolvesOffHeap(){
+		OffHeapPopulation pop = newPopulation(500, FitnessEvaluators.sequential(), 3);
+		double initial = pop.getBestFitness();
+		RunSummary<IntChromo> summary = pop.evolve(StopConditions.maxGenerations(50));
+		assertEquals("generations", 50, summary.getGenerations());
+		assertEquals("evaluations", 500 + 50 * 498, pop.getNumberOfEvaluations());
+		assertTrue("improved from " + initial + " to " + summary.getBestFitness(),
+				summary.getBestFitness() > initial + 30);
+		assertEquals("fittest copied to the heap", summary.getBestFitness(),
+				summary.getFittestChromo().sum(), 0);
+		for (int row=0; row<pop.getSize(); row++){
+			assertTrue("best fitness", pop.getFitness(row) <= pop.getBestFitness());
+			assertEquals("fitness of row " + row, IntStream.of(pop.getGenes(row)).sum(), pop.getFitness(row), 0);
+		}
+	}
+
+	@Test
+	public void evolvesWithoutElites(){
+		OffHeapPopulation pop = new OffHeapPopulation(10, 5, 0.7, 0, 2, randomGenome, sum, mutation,
+				FitnessEvaluators.sequential(), 4);
+		pop.evolve(StopConditions.maxGenerations(3));
+		assertEquals("generations", 3, pop.getNumberOfGenerations());
+		assertEquals("every row evaluated", 10 + 3 * 10, pop.getNumberOfEvaluations());
+	}
+
+	@Test
+	public void mappedPopulationMatchesDirect() throws IOException{
+		OffHeapPopulation direct = newPopulation(300, FitnessEvaluators.sequential(), 11);
+		OffHeapPopulation mapped = new OffHeapPopulation(GenomeStore.map(file1, 300, LENGTH),
+				GenomeStore.map(file2, 300, LENGTH), 0.7, 2, 3, randomGenome, sum, mutation,
+				FitnessEvaluators.sequential(), 11);
+		try (FitnessEvaluator parallel = FitnessEvaluators.forkJoin(4)){
+			OffHeapPopulation parallelPop = newPopulation(300, parallel, 11);
+			for (int g=0; g<20; g++){
+				direct.newGeneration();
+				mapped.newGeneration();
+				parallelPop.newGeneration();
+			}
+			for (int row=0; row<300; row++){
+				assertArrayEquals("mapped row " + row, direct.getGenes(row), mapped.getGenes(row));
+				assertArrayEquals("parallel row " + row, direct.getGenes(row), parallelPop.getGenes(row));
+			}
+		}
+	}
+
+	@Test
+	public void failedEvaluationKeepsTheGeneration(){
+		boolean[] failing = {false};
+		OffHeapPopulation pop = new OffHeapPopulation(100, LENGTH, 0.7, 2, 3, randomGenome, row -> {
+			if (failing[0])
+				throw new IllegalStateException("broken");
+			return sum.applyAsDouble(row);
+		}, mutation, FitnessEvaluators.sequential(), 5);
+		int[] genes = pop.getGenes(50);
+		failing[0] = true;
+		try {
+			pop.newGeneration();
+			fail("evaluation should fail");
+		} catch (FitnessEvaluationException e) {
+			assertEquals("generations", 0, pop.getNumberOfGenerations());
+			assertArrayEquals("genes", genes, pop.getGenes(50));
+		}
+	}
+
+	@Test
+	public void heapDoesNotGrowWithThePopulation(){
+		long small = allocatedPerGeneration(1000);
+		long large = allocatedPerGeneration(200000);
+		//the same few objects whatever the size, with some slack for the measure itself
+		assertTrue("allocated " + small + " and " + large + " bytes per generation", large <= small + 256);
+	}
+
+	private static long allocatedPerGeneration(int size){
+		OffHeapPopulation pop = newPopulation(size, FitnessEvaluators.sequential(), 7);
+		pop.newGeneration();
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int g=0; g<5; g++){
+			pop.newGeneration();
+		}
+		return (threads.getThreadAllocatedBytes(thread) - before) / 5;
+	}
+}
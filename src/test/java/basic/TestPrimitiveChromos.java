@@ -0,0 +1,122 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import model.BitChromo;
+import model.DoubleChromo;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.PrimitivePopulation;
+
+import org.junit.Test;
+
+public class TestPrimitiveChromos {
+	final int POP_SIZE = 60;
+	final int NUM_GEN = 50;
+	
+	@Test
+	public void intSwapTail(){
+		IntChromo c1 = new IntChromo(new int[]{1, 2, 3, 4});
+		IntChromo c2 = new IntChromo(new int[]{5, 6, 7, 8});
+		c1.swapTail(c2, 1);
+		assertArrayEquals("first offspring", new int[]{1, 6, 7, 8}, c1.toArray());
+		assertArrayEquals("second offspring", new int[]{5, 2, 3, 4}, c2.toArray());
+	}
+	
+	@Test
+	public void doubleCopyIsIndependent(){
+		DoubleChromo c1 = new DoubleChromo(new double[]{0.5, 1.5}, 3);
+		DoubleChromo c2 = c1.copy();
+		c2.set(0, 9);
+		assertEquals("original gene", 0.5, c1.get(0), 0);
+		assertEquals("copied fitness", 3, c2.getFitness(), 0);
+	}
+	
+	@Test
+	public void bitSwapTailAcrossWords(){
+		int length = 150;
+		BitChromo zeros = new BitChromo(length);
+		BitChromo ones = new BitChromo(length);
+		for (int i=0; i<length; i++){
+			ones.set(i, true);
+		}
+		
+		zeros.swapTail(ones, 70);
+		for (int i=0; i<length; i++){
+			assertEquals("gene " + i, i >= 70, zeros.get(i));
+			assertEquals("gene " + i, i < 70, ones.get(i));
+		}
+		assertEquals("true genes", length - 70, zeros.cardinality());
+	}
+	
+	@Test
+	public void bitsPastTheLengthAreNotGenes(){
+		BitChromo shortOnes = new BitChromo(new long[]{-1L}, 10, 0);
+		assertEquals("true genes of the packed words", 10, shortOnes.cardinality());
+		
+		BitChromo longOnes = new BitChromo(new long[]{-1L, -1L}, 100, 0);
+		BitChromo zeros = new BitChromo(10);
+		zeros.swapTail(longOnes, 5);
+		assertEquals("true genes after a tail from a longer Chromo", 5, zeros.cardinality());
+		assertEquals("genes key after a tail from a longer Chromo", 
+				new BitChromo(new long[]{0x3E0L}, 10, 0).genesKey(true), zeros.genesKey(true));
+		
+		BitChromo mutated = new BitChromo(10);
+		mutated.mutate(new long[]{-1L});
+		assertEquals("true genes after a full mask", 10, mutated.cardinality());
+		
+		BitChromo crossed = new BitChromo(10);
+		crossed.uniformCrossover(new BitChromo(new long[]{-1L}, 10, 0), new long[]{-1L});
+		assertEquals("true genes after a uniform crossover", 10, crossed.cardinality());
+	}
+	
+	@Test
+	public void bitFlip(){
+		BitChromo c = new BitChromo(65);
+		c.flip(64);
+		assertTrue("flipped gene", c.get(64));
+		assertFalse("other gene", c.get(0));
+		assertEquals("true genes", 1, c.cardinality());
+	}
+	
+	@Test
+	public void intPopulationRightSize(){
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes);
+		double initialBest = pop.getFittestChromo().getFitness();
+		while(pop.getNumberOfGenerations() < NUM_GEN){
+			pop.newGeneration();
+			assertEquals("population size", POP_SIZE, pop.getIndividuals().size());
+		}
+		assertTrue("elite keeps the best", pop.getFittestChromo().getFitness() >= initialBest);
+	}
+	
+	@Test
+	public void bitPopulationMaximizesOnes(){
+		int length = 100;
+		PrimitivePopulation<BitChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0.7, 2,
+				rand -> {
+					BitChromo c = new BitChromo(length);
+					for (int i=0; i<length; i++){
+						c.set(i, rand.nextBoolean());
+					}
+					return c;
+				},
+				BitChromo::cardinality,
+				(Random rand, BitChromo c) -> c.flip(rand.nextInt(length)));
+		double initialBest = pop.getFittestChromo().getFitness();
+		while(pop.getNumberOfGenerations() < NUM_GEN){
+			pop.newGeneration();
+		}
+		assertTrue("fitness improves", pop.getFittestChromo().getFitness() > initialBest);
+		assertEquals("fitness matches genes", pop.getFittestChromo().cardinality(), 
+				pop.getFittestChromo().getFitness(), 0);
+	}
+}
@@ -0,0 +1,241 @@
+package basic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import model.FitnessEvaluationException;
+import model.GeneticFunctions;
+import model.GenomeCodec;
+import model.GenomeCodecs;
+import model.IntChromo;
+import model.PrimitivePopulation;
+import model.remote.RemoteEvaluator;
+import model.remote.RemoteProblem;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TestRemoteEvaluator {
+	final static int POP_SIZE = 200;
+	static List<IntChromo> individuals;
+	static double[] expected;
+	
+	public static class CountProblem implements RemoteProblem<IntChromo> {
+		public GenomeCodec<IntChromo> getCodec() {
+			return GenomeCodecs.INT;
+		}
+
+		public double computeFitness(IntChromo chromo) {
+			return GeneticFunctions.computeIntArrayFitness.applyAsDouble(chromo);
+		}
+	}
+	
+	public static class BrokenProblem extends CountProblem {
+		public double computeFitness(IntChromo chromo) {
+			if (chromo.get(0) == -1)
+				throw new IllegalArgumentException("broken simulation");
+			return super.computeFitness(chromo);
+		}
+	}
+	
+	/**
+	 * The first worker to evaluate a chromo halts its JVM
+	 */
+	public static class CrashingProblem extends CountProblem {
+		public double computeFitness(IntChromo chromo) {
+			try {
+				if (new File(System.getProperty("crash.marker")).createNewFile())
+					Runtime.getRuntime().halt(1);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			return super.computeFitness(chromo);
+		}
+	}
+	
+	/**
+	 * Like @see CrashingProblem, but the workers started after the crash exit before listening
+	 */
+	public static class CrashingOnceProblem extends CrashingProblem {
+		public CrashingOnceProblem() {
+			String marker = System.getProperty("crash.marker");
+			if (marker != null && new File(marker).exists())
+				Runtime.getRuntime().halt(1);
+		}
+	}
+	
+	public static class PrintingProblem extends CountProblem {
+		public double computeFitness(IntChromo chromo) {
+			System.out.println("evaluating");
+			return super.computeFitness(chromo);
+		}
+	}
+	
+	@BeforeClass
+	public static void initIndividuals(){
+		Random rand = new Random(42);
+		individuals = IntStream.range(0, POP_SIZE)
+				.mapToObj(_i -> GeneticFunctions.makeRandomIntArrayChromo.apply(rand))
+				.collect(Collectors.toList());
+		expected = individuals.stream()
+				.mapToDouble(GeneticFunctions.computeIntArrayFitness)
+				.toArray();
+	}
+	
+	@Test
+	public void remoteMatchesLocal() throws IOException{
+		try (RemoteEvaluator<IntChromo> evaluator = RemoteEvaluator.spawnLocal(CountProblem.class, 2)){
+			evaluator.setBatchSize(7);
+			double[] fitness = new double[POP_SIZE];
+			evaluator.evaluate(individuals, null, fitness);
+			assertArrayEquals("remote fitness", expected, fitness, 0);
+			
+			//the workers are reused by the next generation
+			fitness = new double[POP_SIZE];
+			evaluator.evaluate(individuals, null, fitness);
+			assertArrayEquals("second batch of fitness", expected, fitness, 0);
+			assertEquals("workers", 2, evaluator.getNumberOfWorkers());
+		}
+	}
+	
+	@Test
+	public void failingEvaluationReportsIndex() throws IOException{
+		List<IntChromo> broken = individuals.stream().map(IntChromo::copy).collect(Collectors.toList());
+		broken.get(123).set(0, -1);
+		try (RemoteEvaluator<IntChromo> evaluator = RemoteEvaluator.spawnLocal(BrokenProblem.class, 2)){
+			evaluator.setBatchSize(10);
+			evaluator.evaluate(broken, null, new double[POP_SIZE]);
+			fail("evaluation should have failed");
+		} catch (FitnessEvaluationException e) {
+			assertEquals("failing index", 123, e.getIndex());
+			assertTrue("worker message", e.getCause().getMessage().contains("broken simulation"));
+		}
+	}
+	
+	@Test
+	public void deadWorkerBatchesAreRequeued() throws IOException{
+		File marker = File.createTempFile("crash", ".marker");
+		marker.delete();
+		marker.deleteOnExit();
+		try (RemoteEvaluator<IntChromo> evaluator = RemoteEvaluator.spawnLocal(CrashingProblem.class, 2, 
+				"-Dcrash.marker=" + marker.getAbsolutePath())){
+			evaluator.setMaxRestarts(1);
+			double[] fitness = new double[POP_SIZE];
+			evaluator.evaluate(individuals, null, fitness);
+			assertArrayEquals("fitness despite the crash", expected, fitness, 0);
+			assertEquals("restarts", 1, evaluator.getNumberOfRestarts());
+		}
+	}
+	
+	@Test
+	public void failedRestartIsRecorded() throws IOException, InterruptedException{
+		File marker = File.createTempFile("crash", ".marker");
+		marker.delete();
+		marker.deleteOnExit();
+		try (RemoteEvaluator<IntChromo> evaluator = RemoteEvaluator.spawnLocal(CrashingOnceProblem.class, 2, 
+				"-Dcrash.marker=" + marker.getAbsolutePath())){
+			evaluator.setMaxRestarts(1);
+			double[] fitness = new double[POP_SIZE];
+			evaluator.evaluate(individuals, null, fitness);
+			assertArrayEquals("fitness despite the crash", expected, fitness, 0);
+			
+			long deadline = System.currentTimeMillis() + 30000;
+			while (evaluator.getNumberOfFailedRestarts() == 0 && System.currentTimeMillis() < deadline){
+				Thread.sleep(50);
+			}
+			assertEquals("restarts", 1, evaluator.getNumberOfRestarts());
+			assertEquals("failed restarts", 1, evaluator.getNumberOfFailedRestarts());
+			assertTrue("restart failure", evaluator.getLastRestartFailure().getMessage().contains("exited"));
+			assertEquals("workers", 1, evaluator.getNumberOfWorkers());
+		}
+	}
+	
+	@Test
+	public void workerOutputGoesToTheSink() throws IOException, InterruptedException{
+		Queue<String> lines = new ConcurrentLinkedQueue<>();
+		try (RemoteEvaluator<IntChromo> evaluator = RemoteEvaluator.spawnLocal(PrintingProblem.class, 1)){
+			evaluator.setWorkerOutput(lines::add);
+			evaluator.evaluate(individuals.subList(0, 3), null, new double[3]);
+			long deadline = System.currentTimeMillis() + 30000;
+			while (lines.size() < 3 && System.currentTimeMillis() < deadline){
+				Thread.sleep(50);
+			}
+		}
+		assertEquals("worker output", Arrays.asList("evaluating", "evaluating", "evaluating"), 
+				Arrays.asList(lines.toArray()));
+	}
+	
+	@Test
+	public void wrongNumberOfValuesFailsTheBatch() throws IOException, InterruptedException{
+		try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())){
+			//a worker answering with one value less than asked
+			Thread worker = new Thread(() -> {
+				try (Socket socket = server.accept()){
+					DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+					DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+					in.readUTF();
+					out.writeBoolean(true);
+					int id = in.readInt();
+					int count = in.readInt();
+					in.readFully(new byte[in.readInt()]);
+					out.writeInt(id);
+					out.writeByte(0);
+					out.writeInt(count - 1);
+					for (int i=0; i<count - 1; i++){
+						out.writeDouble(i);
+					}
+					out.flush();
+					while (in.read() >= 0);
+				} catch (IOException e) {
+					//the coordinator is gone
+				}
+			});
+			worker.start();
+			try (RemoteEvaluator<IntChromo> evaluator = RemoteEvaluator.connect(CountProblem.class, 
+					Arrays.asList(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort())))){
+				evaluator.evaluate(individuals.subList(0, 5), null, new double[5]);
+				fail("evaluation should have failed");
+			} catch (FitnessEvaluationException e) {
+				assertEquals("failing index", 0, e.getIndex());
+				assertTrue("message", e.getCause().getMessage().contains("4 values for a batch of 5"));
+			}
+			worker.join();
+		}
+	}
+	
+	@Test
+	public void populationEvolvesRemotely() throws IOException{
+		try (RemoteEvaluator<IntChromo> evaluator = RemoteEvaluator.spawnLocal(CountProblem.class, 2)){
+			PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(50, 0.5, 2,
+					GeneticFunctions.makeRandomIntArrayChromo,
+					GeneticFunctions.computeIntArrayFitness,
+					GeneticFunctions.mutateIntArrayGenes,
+					evaluator);
+			for (int i=0; i<10; i++){
+				pop.newGeneration();
+			}
+			IntChromo fittest = pop.getFittestChromo();
+			assertEquals("remote fitness of the fittest", 
+					GeneticFunctions.computeIntArrayFitness.applyAsDouble(fittest), fittest.getFitness(), 0);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import model.GeneticFunctions;
+import model.Population;
+import model.SelectionStrategies;
+import model.SelectionStrategy;
+
+import org.junit.Test;
+
+public class TestSelectionStrategies {
+	final int NUM_SAMPLES = 100000;
+	final Random rand = new Random(7);
+	
+	@Test
+	public void rouletteIsFitnessProportionate(){
+		double[] fitness = {1, 0, 3, 4, -2};
+		int[] counts = sample(SelectionStrategies.roulette(), fitness);
+		
+		assertEquals("zero fitness never selected", 0, counts[1]);
+		assertEquals("negative fitness never selected", 0, counts[4]);
+		assertEquals("share of individual 0", 0.125, counts[0] / (double) NUM_SAMPLES, 0.01);
+		assertEquals("share of individual 2", 0.375, counts[2] / (double) NUM_SAMPLES, 0.01);
+		assertEquals("share of individual 3", 0.5, counts[3] / (double) NUM_SAMPLES, 0.01);
+	}
+	
+	@Test
+	public void zeroTotalFitnessIsUniform(){
+		double[] fitness = new double[4];
+		for (SelectionStrategy selection : new SelectionStrategy[]{SelectionStrategies.roulette(), 
+				SelectionStrategies.tournament(3), SelectionStrategies.linearRank(1.5)}){
+			int[] counts = sample(selection, fitness);
+			for (int count : counts){
+				assertTrue("every individual selected", count > 0);
+			}
+		}
+		int[] counts = sample(SelectionStrategies.roulette(), fitness);
+		for (int count : counts){
+			assertEquals("uniform share", 0.25, count / (double) NUM_SAMPLES, 0.01);
+		}
+	}
+	
+	@Test
+	public void rouletteRejectsNonFiniteFitness(){
+		for (double invalid : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}){
+			try {
+				SelectionStrategies.roulette().prepare(new double[]{1, invalid, 3}, 3);
+				fail("fitness " + invalid + " accepted");
+			} catch (IllegalArgumentException e){
+				assertTrue("message names the individual", e.getMessage().contains("individual 1"));
+			}
+		}
+	}
+	
+	@Test
+	public void tournamentFavoursFittest(){
+		double[] fitness = {5, 1, 2, 3, 4};
+		int[] counts = sample(SelectionStrategies.tournament(2), fitness);
+		//the fittest wins every tournament it takes part in: 1 - (4/5)^2
+		assertEquals("share of fittest", 0.36, counts[0] / (double) NUM_SAMPLES, 0.01);
+		assertEquals("least fit only wins against itself", 0.04, counts[1] / (double) NUM_SAMPLES, 0.01);
+	}
+	
+	@Test
+	public void linearRankDependsOnlyOnRank(){
+		double[] fitness = {1000, 1, 2};
+		int[] counts = sample(SelectionStrategies.linearRank(2), fitness);
+		//weights by rank are 0, 1, 2
+		assertEquals("least fit never selected", 0, counts[1]);
+		assertEquals("share of second", 1/3.0, counts[2] / (double) NUM_SAMPLES, 0.01);
+		assertEquals("share of fittest", 2/3.0, counts[0] / (double) NUM_SAMPLES, 0.01);
+	}
+	
+	@Test
+	public void populationRightSizeWithEveryStrategy(){
+		for (SelectionStrategy selection : new SelectionStrategy[]{SelectionStrategies.roulette(), 
+				SelectionStrategies.tournament(3), SelectionStrategies.linearRank(1.5)}){
+			Population<Integer> pop = new Population<>(51, 0.5, 2,
+					GeneticFunctions.makeRandomIntChromo,
+					GeneticFunctions.computeIntFitness,
+					GeneticFunctions.mutateIntGenes);
+			pop.setSelectionStrategy(selection);
+			while(pop.getNumberOfGenerations() < 20){
+				pop.newGeneration();
+				assertEquals("population size", 51, pop.getIndividuals().size());
+			}
+		}
+	}
+	
+	private int[] sample(SelectionStrategy selection, double[] fitness){
+		int[] counts = new int[fitness.length];
+		selection.prepare(fitness, fitness.length);
+		for (int i=0; i<NUM_SAMPLES; i++){
+			counts[selection.select(rand)]++;
+		}
+		return counts;
+	}
+}
@@ -0,0 +1,109 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.PrimitivePopulation;
+import model.RunSummary;
+import model.SteadyState;
+import model.StopCondition;
+import model.StopConditions;
+
+import org.junit.Test;
+
+public class TestSteadyState {
+	final static int POP_SIZE = 100;
+	final static int NUM_ELITE = 5;
+	
+	private static double[] topFitness(PrimitivePopulation<IntChromo> pop){
+		double[] fitness = pop.getIndividuals().stream().mapToDouble(IntChromo::getFitness).sorted().toArray();
+		return Arrays.copyOfRange(fitness, fitness.length - NUM_ELITE, fitness.length);
+	}
+	
+	@Test
+	public void evolvesWithinEvaluationBudget(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 1);
+		double[] initialTop = topFitness(pop);
+		long initialEvaluations = pop.getNumberOfEvaluations();
+		
+		SteadyState<IntChromo> steadyState = new SteadyState<>(pop, 4);
+		StopCondition budget = StopConditions.maxEvaluations(20000);
+		RunSummary<IntChromo> summary = steadyState.evolve(budget);
+		
+		assertSame("stop condition", budget, summary.getStopCondition());
+		assertTrue("within budget", summary.getEvaluations() <= 20000);
+		assertEquals("evaluations counted by the population", initialEvaluations + steadyState.getNumberOfEvaluations(), 
+				pop.getNumberOfEvaluations());
+		assertTrue("throughput", summary.getEvaluationsPerSecond() > 0);
+		assertTrue("replacements", steadyState.getNumberOfReplacements() > 0);
+		
+		List<IntChromo> individuals = pop.getIndividuals();
+		assertEquals("population size", POP_SIZE, individuals.size());
+		for (IntChromo chromo : individuals){
+			assertEquals("fitness up to date", GeneticFunctions.computeIntArrayFitness.applyAsDouble(chromo), 
+					chromo.getFitness(), 0);
+		}
+		double[] top = topFitness(pop);
+		for (int i=0; i<NUM_ELITE; i++){
+			assertTrue("elites never get worse", top[i] >= initialTop[i]);
+		}
+		assertEquals("best fitness", pop.getFittestChromo().getFitness(), summary.getBestFitness(), 0);
+	}
+	
+	@Test
+	public void usesUpTheEvaluationBudget(){
+		for (int run=0; run<20; run++){
+			PrimitivePopulation<IntChromo> pop = Populations.intArrays(50, run);
+			SteadyState<IntChromo> steadyState = new SteadyState<>(pop, 8);
+			//not a multiple of the population size
+			StopCondition budget = StopConditions.anyOf(StopConditions.maxEvaluations(520),
+					StopConditions.targetFitness(Double.POSITIVE_INFINITY));
+			RunSummary<IntChromo> summary = steadyState.evolve(budget);
+			assertSame("stop condition", budget, summary.getStopCondition());
+			assertEquals("evaluations", 520, steadyState.getNumberOfEvaluations());
+		}
+	}
+	
+	@Test
+	public void unevenFitnessCost(){
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				chromo -> {
+					//one individual in ten is ten times slower
+					long end = System.nanoTime() + ((chromo.get(0) % 10 == 0) ? 100000 : 10000);
+					while (System.nanoTime() < end);
+					return GeneticFunctions.computeIntArrayFitness.applyAsDouble(chromo);
+				},
+				GeneticFunctions.mutateIntArrayGenes, FitnessEvaluators.sequential(), 2);
+		RunSummary<IntChromo> summary = new SteadyState<>(pop, 4).evolve(StopConditions.maxGenerations(20));
+		assertEquals("virtual generations", 20, summary.getGenerations());
+		assertTrue("evaluations of the virtual generations", summary.getEvaluations() >= 20 * POP_SIZE);
+	}
+	
+	@Test
+	public void fitnessFailureStopsTheRun(){
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0.5, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				chromo -> {
+					if (chromo.get(0) == -1)
+						throw new IllegalArgumentException("broken simulation");
+					return 0;
+				},
+				(rand, chromo) -> chromo.set(0, -1), FitnessEvaluators.sequential(), 3);
+		try {
+			new SteadyState<>(pop, 3).evolve(StopConditions.maxGenerations(1000));
+			fail("the run should have failed");
+		} catch (IllegalArgumentException e) {
+			assertEquals("message", "broken simulation", e.getMessage());
+		}
+		assertEquals("population size", POP_SIZE, pop.getIndividuals().size());
+	}
+}
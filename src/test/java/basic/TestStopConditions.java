@@ -0,0 +1,95 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.FitnessEvaluators;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.PrimitivePopulation;
+import model.RunSummary;
+import model.StopCondition;
+import model.StopConditions;
+
+import org.junit.Test;
+
+public class TestStopConditions {
+	final static int POP_SIZE = 100;
+	
+	@Test
+	public void maxGenerations(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 1);
+		StopCondition max = StopConditions.maxGenerations(7);
+		RunSummary<IntChromo> summary = pop.evolve(max);
+		assertSame("stop condition", max, summary.getStopCondition());
+		assertEquals("generations", 7, summary.getGenerations());
+		assertEquals("population generations", 7, pop.getNumberOfGenerations());
+		assertEquals("fittest", pop.getFittestChromo().getFitness(), summary.getFittestChromo().getFitness(), 0);
+	}
+	
+	@Test
+	public void targetFitness(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 2);
+		StopCondition target = StopConditions.targetFitness(70);
+		RunSummary<IntChromo> summary = pop.evolve(target, StopConditions.maxGenerations(10000));
+		assertSame("stop condition", target, summary.getStopCondition());
+		assertTrue("best fitness", summary.getBestFitness() >= 70);
+		
+		//already reached, no generation
+		summary = pop.evolve(target);
+		assertEquals("generations once reached", 0, summary.getGenerations());
+	}
+	
+	@Test
+	public void evaluationBudgetIsNeverExceeded(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 3);
+		StopCondition budget = StopConditions.maxEvaluations(1000);
+		long start = pop.getNumberOfEvaluations();
+		RunSummary<IntChromo> summary = pop.evolve(budget);
+		assertSame("stop condition", budget, summary.getStopCondition());
+		assertEquals("evaluations", pop.getNumberOfEvaluations() - start, summary.getEvaluations());
+		assertTrue("within budget", summary.getEvaluations() <= 1000);
+		assertTrue("budget used", summary.getEvaluations() > 1000 - POP_SIZE);
+	}
+	
+	@Test
+	public void stagnation(){
+		//without crossover and mutation nothing ever improves
+		PrimitivePopulation<IntChromo> pop = new PrimitivePopulation<>(POP_SIZE, 0, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				(rand, chromo) -> {}, FitnessEvaluators.sequential(), 6);
+		RunSummary<IntChromo> summary = pop.evolve(StopConditions.stagnation(5), StopConditions.maxGenerations(100));
+		assertEquals("generations", 5, summary.getGenerations());
+	}
+	
+	@Test
+	public void timeBudgetAndCancellation(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 4);
+		RunSummary<IntChromo> summary = pop.evolve(StopConditions.timeBudget(50, TimeUnit.MILLISECONDS));
+		assertTrue("within budget", summary.getElapsedTime() <= TimeUnit.MILLISECONDS.toNanos(100));
+		assertTrue("some generations", summary.getGenerations() > 0);
+		
+		AtomicBoolean cancelled = new AtomicBoolean();
+		int cancelAt = pop.getNumberOfGenerations() + 3;
+		pop.addGenerationListener(stats -> cancelled.set(stats.getGeneration() == cancelAt));
+		StopCondition cancellation = StopConditions.cancelled(cancelled::get);
+		RunSummary<IntChromo> cancelledRun = pop.evolve(cancellation);
+		assertSame("stop condition", cancellation, cancelledRun.getStopCondition());
+		assertEquals("generations", 3, cancelledRun.getGenerations());
+	}
+	
+	@Test
+	public void composedConditions(){
+		PrimitivePopulation<IntChromo> pop = Populations.intArrays(POP_SIZE, 5);
+		StopCondition both = StopConditions.allOf(StopConditions.maxGenerations(3), StopConditions.maxGenerations(5));
+		assertEquals("all of", 5, pop.evolve(both).getGenerations());
+		StopCondition any = StopConditions.anyOf(StopConditions.maxGenerations(3), StopConditions.maxGenerations(5));
+		assertEquals("any of", 3, pop.evolve(any).getGenerations());
+		assertEquals("description", "any of [max 3 generations, max 5 generations]", any.toString());
+	}
+}
@@ -0,0 +1,106 @@
+package basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.Function;
+
+import model.DoubleChromo;
+import model.FitnessEvaluators;
+import model.GenerationStats;
+import model.GeneticFunctions;
+import model.IntChromo;
+import model.KnnSurrogate;
+import model.PrimitivePopulation;
+import model.RunSummary;
+import model.StopConditions;
+
+import org.junit.Test;
+
+public class TestSurrogate {
+	final static int POP_SIZE = 100;
+	final static double TARGET = 90;
+	
+	private PrimitivePopulation<IntChromo> newPopulation(long seed){
+		return new PrimitivePopulation<>(POP_SIZE, 0.9, 2,
+				GeneticFunctions.makeRandomIntArrayChromo,
+				GeneticFunctions.computeIntArrayFitness,
+				GeneticFunctions.mutateIntArrayGenes(() -> 0.02),
+				FitnessEvaluators.sequential(), seed);
+	}
+	
+	@Test
+	public void knnAveragesNearestNeighbours(){
+		Function<DoubleChromo, double[]> features = DoubleChromo::toArray;
+		KnnSurrogate<DoubleChromo> knn = new KnnSurrogate<>(2, 3, features);
+		assertFalse("empty model", knn.isReady());
+		knn.train(new DoubleChromo(new double[]{0, 0}), 1);
+		knn.train(new DoubleChromo(new double[]{1, 0}), 3);
+		assertTrue("ready with k samples", knn.isReady());
+		knn.train(new DoubleChromo(new double[]{10, 10}), 100);
+		assertEquals("two nearest", 2, knn.predict(new DoubleChromo(new double[]{0.4, 0})), 1e-9);
+		assertEquals("two nearest", (3 + 100) / 2.0, knn.predict(new DoubleChromo(new double[]{9, 9})), 1e-9);
+		
+		//the oldest sample is forgotten
+		knn.train(new DoubleChromo(new double[]{0, 1}), 5);
+		assertEquals("capacity", 3, knn.size());
+		assertEquals("without the oldest", 4, knn.predict(new DoubleChromo(new double[]{0, 0})), 1e-9);
+	}
+	
+	@Test
+	public void surrogateSavesEvaluations(){
+		long plain = 0, screened = 0;
+		for (long seed=0; seed<3; seed++){
+			plain += newPopulation(seed).evolve(StopConditions.targetFitness(TARGET), 
+					StopConditions.maxGenerations(3000)).getEvaluations();
+			PrimitivePopulation<IntChromo> pop = newPopulation(seed);
+			pop.setSurrogate(new KnnSurrogate<>(5, 500, KnnSurrogate.intGenes()), 0.3, 0.05);
+			RunSummary<IntChromo> summary = pop.evolve(StopConditions.targetFitness(TARGET), 
+					StopConditions.maxGenerations(3000));
+			assertTrue("target reached with seed " + seed, summary.getBestFitness() >= TARGET);
+			screened += summary.getEvaluations();
+		}
+		assertTrue("evaluations: surrogate " + screened + ", plain " + plain, screened < plain / 2);
+	}
+	
+	@Test
+	public void statsReportSavingsAndAccuracy(){
+		PrimitivePopulation<IntChromo> pop = newPopulation(4);
+		pop.setSurrogate(new KnnSurrogate<>(5, 500, KnnSurrogate.intGenes()), 0.5, 0);
+		long[] screenedOut = {0};
+		GenerationStats[] last = {null};
+		pop.addGenerationListener(stats -> {
+			screenedOut[0] += stats.getNumberOfScreenedOut();
+			last[0] = stats;
+		});
+		for (int i=0; i<20; i++){
+			pop.newGeneration();
+			int offspring = last[0].getNumberOfEvaluations() + last[0].getNumberOfScreenedOut();
+			assertTrue("half of the changed offspring evaluated " + last[0], 
+					last[0].getNumberOfEvaluations() == (offspring + 1) / 2);
+			assertFalse("error measured", Double.isNaN(last[0].getSurrogateError()));
+		}
+		assertEquals("screened out", pop.getNumberOfScreenedOut(), screenedOut[0]);
+		assertTrue("evaluations saved", screenedOut[0] > 0);
+		
+		pop.setSurrogate(null, 0, 0);
+		pop.newGeneration();
+		assertEquals("no screening", 0, last[0].getNumberOfScreenedOut());
+		assertTrue("no prediction", Double.isNaN(last[0].getSurrogateError()));
+	}
+	
+	@Test
+	public void screenedOffspringKeepParentFitness(){
+		PrimitivePopulation<IntChromo> pop = newPopulation(6);
+		pop.setContiguousStorage(true);
+		pop.setSurrogate(new KnnSurrogate<>(3, 200, KnnSurrogate.intGenes()), 0.2, 0.1);
+		for (int i=0; i<30; i++){
+			pop.newGeneration();
+			for (IntChromo chromo : pop.getIndividualsView()){
+				assertEquals("true fitness", GeneticFunctions.computeIntArrayFitness.applyAsDouble(chromo), 
+						chromo.getFitness(), 0);
+			}
+		}
+	}
+}
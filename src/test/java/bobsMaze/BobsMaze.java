@@ -3,15 +3,12 @@ package bobsMaze;
 import java.awt.Point;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
-import java.util.function.BiFunction;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
@@ -19,10 +16,18 @@ import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
-import model.Chromo;
-import model.Population;
+import model.AdaptiveRates;
+import model.EvolutionEngine;
+import model.GenerationSnapshot;
+import model.IncrementalFitness;
+import model.IntChromo;
+import model.Mutations;
+import model.PrimitivePopulation;
+import model.SequentialFitness;
+import model.StopConditions;
 
 public class BobsMaze extends Application {
 	public static final int SQUARE_SIZE = 20;
@@ -32,15 +37,22 @@ public class BobsMaze extends Application {
 	private static final int GENE_BOUND = 4;
 	private static final double CROSSOVER_RATE = 0.5;
 	private static final double MUTATION_RATE = 0.05;
+	private static final AdaptiveRates rates = new AdaptiveRates(CROSSOVER_RATE, MUTATION_RATE);
 	private static final int NUM_ELITE = 2;
 	private static final int MAX_GENERATIONS = 1000;
-	private static Population<Integer> pop;
+	private static final int CHECKPOINT_INTERVAL = 8;
+	private static PrimitivePopulation<IntChromo> pop;
+	private static EvolutionEngine<IntChromo> engine;
 	private static Maze maze;
 	
 	public static void main(String[] args) {
 		maze = new Maze(BobsMaze.class.getClassLoader().getResource("bobsMaze/maze_01_15x10.txt").getPath());
-		pop = new Population<>(POPULATION_SIZE, CROSSOVER_RATE, NUM_ELITE,
-				makeRandomIntChromo, computeIntFitness, mutateIntGenes);
+		pop = new PrimitivePopulation<>(POPULATION_SIZE, CROSSOVER_RATE, NUM_ELITE,
+				makeRandomIntChromo, new IncrementalFitness<>(walkFitness, CHECKPOINT_INTERVAL), mutateIntGenes);
+		pop.setAdaptiveRates(rates);
+		//a walk reaching the exit is at distance 0, its fitness is infinite
+		engine = new EvolutionEngine<>(pop, StopConditions.maxGenerations(MAX_GENERATIONS), 
+				StopConditions.targetFitness(Double.POSITIVE_INFINITY));
 		launch(args);
 	}
 
@@ -51,16 +63,16 @@ public class BobsMaze extends Application {
 		
 		Group root = new Group();
 		primaryStage.setTitle("Bob's Maze");
-	    primaryStage.setScene(new Scene(root));
+	    Scene scene = new Scene(root);
+	    primaryStage.setScene(scene);
 	         
 	    //Draw the maze 
 	    Canvas canvas = new Canvas(PANEL_WIDTH, PANEL_HEIGHT);
 	    root.getChildren().add(canvas);   
 	    GraphicsContext gc = canvas.getGraphicsContext2D();
-	    for (int i=0; i<maze.map.size(); i++){
-	    	List<Integer> row = maze.map.get(i);
-	    	for (int j=0; j<row.size(); j++){
-	    		switch (row.get(j).intValue()) {
+	    for (int i=0; i<maze.height; i++){
+	    	for (int j=0; j<maze.width; j++){
+	    		switch (maze.cell(j, i)) {
 				case 1:
 					gc.setFill(Color.BLACK);
 					gc.fillRect(j*SQUARE_SIZE, i*SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE);
@@ -85,25 +97,52 @@ public class BobsMaze extends Application {
 	    GraphicsContext gc2 = canvas2.getGraphicsContext2D();
 	    gc2.setFill(Color.RED);
 	    new AnimationTimer(){
+	    	private int drawnGeneration = -1;
+	    	
 	        public void handle(long currentNanoTime){
+	        	GenerationSnapshot<IntChromo> latest = engine.getLatest();
+	        	if (latest == null || latest.getGeneration() == drawnGeneration){
+	        		if (engine.isFinished())
+	        			this.stop();
+	        		return;
+	        	}
+	        	drawnGeneration = latest.getGeneration();
+	        	primaryStage.setTitle("Bob's Maze - generation " + drawnGeneration);
 	        	gc2.clearRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
-	        	pop.newGeneration();
-    	    	Chromo<Integer> best = pop.getFittestChromo();
+    	    	IntChromo best = latest.getFittestChromo();
     	    	Point current = new Point(maze.startP.x, maze.startP.y);
-    			for (Integer i : best.getGenes()){
-    				move(current, i.intValue());
-    				if (!maze.isValidPosition(current))
+    			for (int i=0; i<best.length(); i++){
+    				move(current, best.get(i));
+    				boolean exit = maze.isExit(current);
+    				if (!exit && !maze.isValidPosition(current))
     					break;
     				gc2.fillRect(current.x*SQUARE_SIZE, current.y*SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE);
+    				if (exit)
+    					break;
     			}
-    			if (pop.getNumberOfGenerations() >= MAX_GENERATIONS || maze.distToExit(current)==0)
-    				this.stop();
 	        }
 	    }.start();
 	    
+	    //Space pauses and resumes the evolution, the right arrow runs a single generation
+	    scene.setOnKeyPressed(event -> {
+	    	if (event.getCode() == KeyCode.SPACE){
+	    		if (engine.isPaused())
+	    			engine.resume();
+	    		else
+	    			engine.pause();
+	    	}
+	    	else if (event.getCode() == KeyCode.RIGHT)
+	    		engine.step();
+	    });
+	    engine.start();
 	    primaryStage.show();
 	}
 	
+	@Override
+	public void stop() throws Exception {
+		engine.close();
+	}
+	
 	public static void move(Point p, int i){
 		switch (i) {
 		case 0:         		//up
@@ -123,81 +162,84 @@ public class BobsMaze extends Application {
 		}
 	}
 	
-	public static Function<Random, Chromo<Integer>> makeRandomIntChromo = 
-			new Function<Random, Chromo<Integer>>() {
+	public static Function<Random, IntChromo> makeRandomIntChromo = 
+			new Function<Random, IntChromo>() {
 		
 		@Override
-		public Chromo<Integer> apply(Random rand) {
-			List<Integer> genes = IntStream.range(0, NUM_GENES)
-					.map(a -> rand.nextInt(GENE_BOUND))
-					.boxed().collect(Collectors.toList());
-			return new Chromo<Integer>(genes, 0);
+		public IntChromo apply(Random rand) {
+			int[] genes = new int[NUM_GENES];
+			for (int i=0; i<NUM_GENES; i++){
+				genes[i] = rand.nextInt(GENE_BOUND);
+			}
+			return new IntChromo(genes);
 		}
 	};
-	public static Function<Chromo<Integer>, Double> computeIntFitness = 
-			new Function<Chromo<Integer>, Double>() {
+	/**
+	 * Walks the moves of the genes from the start, up to the first invalid one or to the exit;
+	 * the fitness is the inverse of the distance from the exit of the last valid position.
+	 */
+	public static SequentialFitness<Point> walkFitness = 
+			new SequentialFitness<Point>() {
 		
 		@Override
-		public Double apply(Chromo<Integer> chromo) {
-			Point tmp = new Point(maze.startP.x, maze.startP.y);
-			Point current = new Point(maze.startP.x, maze.startP.y);
-			for (Integer i : chromo.getGenes()){
-				move(current, i.intValue());
-				if (!maze.isValidPosition(current))
-					break;
-				tmp.setLocation(current);
+		public Point start() {
+			return new Point(maze.startP);
+		}
+		
+		@Override
+		public boolean step(Point current, int gene) {
+			int x = current.x, y = current.y;
+			move(current, gene);
+			if (maze.isExit(current))
+				return false;
+			if (!maze.isValidPosition(current)){
+				current.setLocation(x, y);
+				return false;
 			}
-			return (double) 1/maze.distToExit(tmp);
+			return true;
+		}
+		
+		@Override
+		public Point copy(Point current) {
+			return new Point(current);
+		}
+		
+		@Override
+		public double fitness(Point last) {
+			return (double) 1/maze.distToExit(last);
 		}
 	};
-	public static BiFunction<Random, Chromo<Integer>, Chromo<Integer>> mutateIntGenes = 
-			new BiFunction<Random, Chromo<Integer>, Chromo<Integer>>() {
-				
-				@Override
-				public Chromo<Integer> apply(Random rand, Chromo<Integer> chromo) {
-					List<Integer> genes = IntStream.range(0, NUM_GENES)
-							.map(a -> rand.nextInt(GENE_BOUND))
-							.boxed().collect(Collectors.toList());
-					for (int i=0; i< chromo.getGenes().size(); i++){
-						if (rand.nextDouble() > MUTATION_RATE){
-							genes.set(i, chromo.getGenes().get(i));
-						}
-					}
-					
-					return new Chromo<Integer>(genes, 0);
-				}
-	};
+	public static BiConsumer<Random, IntChromo> mutateIntGenes = Mutations.uniformReset(rates::getMutationRate, GENE_BOUND);
 	
 	static class Maze {
 		private static final int START = 5;
 		private static final int BLOCK = 1;
 		private static final int EXIT = 8;
-		private List<List<Integer>> map;
+		private static final int UNREACHABLE = Integer.MAX_VALUE;
+		private int[] map;
+		private int[] distances;
 		private int height, width;
 		Point startP;
 		Point exitP;
 		
 		public Maze(String filePath){
-			map = new ArrayList<List<Integer>>();
 			readMaze(filePath);
+			computeDistances();
 		}
 		
 		private void readMaze (String filePath){
 			try (Scanner scan = new Scanner(new File(filePath));){
 				this.width = scan.nextInt();
 				this.height = scan.nextInt();
-				scan.nextLine();
+				map = new int[width*height];
 				for (int i=0; i<height; i++){
-		            String[] myList = scan.nextLine().split(" ");
-		            List<Integer> row = Arrays.asList(myList).stream().
-		            		mapToInt(Integer::parseInt).boxed().collect(Collectors.toList());
 		            for (int j=0; j<width; j++){
-						if (row.get(j).intValue() == START)
+		            	map[i*width + j] = scan.nextInt();
+						if (map[i*width + j] == START)
 							startP = new Point(j, i);
-						if (row.get(j).intValue() == EXIT)
+						if (map[i*width + j] == EXIT)
 							exitP =  new Point(j, i);
 					}
-					map.add(row);
 				}
 			} catch (FileNotFoundException e) {
 				System.out.println("No such file " + filePath);
@@ -205,17 +247,58 @@ public class BobsMaze extends Application {
 			}
 		}
 		
+		/**
+		 * Breadth-first search from the exit: the distance of each cell is the length 
+		 * of the shortest path to the exit avoiding blocks
+		 */
+		private void computeDistances(){
+			distances = new int[map.length];
+			Arrays.fill(distances, UNREACHABLE);
+			ArrayDeque<Integer> queue = new ArrayDeque<>();
+			int exit = exitP.y*width + exitP.x;
+			distances[exit] = 0;
+			queue.add(exit);
+			while (!queue.isEmpty()){
+				int cell = queue.poll();
+				int x = cell % width, y = cell / width;
+				int[][] neighbours = {{x, y+1}, {x, y-1}, {x+1, y}, {x-1, y}};
+				for (int[] n : neighbours){
+					if (n[0] < 0 || n[0] >= width || n[1] < 0 || n[1] >= height)
+						continue;
+					int next = n[1]*width + n[0];
+					if (map[next] != BLOCK && distances[next] == UNREACHABLE){
+						distances[next] = distances[cell] + 1;
+						queue.add(next);
+					}
+				}
+			}
+		}
+		
+		public int cell(int x, int y){
+			return map[y*width + x];
+		}
+		
 		public boolean isValidPosition(Point p){
 			if (p.x < 0 || p.x >= width || p.y < 0 || p.y >= height)
 				return false;
-			if (map.get(p.y).get(p.x) == BLOCK || map.get(p.y).get(p.x) == START || map.get(p.y).get(p.x) == EXIT)
+			int cell = cell(p.x, p.y);
+			if (cell == BLOCK || cell == START || cell == EXIT)
 				return false;
 			
 			return true;
 		}
 		
+		public boolean isExit(Point p){
+			return p.equals(exitP);
+		}
+		
+		/**
+		 * @return the length of the shortest path from pos to the exit
+		 */
 		public double distToExit(Point pos){
-			return (Math.abs(pos.x - exitP.x) + Math.abs(pos.y - exitP.y));
+			if (pos.x < 0 || pos.x >= width || pos.y < 0 || pos.y >= height)
+				return UNREACHABLE;
+			return distances[pos.y*width + pos.x];
 		}
 	}
 
@@ -1,11 +1,11 @@
 package circleFit;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
-import java.util.function.BiFunction;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.IntStream;
 
 import javafx.animation.AnimationTimer;
@@ -14,10 +14,16 @@ import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
-import model.Chromo;
-import model.Population;
+import model.AdaptiveRates;
+import model.EvolutionEngine;
+import model.GenerationSnapshot;
+import model.IntChromo;
+import model.Mutations;
+import model.PrimitivePopulation;
+import model.StopConditions;
 
 public class CircleFit extends Application {
 	public static final int PANEL_HEIGHT = 400;
@@ -30,17 +36,21 @@ public class CircleFit extends Application {
 	private static final int POPULATION_SIZE = 500;
 	private static final double CROSSOVER_RATE = 0.5;
 	private static final double MUTATION_RATE = 0.05;
+	private static final AdaptiveRates rates = new AdaptiveRates(CROSSOVER_RATE, MUTATION_RATE);
 	private static final int NUM_ELITE = 2;
 	private static final int MAX_GENERATIONS = 2000;
-	private static Population<Integer> pop;
+	private static PrimitivePopulation<IntChromo> pop;
+	private static EvolutionEngine<IntChromo> engine;
 	private static List<Circle> circles;
 	
 	public static void main(String[] args) {
 		circles = new ArrayList<Circle>();
 		IntStream.range(0, NUM_CIRCLES).forEach(_i -> circles.add(getNewRandomCircle()));
 		
-		pop = new Population<>(POPULATION_SIZE, CROSSOVER_RATE, NUM_ELITE,
+		pop = new PrimitivePopulation<>(POPULATION_SIZE, CROSSOVER_RATE, NUM_ELITE,
 				makeRandomIntChromo, computeIntFitness, mutateIntGenes);
+		pop.setAdaptiveRates(rates);
+		engine = new EvolutionEngine<>(pop, StopConditions.maxGenerations(MAX_GENERATIONS));
 		launch(args);
 	}
 
@@ -48,7 +58,8 @@ public class CircleFit extends Application {
 	public void start(Stage primaryStage) throws Exception {
 		Group root = new Group();
 		primaryStage.setTitle("Circle Fit");
-		primaryStage.setScene(new Scene(root));
+		Scene scene = new Scene(root);
+		primaryStage.setScene(scene);
 		
 		//Draw the random generate circles
 	    Canvas canvas = new Canvas(PANEL_WIDTH, PANEL_HEIGHT);
@@ -63,55 +74,69 @@ public class CircleFit extends Application {
 	    GraphicsContext gc2 = canvas2.getGraphicsContext2D();
 	    gc2.setFill(Color.RED);
 	    new AnimationTimer(){
+	    	private int drawnGeneration = -1;
+	    	
 	        public void handle(long currentNanoTime){
+	        	GenerationSnapshot<IntChromo> latest = engine.getLatest();
+	        	if (latest == null || latest.getGeneration() == drawnGeneration){
+	        		if (engine.isFinished())
+	        			this.stop();
+	        		return;
+	        	}
+	        	drawnGeneration = latest.getGeneration();
+	        	primaryStage.setTitle("Circle Fit - generation " + drawnGeneration);
 	        	gc2.clearRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
-	        	pop.newGeneration();
-    	    	Chromo<Integer> best = pop.getFittestChromo();
-    			Circle c = new Circle(best.getGenes().get(0), best.getGenes().get(1), best.getGenes().get(2));
+    	    	IntChromo best = latest.getFittestChromo();
+    			Circle c = new Circle(best.get(0), best.get(1), best.get(2));
     			gc2.fillOval(c.center_x-c.radius, c.center_y-c.radius, c.radius*2, c.radius*2);
-    			if (pop.getNumberOfGenerations() >= MAX_GENERATIONS)
-    				this.stop();
 	        }
 	    }.start();
 	    
+	    //Space pauses and resumes the evolution, the right arrow runs a single generation
+	    scene.setOnKeyPressed(event -> {
+	    	if (event.getCode() == KeyCode.SPACE){
+	    		if (engine.isPaused())
+	    			engine.resume();
+	    		else
+	    			engine.pause();
+	    	}
+	    	else if (event.getCode() == KeyCode.RIGHT)
+	    		engine.step();
+	    });
+	    engine.start();
 	    primaryStage.show();
 	}
 	
-	public static Function<Random, Chromo<Integer>> makeRandomIntChromo = 
-			new Function<Random, Chromo<Integer>>() {
+	@Override
+	public void stop() throws Exception {
+		engine.close();
+	}
+	
+	public static Function<Random, IntChromo> makeRandomIntChromo = 
+			new Function<Random, IntChromo>() {
 		
 		@Override
-		public Chromo<Integer> apply(Random rand) {
+		public IntChromo apply(Random rand) {
 			Circle c = getNewRandomCircle();
-			List<Integer> genes = Arrays.asList(c.center_x, c.center_y, c.radius);
-			return new Chromo<Integer>(genes, 0);
+			return new IntChromo(new int[]{c.center_x, c.center_y, c.radius});
 		}
 	};
-	public static Function<Chromo<Integer>, Double> computeIntFitness = 
-			new Function<Chromo<Integer>, Double>() {
+	public static ToDoubleFunction<IntChromo> computeIntFitness = 
+			new ToDoubleFunction<IntChromo>() {
 		
 		@Override
-		public Double apply(Chromo<Integer> chromo) {
-			Circle c = new Circle(chromo.getGenes().get(0), chromo.getGenes().get(1), chromo.getGenes().get(2));
+		public double applyAsDouble(IntChromo chromo) {
+			Circle c = new Circle(chromo.get(0), chromo.get(1), chromo.get(2));
 			return (double) (is_valid(c)?c.radius:0);
 		}
 	};
-	public static BiFunction<Random, Chromo<Integer>, Chromo<Integer>> mutateIntGenes = 
-			new BiFunction<Random, Chromo<Integer>, Chromo<Integer>>() {
-				
-				@Override
-				public Chromo<Integer> apply(Random rand, Chromo<Integer> chromo) {
-					Circle c = getNewRandomCircle();
-					List<Integer> genes = Arrays.asList(c.center_x, c.center_y, c.radius);
-					for (int i=0; i< chromo.getGenes().size(); i++){
-						if (rand.nextDouble() > MUTATION_RATE){
-							genes.set(i, chromo.getGenes().get(i));
-						}
-					}
-					
-					return new Chromo<Integer>(genes, 0);
-				}
-	};
+	/**
+	 * Replaces center and radius with random values, 
+	 * the fitness rejects the circles falling outside of the panel
+	 */
+	public static BiConsumer<Random, IntChromo> mutateIntGenes = Mutations.uniformReset(rates::getMutationRate,
+			new int[]{MIN_CIRCLE_RADIUS, MIN_CIRCLE_RADIUS, MIN_CIRCLE_RADIUS},
+			new int[]{PANEL_WIDTH - MIN_CIRCLE_RADIUS, PANEL_HEIGHT - MIN_CIRCLE_RADIUS, MIN_CIRCLE_RADIUS + MAX_CIRCLE_RADIUS});
 	
 	static class Circle {
 		public int center_x;
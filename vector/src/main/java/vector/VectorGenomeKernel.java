@@ -0,0 +1,290 @@
+package vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import model.GenomeKernel;
+import model.GenomeKernels;
+
+/**
+ * A @see src.main.java.model.GenomeKernel running its loops on the SIMD registers of the CPU
+ * through the JDK vector API, with the preferred vector size of the platform.
+ * The genes left over by the last full vector are handled by scalar loops.
+ * Registered as a service, it is picked by {@link GenomeKernels#get()} when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+public class VectorGenomeKernel implements GenomeKernel {
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+	private static final GenomeKernel TAIL = GenomeKernels.SCALAR;
+
+	/**
+	 * @return the bits of mask selecting the lanes of the vector starting at gene i;
+	 * 	vectors have at most 64 lanes and start at multiples of their length, so they never straddle two words
+	 */
+	private static long lanes(long[] mask, int i){
+		return mask[i >>> 6] >>> (i & 63);
+	}
+
+	@Override
+	public boolean swap(int[] a, int aOffset, int[] b, int bOffset, int length) {
+		int bound = INTS.loopBound(length);
+		VectorMask<Integer> changed = INTS.maskAll(false);
+		for (int i=0; i<bound; i+=INTS.length()){
+			IntVector va = IntVector.fromArray(INTS, a, aOffset + i);
+			IntVector vb = IntVector.fromArray(INTS, b, bOffset + i);
+			changed = changed.or(va.compare(VectorOperators.NE, vb));
+			vb.intoArray(a, aOffset + i);
+			va.intoArray(b, bOffset + i);
+		}
+		return TAIL.swap(a, aOffset + bound, b, bOffset + bound, length - bound) | changed.anyTrue();
+	}
+
+	@Override
+	public boolean swap(double[] a, int aOffset, double[] b, int bOffset, int length) {
+		int bound = DOUBLES.loopBound(length);
+		VectorMask<Double> changed = DOUBLES.maskAll(false);
+		for (int i=0; i<bound; i+=DOUBLES.length()){
+			DoubleVector va = DoubleVector.fromArray(DOUBLES, a, aOffset + i);
+			DoubleVector vb = DoubleVector.fromArray(DOUBLES, b, bOffset + i);
+			changed = changed.or(va.compare(VectorOperators.NE, vb));
+			vb.intoArray(a, aOffset + i);
+			va.intoArray(b, bOffset + i);
+		}
+		return TAIL.swap(a, aOffset + bound, b, bOffset + bound, length - bound) | changed.anyTrue();
+	}
+
+	@Override
+	public boolean swap(long[] a, int aOffset, long[] b, int bOffset, int words) {
+		int bound = LONGS.loopBound(words);
+		VectorMask<Long> changed = LONGS.maskAll(false);
+		for (int i=0; i<bound; i+=LONGS.length()){
+			LongVector va = LongVector.fromArray(LONGS, a, aOffset + i);
+			LongVector vb = LongVector.fromArray(LONGS, b, bOffset + i);
+			changed = changed.or(va.compare(VectorOperators.NE, vb));
+			vb.intoArray(a, aOffset + i);
+			va.intoArray(b, bOffset + i);
+		}
+		return TAIL.swap(a, aOffset + bound, b, bOffset + bound, words - bound) | changed.anyTrue();
+	}
+
+	@Override
+	public boolean swapMasked(int[] a, int aOffset, int[] b, int bOffset, long[] mask, int length) {
+		int bound = INTS.loopBound(length);
+		VectorMask<Integer> changed = INTS.maskAll(false);
+		for (int i=0; i<bound; i+=INTS.length()){
+			VectorMask<Integer> selected = VectorMask.fromLong(INTS, lanes(mask, i));
+			IntVector va = IntVector.fromArray(INTS, a, aOffset + i);
+			IntVector vb = IntVector.fromArray(INTS, b, bOffset + i);
+			changed = changed.or(va.compare(VectorOperators.NE, vb).and(selected));
+			va.blend(vb, selected).intoArray(a, aOffset + i);
+			vb.blend(va, selected).intoArray(b, bOffset + i);
+		}
+		boolean changedTail = false;
+		int tmp;
+		for (int i=bound; i<length; i++){
+			tmp = a[aOffset + i];
+			if ((mask[i >>> 6] & (1L << i)) != 0 && tmp != b[bOffset + i]){
+				a[aOffset + i] = b[bOffset + i];
+				b[bOffset + i] = tmp;
+				changedTail = true;
+			}
+		}
+		return changedTail | changed.anyTrue();
+	}
+
+	@Override
+	public boolean swapMasked(double[] a, int aOffset, double[] b, int bOffset, long[] mask, int length) {
+		int bound = DOUBLES.loopBound(length);
+		VectorMask<Double> changed = DOUBLES.maskAll(false);
+		for (int i=0; i<bound; i+=DOUBLES.length()){
+			VectorMask<Double> selected = VectorMask.fromLong(DOUBLES, lanes(mask, i));
+			DoubleVector va = DoubleVector.fromArray(DOUBLES, a, aOffset + i);
+			DoubleVector vb = DoubleVector.fromArray(DOUBLES, b, bOffset + i);
+			changed = changed.or(va.compare(VectorOperators.NE, vb).and(selected));
+			va.blend(vb, selected).intoArray(a, aOffset + i);
+			vb.blend(va, selected).intoArray(b, bOffset + i);
+		}
+		boolean changedTail = false;
+		double tmp;
+		for (int i=bound; i<length; i++){
+			tmp = a[aOffset + i];
+			if ((mask[i >>> 6] & (1L << i)) != 0 && tmp != b[bOffset + i]){
+				a[aOffset + i] = b[bOffset + i];
+				b[bOffset + i] = tmp;
+				changedTail = true;
+			}
+		}
+		return changedTail | changed.anyTrue();
+	}
+
+	@Override
+	public boolean swapMasked(long[] a, int aOffset, long[] b, int bOffset, long[] mask, int words) {
+		int bound = LONGS.loopBound(words);
+		LongVector changed = LongVector.zero(LONGS);
+		for (int i=0; i<bound; i+=LONGS.length()){
+			LongVector va = LongVector.fromArray(LONGS, a, aOffset + i);
+			LongVector vb = LongVector.fromArray(LONGS, b, bOffset + i);
+			LongVector diff = va.lanewise(VectorOperators.XOR, vb).and(LongVector.fromArray(LONGS, mask, i));
+			va.lanewise(VectorOperators.XOR, diff).intoArray(a, aOffset + i);
+			vb.lanewise(VectorOperators.XOR, diff).intoArray(b, bOffset + i);
+			changed = changed.or(diff);
+		}
+		boolean changedTail = false;
+		long tmp;
+		for (int i=bound; i<words; i++){
+			tmp = (a[aOffset + i] ^ b[bOffset + i]) & mask[i];
+			a[aOffset + i] ^= tmp;
+			b[bOffset + i] ^= tmp;
+			changedTail |= tmp != 0;
+		}
+		return changedTail | changed.compare(VectorOperators.NE, 0).anyTrue();
+	}
+
+	@Override
+	public boolean replaceMasked(int[] genes, int offset, int[] values, long[] mask, int length) {
+		int bound = INTS.loopBound(length);
+		VectorMask<Integer> changed = INTS.maskAll(false);
+		for (int i=0; i<bound; i+=INTS.length()){
+			VectorMask<Integer> selected = VectorMask.fromLong(INTS, lanes(mask, i));
+			IntVector vg = IntVector.fromArray(INTS, genes, offset + i);
+			IntVector vv = IntVector.fromArray(INTS, values, i);
+			changed = changed.or(vg.compare(VectorOperators.NE, vv).and(selected));
+			vg.blend(vv, selected).intoArray(genes, offset + i);
+		}
+		boolean changedTail = false;
+		for (int i=bound; i<length; i++){
+			if ((mask[i >>> 6] & (1L << i)) != 0 && genes[offset + i] != values[i]){
+				genes[offset + i] = values[i];
+				changedTail = true;
+			}
+		}
+		return changedTail | changed.anyTrue();
+	}
+
+	@Override
+	public boolean replaceMasked(double[] genes, int offset, double[] values, long[] mask, int length) {
+		int bound = DOUBLES.loopBound(length);
+		VectorMask<Double> changed = DOUBLES.maskAll(false);
+		for (int i=0; i<bound; i+=DOUBLES.length()){
+			VectorMask<Double> selected = VectorMask.fromLong(DOUBLES, lanes(mask, i));
+			DoubleVector vg = DoubleVector.fromArray(DOUBLES, genes, offset + i);
+			DoubleVector vv = DoubleVector.fromArray(DOUBLES, values, i);
+			changed = changed.or(vg.compare(VectorOperators.NE, vv).and(selected));
+			vg.blend(vv, selected).intoArray(genes, offset + i);
+		}
+		boolean changedTail = false;
+		for (int i=bound; i<length; i++){
+			if ((mask[i >>> 6] & (1L << i)) != 0 && genes[offset + i] != values[i]){
+				genes[offset + i] = values[i];
+				changedTail = true;
+			}
+		}
+		return changedTail | changed.anyTrue();
+	}
+
+	@Override
+	public boolean flipMasked(long[] bits, int offset, long[] mask, int words) {
+		int bound = LONGS.loopBound(words);
+		LongVector changed = LongVector.zero(LONGS);
+		for (int i=0; i<bound; i+=LONGS.length()){
+			LongVector vm = LongVector.fromArray(LONGS, mask, i);
+			LongVector.fromArray(LONGS, bits, offset + i).lanewise(VectorOperators.XOR, vm)
+				.intoArray(bits, offset + i);
+			changed = changed.or(vm);
+		}
+		long changedTail = 0;
+		for (int i=bound; i<words; i++){
+			bits[offset + i] ^= mask[i];
+			changedTail |= mask[i];
+		}
+		return changedTail != 0 | changed.compare(VectorOperators.NE, 0).anyTrue();
+	}
+
+	@Override
+	public int countAbove(int[] genes, int offset, int length, int threshold) {
+		int bound = INTS.loopBound(length);
+		int count = 0;
+		for (int i=0; i<bound; i+=INTS.length()){
+			count += IntVector.fromArray(INTS, genes, offset + i).compare(VectorOperators.GT, threshold).trueCount();
+		}
+		return count + TAIL.countAbove(genes, offset + bound, length - bound, threshold);
+	}
+
+	@Override
+	public int countAbove(double[] genes, int offset, int length, double threshold) {
+		int bound = DOUBLES.loopBound(length);
+		int count = 0;
+		for (int i=0; i<bound; i+=DOUBLES.length()){
+			count += DoubleVector.fromArray(DOUBLES, genes, offset + i).compare(VectorOperators.GT, threshold).trueCount();
+		}
+		return count + TAIL.countAbove(genes, offset + bound, length - bound, threshold);
+	}
+
+	@Override
+	public long sum(int[] genes, int offset, int length) {
+		//each half of the lanes is widened to long, so that the sum does not overflow
+		int bound = INTS.loopBound(length);
+		LongVector low = LongVector.zero(LONGS);
+		LongVector high = LongVector.zero(LONGS);
+		for (int i=0; i<bound; i+=INTS.length()){
+			IntVector v = IntVector.fromArray(INTS, genes, offset + i);
+			low = low.add((LongVector) v.convertShape(VectorOperators.I2L, LONGS, 0));
+			high = high.add((LongVector) v.convertShape(VectorOperators.I2L, LONGS, 1));
+		}
+		return low.add(high).reduceLanes(VectorOperators.ADD) + TAIL.sum(genes, offset + bound, length - bound);
+	}
+
+	@Override
+	public double sum(double[] genes, int offset, int length) {
+		int bound = DOUBLES.loopBound(length);
+		DoubleVector sum = DoubleVector.zero(DOUBLES);
+		for (int i=0; i<bound; i+=DOUBLES.length()){
+			sum = sum.add(DoubleVector.fromArray(DOUBLES, genes, offset + i));
+		}
+		return sum.reduceLanes(VectorOperators.ADD) + TAIL.sum(genes, offset + bound, length - bound);
+	}
+
+	@Override
+	public int hammingDistance(int[] a, int aOffset, int[] b, int bOffset, int length) {
+		int bound = INTS.loopBound(length);
+		int distance = 0;
+		for (int i=0; i<bound; i+=INTS.length()){
+			distance += IntVector.fromArray(INTS, a, aOffset + i)
+				.compare(VectorOperators.NE, IntVector.fromArray(INTS, b, bOffset + i)).trueCount();
+		}
+		return distance + TAIL.hammingDistance(a, aOffset + bound, b, bOffset + bound, length - bound);
+	}
+
+	@Override
+	public int hammingDistance(long[] a, int aOffset, long[] b, int bOffset, int words) {
+		int bound = LONGS.loopBound(words);
+		LongVector counts = LongVector.zero(LONGS);
+		for (int i=0; i<bound; i+=LONGS.length()){
+			counts = counts.add(LongVector.fromArray(LONGS, a, aOffset + i)
+				.lanewise(VectorOperators.XOR, LongVector.fromArray(LONGS, b, bOffset + i))
+				.lanewise(VectorOperators.BIT_COUNT));
+		}
+		return (int) counts.reduceLanes(VectorOperators.ADD)
+				+ TAIL.hammingDistance(a, aOffset + bound, b, bOffset + bound, words - bound);
+	}
+
+	@Override
+	public int bitCount(long[] bits, int offset, int words) {
+		int bound = LONGS.loopBound(words);
+		LongVector counts = LongVector.zero(LONGS);
+		for (int i=0; i<bound; i+=LONGS.length()){
+			counts = counts.add(LongVector.fromArray(LONGS, bits, offset + i).lanewise(VectorOperators.BIT_COUNT));
+		}
+		return (int) counts.reduceLanes(VectorOperators.ADD) + TAIL.bitCount(bits, offset + bound, words - bound);
+	}
+
+	@Override
+	public String toString() {
+		return "vector " + INTS.vectorShape();
+	}
+}
@@ -0,0 +1,132 @@
+package vector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import model.GenomeKernel;
+import model.GenomeKernels;
+
+import org.junit.Test;
+
+public class TestVectorGenomeKernel {
+	//lengths around the vector sizes, so that both the vector loop and the scalar tail are used
+	final int[] LENGTHS = {0, 1, 7, 8, 15, 16, 17, 63, 64, 65, 1000, 1003};
+	final int OFFSET = 3;
+	final GenomeKernel vector = new VectorGenomeKernel();
+	final GenomeKernel scalar = GenomeKernels.SCALAR;
+	final Random rand = new Random(7);
+
+	private int[] ints(int length){
+		int[] genes = new int[length + OFFSET];
+		for (int i=0; i<genes.length; i++){
+			genes[i] = rand.nextInt(4);
+		}
+		return genes;
+	}
+
+	private double[] doubles(int length){
+		double[] genes = new double[length + OFFSET];
+		for (int i=0; i<genes.length; i++){
+			genes[i] = rand.nextInt(4) / 2.0;
+		}
+		return genes;
+	}
+
+	private long[] words(int length){
+		long[] words = new long[length + OFFSET];
+		for (int i=0; i<words.length; i++){
+			words[i] = rand.nextLong();
+		}
+		return words;
+	}
+
+	@Test
+	public void isTheServiceKernel(){
+		assertTrue("loaded as a service: " + GenomeKernels.get(), GenomeKernels.get() instanceof VectorGenomeKernel);
+	}
+
+	@Test
+	public void intOperatorsMatchScalar(){
+		for (int length : LENGTHS){
+			int[] a = ints(length), b = ints(length), a2 = a.clone(), b2 = b.clone();
+			long[] mask = GenomeKernels.randomMask(rand, length + 1, 0.5);
+			assertEquals("swap changed " + length, scalar.swapMasked(a, OFFSET, b, OFFSET, mask, length),
+					vector.swapMasked(a2, OFFSET, b2, OFFSET, mask, length));
+			assertArrayEquals("masked swap " + length, a, a2);
+			assertArrayEquals("masked swap " + length, b, b2);
+
+			assertEquals("swap changed " + length, scalar.swap(a, OFFSET, b, 0, length),
+					vector.swap(a2, OFFSET, b2, 0, length));
+			assertArrayEquals("swap " + length, a, a2);
+			assertArrayEquals("swap " + length, b, b2);
+
+			int[] values = ints(length);
+			assertEquals("replace changed " + length, scalar.replaceMasked(a, OFFSET, values, mask, length),
+					vector.replaceMasked(a2, OFFSET, values, mask, length));
+			assertArrayEquals("masked replace " + length, a, a2);
+
+			assertEquals("count " + length, scalar.countAbove(a, OFFSET, length, 1), vector.countAbove(a, OFFSET, length, 1));
+			assertEquals("sum " + length, scalar.sum(a, OFFSET, length), vector.sum(a, OFFSET, length));
+			assertEquals("distance " + length, scalar.hammingDistance(a, OFFSET, b, 1, length),
+					vector.hammingDistance(a, OFFSET, b, 1, length));
+		}
+	}
+
+	@Test
+	public void intSumDoesNotOverflow(){
+		int[] genes = new int[100];
+		java.util.Arrays.fill(genes, Integer.MAX_VALUE);
+		assertEquals("sum", 100L * Integer.MAX_VALUE, vector.sum(genes, 0, genes.length));
+	}
+
+	@Test
+	public void doubleOperatorsMatchScalar(){
+		for (int length : LENGTHS){
+			double[] a = doubles(length), b = doubles(length), a2 = a.clone(), b2 = b.clone();
+			long[] mask = GenomeKernels.randomMask(rand, length + 1, 0.3);
+			assertEquals("swap changed " + length, scalar.swapMasked(a, OFFSET, b, OFFSET, mask, length),
+					vector.swapMasked(a2, OFFSET, b2, OFFSET, mask, length));
+			assertArrayEquals("masked swap " + length, a, a2, 0);
+			assertArrayEquals("masked swap " + length, b, b2, 0);
+
+			assertEquals("swap changed " + length, scalar.swap(a, 0, b, OFFSET, length),
+					vector.swap(a2, 0, b2, OFFSET, length));
+			assertArrayEquals("swap " + length, a, a2, 0);
+
+			double[] values = doubles(length);
+			assertEquals("replace changed " + length, scalar.replaceMasked(a, OFFSET, values, mask, length),
+					vector.replaceMasked(a2, OFFSET, values, mask, length));
+			assertArrayEquals("masked replace " + length, a, a2, 0);
+
+			assertEquals("count " + length, scalar.countAbove(a, OFFSET, length, 0.5), vector.countAbove(a, OFFSET, length, 0.5));
+			assertEquals("sum " + length, scalar.sum(a, OFFSET, length), vector.sum(a, OFFSET, length), 1e-9);
+		}
+	}
+
+	@Test
+	public void bitOperatorsMatchScalar(){
+		for (int length : LENGTHS){
+			long[] a = words(length), b = words(length), a2 = a.clone(), b2 = b.clone();
+			long[] mask = words(length);
+			assertEquals("swap changed " + length, scalar.swapMasked(a, OFFSET, b, OFFSET, mask, length),
+					vector.swapMasked(a2, OFFSET, b2, OFFSET, mask, length));
+			assertArrayEquals("masked swap " + length, a, a2);
+			assertArrayEquals("masked swap " + length, b, b2);
+
+			assertEquals("swap changed " + length, scalar.swap(a, OFFSET, b, OFFSET, length),
+					vector.swap(a2, OFFSET, b2, OFFSET, length));
+			assertArrayEquals("swap " + length, a, a2);
+
+			assertEquals("flip changed " + length, scalar.flipMasked(a, OFFSET, mask, length),
+					vector.flipMasked(a2, OFFSET, mask, length));
+			assertArrayEquals("flip " + length, a, a2);
+
+			assertEquals("bit count " + length, scalar.bitCount(a, OFFSET, length), vector.bitCount(a, OFFSET, length));
+			assertEquals("distance " + length, scalar.hammingDistance(a, OFFSET, b, 0, length),
+					vector.hammingDistance(a, OFFSET, b, 0, length));
+		}
+	}
+}